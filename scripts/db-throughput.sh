@@ -0,0 +1,57 @@
+#!/usr/bin/env bash
+# Measures the throughput of several application instances sharing one database server.
+#
+# Starts "HeadlessLauncher serve-db" on the configured database, then runs <clients> processes of
+# "HeadlessLauncher db-load" at the same time, each connected over TCP, and prints every process's
+# result followed by a total line with the summed operations per second.
+#
+# Usage: scripts/db-throughput.sh <clients> [seconds] [threads per client] [write percent]
+# Environment: PORT (default 9092), DB_NAME (default freelanceDB, served from ./db)
+#
+# Run from the project root after "mvn compile". Writes are audited, so use a copy of the database.
+set -euo pipefail
+
+CLIENTS=${1:?Usage: scripts/db-throughput.sh <clients> [seconds] [threads per client] [write percent]}
+DURATION=${2:-30}
+THREADS=${3:-4}
+WRITES=${4:-10}
+PORT=${PORT:-9092}
+DB_NAME=${DB_NAME:-freelanceDB}
+
+WORK=$(mktemp -d)
+mvn -q -o dependency:build-classpath -Dmdep.outputFile="$WORK/classpath.txt" >/dev/null
+CP="target/classes:$(cat "$WORK/classpath.txt")"
+LAUNCHER=hr.tvz.java.freelance.freelancemanagementtool.HeadlessLauncher
+
+printf 'server.port=%s\n' "$PORT" > "$WORK/server.properties"
+printf 'databaseUrl=jdbc:h2:tcp://localhost:%s/%s\n' "$PORT" "$DB_NAME" > "$WORK/client.properties"
+
+java -Ddatabase.config="$WORK/server.properties" -cp "$CP" "$LAUNCHER" serve-db > "$WORK/server.out" 2> "$WORK/server.log" &
+SERVER=$!
+trap 'kill "$SERVER" 2>/dev/null; wait "$SERVER" 2>/dev/null || true; rm -rf "$WORK"' EXIT
+
+for _ in $(seq 1 100); do
+    grep -q '"type":"server"' "$WORK/server.out" && break
+    kill -0 "$SERVER" 2>/dev/null || { cat "$WORK/server.log" >&2; exit 1; }
+    sleep 0.1
+done
+grep -q '"type":"server"' "$WORK/server.out" || { echo "Database server did not start." >&2; exit 1; }
+
+PIDS=()
+for i in $(seq 1 "$CLIENTS"); do
+    java -Ddatabase.config="$WORK/client.properties" -cp "$CP" "$LAUNCHER" db-load "$DURATION" "$THREADS" "$WRITES" \
+        > "$WORK/client-$i.out" 2> "$WORK/client-$i.log" &
+    PIDS+=("$!")
+done
+STATUS=0
+for pid in "${PIDS[@]}"; do
+    wait "$pid" || STATUS=1
+done
+
+cat "$WORK"/client-*.out
+cat "$WORK"/client-*.out | awk -v clients="$CLIENTS" -v threads="$THREADS" -v writes="$WRITES" '
+    match($0, /"opsPerSecond":[0-9.]+/) { total += substr($0, RSTART + 15, RLENGTH - 15); reported++ }
+    match($0, /"failures":[0-9]+/) { failures += substr($0, RSTART + 11, RLENGTH - 11) }
+    END { printf "{\"type\":\"total\",\"clients\":%d,\"reported\":%d,\"threadsPerClient\":%d,\"writePercent\":%d,\"failures\":%d,\"opsPerSecond\":%.1f}\n",
+          clients, reported, threads, writes, failures, total }'
+exit "$STATUS"
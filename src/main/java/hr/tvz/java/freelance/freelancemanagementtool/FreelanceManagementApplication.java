@@ -1,16 +1,40 @@
 package hr.tvz.java.freelance.freelancemanagementtool;
 
+import hr.tvz.java.freelance.freelancemanagementtool.database.DatabaseConnection;
+import hr.tvz.java.freelance.freelancemanagementtool.database.DatabaseServer;
+import hr.tvz.java.freelance.freelancemanagementtool.enums.JobPriority;
 import hr.tvz.java.freelance.freelancemanagementtool.repository.AuditLogRepository;
-import hr.tvz.java.freelance.freelancemanagementtool.thread.DeadlineReminderThread;
+import hr.tvz.java.freelance.freelancemanagementtool.repository.ClientDatabaseRepository;
+import hr.tvz.java.freelance.freelancemanagementtool.repository.ProjectDatabaseRepository;
+import hr.tvz.java.freelance.freelancemanagementtool.service.AuthenticationService;
+import hr.tvz.java.freelance.freelancemanagementtool.service.BackupService;
+import hr.tvz.java.freelance.freelancemanagementtool.service.DeadlineService;
+import hr.tvz.java.freelance.freelancemanagementtool.service.DeltaSyncService;
+import hr.tvz.java.freelance.freelancemanagementtool.service.JobScheduler;
+import hr.tvz.java.freelance.freelancemanagementtool.service.JobTrigger;
+import hr.tvz.java.freelance.freelancemanagementtool.thread.DeadlineScheduler;
+import hr.tvz.java.freelance.freelancemanagementtool.util.AppProperties;
+import hr.tvz.java.freelance.freelancemanagementtool.util.BackgroundExecutor;
 import hr.tvz.java.freelance.freelancemanagementtool.util.Config;
+import hr.tvz.java.freelance.freelancemanagementtool.util.NotificationCenter;
+import hr.tvz.java.freelance.freelancemanagementtool.util.SingleFlight;
+import hr.tvz.java.freelance.freelancemanagementtool.util.StartupTimeline;
+import hr.tvz.java.freelance.freelancemanagementtool.util.ViewCache;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
+import javafx.scene.control.Alert;
 import javafx.stage.Stage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * The main entry point for the Freelance Management Tool application.
@@ -19,31 +43,173 @@ public class FreelanceManagementApplication extends Application {
 
     private static final Logger logger = LoggerFactory.getLogger(FreelanceManagementApplication.class);
     private static Stage mainStage;
+    private static final BackupService backupService = new BackupService();
+    private static final DeltaSyncService deltaSyncService = new DeltaSyncService();
+    private static final DeadlineScheduler deadlineScheduler =
+            new DeadlineScheduler(DeadlineService.DEFAULT_THRESHOLD_DAYS, FreelanceManagementApplication::showDeadlineReminders);
 
     private static final String CSS_PATH = Config.CSS_STYLESHEET;
+    private static final Duration JOB_SHUTDOWN_TIMEOUT = Duration.ofSeconds(5);
+    private static final String DEFAULT_AUDIT_COMPACT_CRON = "30 3 * * *";
 
     /**
-     * Entry point for setting up the primary stage
+     * Entry point for setting up the primary stage.
+     * Only the login screen is prepared before the window is shown; everything else is deferred.
      */
     @Override
     @SuppressWarnings("java:S2696")
     public void start(Stage stage) throws IOException {
+        StartupTimeline.mark("fx-start");
         mainStage = stage;
 
         FXMLLoader fxmlLoader = new FXMLLoader(FreelanceManagementApplication.class.getResource("login-view.fxml"));
         Scene scene = new Scene(fxmlLoader.load(), 400, 300);
+        StartupTimeline.mark("login-view-loaded");
 
         scene.getStylesheets().add(getClass().getResource(CSS_PATH).toExternalForm());
 
         mainStage.setTitle("Login - Freelance Tool");
         mainStage.setScene(scene);
         mainStage.show();
+        StartupTimeline.mark("login-shown");
         logger.info("Application started, showing login screen.");
-        new DeadlineReminderThread().start();
         mainStage.setOnCloseRequest(event -> {
-            AuditLogRepository.shutdown();
+            shutdownBackgroundWork();
             logger.info("Application closing, shutdown hooks initiated.");
         });
+        Platform.runLater(FreelanceManagementApplication::startDeferredWork);
+    }
+
+    /**
+     * Starts the work that is not needed to show the login screen, after its first frame has been rendered:
+     * view preloading, database warm-up with the schema update, BCrypt calibration, backups and deadline reminders.
+     * When the system property {@code startup.exitWhenReady} is set, the application exits once this
+     * work is done, which is used for AppCDS training runs and cold-start measurements.
+     */
+    private static void startDeferredWork() {
+        StartupTimeline.mark("deferred-work-started");
+        CompletableFuture<Void> preload = ViewCache.preloadCommonViews()
+                .thenRun(() -> StartupTimeline.mark("views-preloaded"));
+        CompletableFuture<Void> warmUp = BackgroundExecutor.supply(() -> {
+            startDatabaseServer();
+            try {
+                DatabaseConnection.warmUp();
+            } catch (SQLException | IOException e) {
+                throw new IllegalStateException("The database could not be opened or its schema could not be updated.", e);
+            }
+            StartupTimeline.mark("database-warmed-up");
+            return null;
+        });
+        warmUp.exceptionally(error -> {
+            logger.error("Database warm-up failed.", error);
+            Platform.runLater(() -> new Alert(Alert.AlertType.ERROR,
+                    "The database could not be opened or its schema could not be updated. "
+                            + "Data cannot be loaded or saved until this is fixed; please check the logs.").show());
+            return null;
+        });
+        startJob("BCrypt calibration", () -> AuthenticationService.getInstance().startCalibration());
+        startJob("backups", backupService::start);
+        startJob("audit log compaction", FreelanceManagementApplication::scheduleAuditCompaction);
+        warmUp.thenRun(() -> startJob("delta synchronization", deltaSyncService::start));
+        warmUp.thenRun(() -> startJob("deadline reminders",
+                () -> deadlineScheduler.start(AppProperties.getLong("startup.firstReminderDelaySeconds", 10) * 1000)));
+
+        CompletableFuture.allOf(preload, warmUp).whenComplete((result, error) -> {
+            StartupTimeline.finish();
+            if (Boolean.getBoolean("startup.exitWhenReady")) {
+                Platform.runLater(() -> {
+                    shutdownBackgroundWork();
+                    Platform.exit();
+                });
+            }
+        });
+    }
+
+    /**
+     * Starts one piece of background work. A failure, such as an invalid setting, is logged
+     * and does not keep the rest of the background work from starting.
+     *
+     * @param name Name of the work, used in the log
+     * @param start Starts the work
+     */
+    private static void startJob(String name, Runnable start) {
+        try {
+            start.run();
+        } catch (RuntimeException e) {
+            logger.error("Failed to start {}, it will not run in this session.", name, e);
+        }
+    }
+
+    /**
+     * Hosts the database for other instances if this instance is configured as the host.
+     * A failure is only logged, this instance can still use the database itself.
+     */
+    private static void startDatabaseServer() {
+        try {
+            if (DatabaseServer.isHostingEnabled()) {
+                DatabaseServer.start();
+            }
+        } catch (SQLException | IOException e) {
+            logger.error("Failed to start the database server, other instances cannot connect.", e);
+        }
+    }
+
+    /**
+     * Schedules the nightly removal of old audit log entries, if a retention period is configured.
+     * An invalid {@code audit.compactCron} is logged and the default time is used instead.
+     */
+    private static void scheduleAuditCompaction() {
+        long retentionDays = AppProperties.getLong("audit.retentionDays", 0);
+        if (retentionDays <= 0) {
+            return;
+        }
+        String cron = AppProperties.getString("audit.compactCron", DEFAULT_AUDIT_COMPACT_CRON);
+        JobTrigger trigger;
+        try {
+            trigger = JobTrigger.cron(cron);
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid audit.compactCron '{}', compacting the audit log at '{}' instead.", cron, DEFAULT_AUDIT_COMPACT_CRON, e);
+            trigger = JobTrigger.cron(DEFAULT_AUDIT_COMPACT_CRON);
+        }
+        JobScheduler.getInstance().schedule("audit-compact", trigger, JobPriority.MAINTENANCE, Duration.ofMinutes(5),
+                () -> new AuditLogRepository().compact(LocalDateTime.now().minusDays(retentionDays)));
+    }
+
+    /**
+     * Stops all background work when the application closes. Jobs that are running get a short time
+     * to finish, pending audit log writes are flushed, and a hosted database server is stopped last.
+     */
+    private static void shutdownBackgroundWork() {
+        backupService.shutdown();
+        deltaSyncService.shutdown();
+        deadlineScheduler.shutdown();
+        JobScheduler.getInstance().shutdown(JOB_SHUTDOWN_TIMEOUT);
+        AuditLogRepository.shutdown();
+        DatabaseServer.stop();
+        logReadStats("Client", ClientDatabaseRepository.getFindAllStats());
+        logReadStats("Project", ProjectDatabaseRepository.getFindAllStats());
+    }
+
+    /**
+     * Logs how many full list reads of an entity were shared instead of queried.
+     *
+     * @param entityName Name of the entity
+     * @param stats Counters of the shared reads
+     */
+    private static void logReadStats(String entityName, SingleFlight.Stats stats) {
+        logger.info("{} list reads: {} call(s), {} query(ies), {} joined a running query, {} reused a recent result.",
+                entityName, stats.calls(), stats.loads(), stats.coalesced(), stats.cacheHits());
+    }
+
+    /**
+     * Posts a digest of due deadline reminders to the notification center on the JavaFX thread.
+     *
+     * @param reminders The reminders that became due together
+     */
+    private static void showDeadlineReminders(List<DeadlineService.DeadlineReminder> reminders) {
+        List<String> lines = reminders.stream().map(DeadlineService.DeadlineReminder::message).toList();
+        String title = reminders.size() == 1 ? "Upcoming project deadline" : reminders.size() + " upcoming project deadlines";
+        Platform.runLater(() -> NotificationCenter.post(title, lines));
     }
 
     /**
@@ -52,6 +218,7 @@ public class FreelanceManagementApplication extends Application {
      * @param args Props
      */
     public static void main(String[] args) {
+        StartupTimeline.mark("main");
         launch(args);
     }
 
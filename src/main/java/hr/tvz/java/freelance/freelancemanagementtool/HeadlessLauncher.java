@@ -0,0 +1,333 @@
+package hr.tvz.java.freelance.freelancemanagementtool;
+
+import hr.tvz.java.freelance.freelancemanagementtool.database.DatabaseConnection;
+import hr.tvz.java.freelance.freelancemanagementtool.database.DatabaseServer;
+import hr.tvz.java.freelance.freelancemanagementtool.enums.ExportFormat;
+import hr.tvz.java.freelance.freelancemanagementtool.enums.UserRole;
+import hr.tvz.java.freelance.freelancemanagementtool.exception.UsageException;
+import hr.tvz.java.freelance.freelancemanagementtool.repository.AuditLogRepository;
+import hr.tvz.java.freelance.freelancemanagementtool.service.BackupService;
+import hr.tvz.java.freelance.freelancemanagementtool.service.DataExportService;
+import hr.tvz.java.freelance.freelancemanagementtool.service.DatabaseLoadService;
+import hr.tvz.java.freelance.freelancemanagementtool.service.DeadlineService;
+import hr.tvz.java.freelance.freelancemanagementtool.service.UserProvisioningService;
+import hr.tvz.java.freelance.freelancemanagementtool.session.Session;
+import hr.tvz.java.freelance.freelancemanagementtool.session.SessionContext;
+import hr.tvz.java.freelance.freelancemanagementtool.util.JsonLine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Command line entry point for batch jobs, such as nightly cron runs on a server without a display.
+ * It reuses the repositories and services of the desktop application but never loads JavaFX.
+ * <p>
+ * Every command prints JSON objects to standard output, one per line, and ends with a summary line
+ * holding the {@code status}, {@code ok} or {@code failed}. Logs are written to standard error. The exit code is
+ * {@value #EXIT_OK} on success, {@value #EXIT_FAILURE} if the command failed and
+ * {@value #EXIT_USAGE} if the command line is invalid. Changes are audited as the system user.
+ */
+public final class HeadlessLauncher {
+
+    static {
+        // Must run before the first logger is created, so logback sends console output to stderr.
+        if (System.getProperty("log.target") == null) {
+            System.setProperty("log.target", "System.err");
+        }
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(HeadlessLauncher.class);
+
+    /**
+     * Exit code of a successful command.
+     */
+    public static final int EXIT_OK = 0;
+    /**
+     * Exit code of a command that failed.
+     */
+    public static final int EXIT_FAILURE = 1;
+    /**
+     * Exit code of an invalid command line.
+     */
+    public static final int EXIT_USAGE = 2;
+
+    private static final String USAGE = """
+            Usage: HeadlessLauncher <command> [arguments]
+              reminders [days]                                   projects in progress due within the days (default 7)
+              export <projects|clients|audit> <csv|json> <file> [--gzip]
+              backup                                             creates and verifies a backup
+              verify-backup <archive>                            verifies an existing backup archive
+              audit-compact <days>                               removes audit entries older than the days
+              import-users <csv>                                 creates users from username,password,role lines
+              serve-db                                           hosts the database over TCP until the process is stopped
+              db-load <seconds> [threads] [write-percent]        measures operations per second on the database (4, 10)""";
+
+    private static final Set<String> COMMANDS = Set.of("reminders", "export", "backup", "verify-backup",
+            "audit-compact", "import-users", "serve-db", "db-load");
+
+    /**
+     * Commands that bring the schema up to date themselves, or must not touch the configured database.
+     */
+    private static final Set<String> WITHOUT_SCHEMA_UPDATE = Set.of("verify-backup", "serve-db");
+
+    private static final String STATUS_OK = "ok";
+    private static final String STATUS_FAILED = "failed";
+
+    private static final Session SYSTEM_SESSION = new Session("headless", null, UserRole.ADMIN);
+
+    private static final PrintStream out = System.out;
+
+    /**
+     * Summary of a finished command.
+     *
+     * @param success Whether the command succeeded completely
+     * @param summary Fields of the summary line, without the status
+     */
+    private record CommandResult(boolean success, JsonLine summary) {}
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     */
+    private HeadlessLauncher() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Runs a single command and exits with its exit code.
+     *
+     * @param args The command followed by its arguments
+     */
+    public static void main(String[] args) {
+        int exitCode = run(args);
+        AuditLogRepository.shutdown();
+        DatabaseConnection.closeConnection();
+        System.exit(exitCode);
+    }
+
+    /**
+     * Runs a single command.
+     *
+     * @param args The command followed by its arguments
+     * @return The exit code
+     */
+    public static int run(String[] args) {
+        if (args.length == 0) {
+            return usageError("", new UsageException("No command given."));
+        }
+        String command = args[0].toLowerCase(Locale.ROOT);
+        String[] arguments = Arrays.copyOfRange(args, 1, args.length);
+        long start = System.nanoTime();
+        try {
+            CommandResult result = SessionContext.callAs(SYSTEM_SESSION, () -> execute(command, arguments));
+            out.println(result.summary()
+                    .put("status", result.success() ? STATUS_OK : STATUS_FAILED)
+                    .put("durationMs", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+            return result.success() ? EXIT_OK : EXIT_FAILURE;
+        } catch (UsageException e) {
+            return usageError(command, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return failure(command, e);
+        } catch (Exception e) {
+            return failure(command, e);
+        }
+    }
+
+    private static CommandResult execute(String command, String[] args) throws Exception {
+        if (!COMMANDS.contains(command)) {
+            throw new UsageException("Unknown command: " + command);
+        }
+        if (!WITHOUT_SCHEMA_UPDATE.contains(command)) {
+            DatabaseConnection.warmUp();
+        }
+        return switch (command) {
+            case "reminders" -> reminders(args);
+            case "export" -> export(args);
+            case "backup" -> backup(args);
+            case "verify-backup" -> verifyBackup(args);
+            case "audit-compact" -> compactAuditLog(args);
+            case "import-users" -> importUsers(args);
+            case "serve-db" -> serveDatabase(args);
+            case "db-load" -> loadDatabase(args);
+            default -> throw new UsageException("Unknown command: " + command);
+        };
+    }
+
+    private static CommandResult reminders(String[] args) throws Exception {
+        requireArguments(args, 0, 1);
+        int days = args.length > 0 ? parseDays(args[0]) : DeadlineService.DEFAULT_THRESHOLD_DAYS;
+        List<DeadlineService.DeadlineReminder> reminders = new DeadlineService().findUpcomingDeadlines(LocalDate.now(), days);
+        for (DeadlineService.DeadlineReminder reminder : reminders) {
+            out.println(JsonLine.of("type", "reminder")
+                    .put("projectId", reminder.project().getId())
+                    .put("project", reminder.project().getName())
+                    .put("deadline", reminder.project().getDeadline())
+                    .put("daysLeft", reminder.daysLeft())
+                    .put("message", reminder.message()));
+        }
+        return new CommandResult(true, JsonLine.of("command", "reminders").put("days", days).put("count", reminders.size()));
+    }
+
+    private static CommandResult export(String[] args) throws Exception {
+        requireArguments(args, 3, 4);
+        if (args.length == 4 && !"--gzip".equals(args[3])) {
+            throw new UsageException("Unknown option: " + args[3]);
+        }
+        boolean gzip = args.length == 4;
+        String type = args[0].toLowerCase(Locale.ROOT);
+        if (!Set.of("projects", "clients", "audit").contains(type)) {
+            throw new UsageException("Unknown export type: " + args[0]);
+        }
+        ExportFormat format = parseFormat(args[1]);
+        Path target = Path.of(args[2]);
+        DataExportService service = new DataExportService();
+        long rows = switch (type) {
+            case "projects" -> service.exportProjects(target, format, gzip);
+            case "clients" -> service.exportClients(target, format, gzip);
+            default -> service.exportAuditLog(target, format, gzip);
+        };
+        return new CommandResult(true, JsonLine.of("command", "export")
+                .put("type", type)
+                .put("file", target.toAbsolutePath())
+                .put("rows", rows));
+    }
+
+    private static CommandResult backup(String[] args) throws Exception {
+        requireArguments(args, 0, 0);
+        Path archive = new BackupService().backup();
+        return new CommandResult(true, JsonLine.of("command", "backup").put("archive", archive.toAbsolutePath()));
+    }
+
+    private static CommandResult verifyBackup(String[] args) throws Exception {
+        requireArguments(args, 1, 1);
+        Path archive = Path.of(args[0]);
+        new BackupService().verify(archive);
+        return new CommandResult(true, JsonLine.of("command", "verify-backup").put("archive", archive.toAbsolutePath()));
+    }
+
+    private static CommandResult compactAuditLog(String[] args) throws UsageException {
+        requireArguments(args, 1, 1);
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(parseDays(args[0]));
+        int removed = new AuditLogRepository().compact(cutoff);
+        return new CommandResult(true, JsonLine.of("command", "audit-compact").put("cutoff", cutoff).put("removed", removed));
+    }
+
+    private static CommandResult importUsers(String[] args) throws Exception {
+        requireArguments(args, 1, 1);
+        List<UserProvisioningService.ProvisioningResult> results = new UserProvisioningService().provisionFromCsv(Path.of(args[0]));
+        long created = 0;
+        for (UserProvisioningService.ProvisioningResult result : results) {
+            out.println(JsonLine.of("type", "user")
+                    .put("username", result.username())
+                    .put("success", result.success())
+                    .put("userId", result.success() ? result.userId() : null)
+                    .put("message", result.message()));
+            if (result.success()) {
+                created++;
+            }
+        }
+        return new CommandResult(created == results.size(), JsonLine.of("command", "import-users")
+                .put("created", created)
+                .put("failed", results.size() - created));
+    }
+
+    /**
+     * Hosts the database for other instances. The server URL is printed as soon as it accepts connections,
+     * and the server is stopped by a shutdown hook when the process is terminated.
+     */
+    private static CommandResult serveDatabase(String[] args) throws Exception {
+        requireArguments(args, 0, 0);
+        String url = DatabaseServer.start();
+        DatabaseConnection.warmUp();
+        CountDownLatch stopped = new CountDownLatch(1);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            DatabaseServer.stop();
+            stopped.countDown();
+        }, "database-server-shutdown"));
+        out.println(JsonLine.of("type", "server").put("url", url));
+        out.flush();
+        stopped.await();
+        return new CommandResult(true, JsonLine.of("command", "serve-db").put("url", url));
+    }
+
+    /**
+     * Measures the operations per second this process gets from the configured database,
+     * see {@code scripts/db-throughput.sh} for a run with several processes sharing a server.
+     */
+    private static CommandResult loadDatabase(String[] args) throws Exception {
+        requireArguments(args, 1, 3);
+        int seconds = parseNumber(args[0], "Seconds", 1, 86_400);
+        int threads = args.length > 1 ? parseNumber(args[1], "Threads", 1, 256) : 4;
+        int writePercent = args.length > 2 ? parseNumber(args[2], "Write percent", 0, 100) : 10;
+        DatabaseLoadService.LoadResult result = new DatabaseLoadService().run(Duration.ofSeconds(seconds), threads, writePercent);
+        return new CommandResult(result.failures() == 0, JsonLine.of("command", "db-load")
+                .put("threads", result.threads())
+                .put("writePercent", writePercent)
+                .put("reads", result.reads())
+                .put("writes", result.writes())
+                .put("failures", result.failures())
+                .put("measuredMs", result.durationMs())
+                .put("opsPerSecond", Math.round(result.opsPerSecond() * 10) / 10.0));
+    }
+
+    private static void requireArguments(String[] args, int min, int max) throws UsageException {
+        if (args.length < min || args.length > max) {
+            throw new UsageException("Wrong number of arguments.");
+        }
+    }
+
+    private static ExportFormat parseFormat(String value) throws UsageException {
+        try {
+            return ExportFormat.valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new UsageException("Unknown export format: " + value);
+        }
+    }
+
+    private static int parseDays(String value) throws UsageException {
+        try {
+            int days = Integer.parseInt(value);
+            if (days >= 0) {
+                return days;
+            }
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        throw new UsageException("Days must be a non-negative number: " + value);
+    }
+
+    private static int parseNumber(String value, String name, int min, int max) throws UsageException {
+        try {
+            int number = Integer.parseInt(value);
+            if (number >= min && number <= max) {
+                return number;
+            }
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        throw new UsageException(name + " must be a number from " + min + " to " + max + ": " + value);
+    }
+
+    private static int usageError(String command, UsageException e) {
+        out.println(JsonLine.of("command", command).put("status", STATUS_FAILED).put("error", e.getMessage()));
+        System.err.println(USAGE);
+        return EXIT_USAGE;
+    }
+
+    private static int failure(String command, Exception e) {
+        logger.error("Command '{}' failed.", command, e);
+        out.println(JsonLine.of("command", command).put("status", STATUS_FAILED).put("error", e.getMessage()));
+        return EXIT_FAILURE;
+    }
+}
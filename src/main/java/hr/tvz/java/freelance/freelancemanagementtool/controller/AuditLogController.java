@@ -1,11 +1,9 @@
 package hr.tvz.java.freelance.freelancemanagementtool.controller;
 
-import hr.tvz.java.freelance.freelancemanagementtool.enums.UserRole;
 import hr.tvz.java.freelance.freelancemanagementtool.model.AuditLog;
 import hr.tvz.java.freelance.freelancemanagementtool.repository.AuditLogRepository;
 import hr.tvz.java.freelance.freelancemanagementtool.util.Config;
-import javafx.beans.property.SimpleObjectProperty;
-import javafx.beans.property.SimpleStringProperty;
+import hr.tvz.java.freelance.freelancemanagementtool.viewmodel.AuditLogRow;
 import javafx.collections.FXCollections;
 import javafx.fxml.FXML;
 import javafx.geometry.Insets;
@@ -23,17 +21,17 @@ import java.util.List;
  * Controller for the Audit Log screen. Displays change history from the serialized log file.
  * Allows users to double-click a log entry to view full details.
  */
-public class AuditLogController {
+public class AuditLogController implements ManagedView {
 
     private static final Logger logger = LoggerFactory.getLogger(AuditLogController.class);
     private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
-    @FXML private TableView<AuditLog> auditLogTableView;
-    @FXML private TableColumn<AuditLog, String> timestampColumn;
-    @FXML private TableColumn<AuditLog, UserRole> roleColumn;
-    @FXML private TableColumn<AuditLog, String> entityColumn;
-    @FXML private TableColumn<AuditLog, String> oldValueColumn;
-    @FXML private TableColumn<AuditLog, String> newValueColumn;
+    @FXML private TableView<AuditLogRow> auditLogTableView;
+    @FXML private TableColumn<AuditLogRow, String> timestampColumn;
+    @FXML private TableColumn<AuditLogRow, String> roleColumn;
+    @FXML private TableColumn<AuditLogRow, String> entityColumn;
+    @FXML private TableColumn<AuditLogRow, String> oldValueColumn;
+    @FXML private TableColumn<AuditLogRow, String> newValueColumn;
 
     private final AuditLogRepository auditLogRepository = new AuditLogRepository();
 
@@ -44,19 +42,34 @@ public class AuditLogController {
     public void initialize() {
         setupTableColumns();
         setupTableClickListener();
-        loadAuditLogs();
         logger.info("Audit Log screen initialized.");
     }
 
     /**
-     * Connects the table columns with variables
+     * Reloads the logs each time the screen is shown
+     */
+    @Override
+    public void onShow() {
+        loadAuditLogs();
+    }
+
+    /**
+     * Nothing runs in the background for this screen
+     */
+    @Override
+    public void dispose() {
+        // The logs are loaded synchronously, there is nothing to cancel.
+    }
+
+    /**
+     * Connects the table columns with the cached properties of the log rows
      */
     private void setupTableColumns() {
-        timestampColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().changedAt().format(FORMATTER)));
-        roleColumn.setCellValueFactory(cellData -> new SimpleObjectProperty<>(cellData.getValue().userRole()));
-        entityColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().entityName()));
-        oldValueColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().oldValue()));
-        newValueColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().newValue()));
+        timestampColumn.setCellValueFactory(cellData -> cellData.getValue().timestampProperty());
+        roleColumn.setCellValueFactory(cellData -> cellData.getValue().roleProperty());
+        entityColumn.setCellValueFactory(cellData -> cellData.getValue().entityProperty());
+        oldValueColumn.setCellValueFactory(cellData -> cellData.getValue().oldValueProperty());
+        newValueColumn.setCellValueFactory(cellData -> cellData.getValue().newValueProperty());
     }
 
     /**
@@ -65,9 +78,9 @@ public class AuditLogController {
     private void setupTableClickListener() {
         auditLogTableView.setOnMouseClicked((MouseEvent event) -> {
             if (event.getClickCount() == 2) {
-                AuditLog selectedLog = auditLogTableView.getSelectionModel().getSelectedItem();
-                if (selectedLog != null) {
-                    showLogDetails(selectedLog);
+                AuditLogRow selectedRow = auditLogTableView.getSelectionModel().getSelectedItem();
+                if (selectedRow != null) {
+                    showLogDetails(selectedRow.getLog());
                 }
             }
         });
@@ -77,7 +90,9 @@ public class AuditLogController {
      * Loads all the logs from the repository
      */
     private void loadAuditLogs() {
-        List<AuditLog> logs = auditLogRepository.readAll();
+        List<AuditLogRow> logs = auditLogRepository.readAll().stream()
+                .map(log -> new AuditLogRow(log, FORMATTER))
+                .toList();
         auditLogTableView.setItems(FXCollections.observableArrayList(logs));
         logger.info("Loaded {} records from the audit log file.", logs.size());
     }
@@ -122,7 +137,7 @@ public class AuditLogController {
         timestampField.setEditable(false);
 
         Label roleLabel = new Label("User Role:");
-        TextField roleField = new TextField(log.userRole().toString());
+        TextField roleField = new TextField(log.userRole() + (log.userId() != null ? " (user ID " + log.userId() + ")" : ""));
         roleField.setEditable(false);
 
         Label oldLabel = new Label("Old Value:");
@@ -10,6 +10,8 @@ import javafx.stage.Stage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Optional;
+
 /**
  * Controller for the client add/edit form.
  */
@@ -24,6 +26,20 @@ public class ClientEditController implements EditController<Client> {
     private final ClientDatabaseRepository clientRepository = new ClientDatabaseRepository();
     private Client clientToEdit;
     private boolean isSaveClicked = false;
+    private Client savedClient;
+
+    /**
+     * Clears the form and the state of the previous use of the dialog.
+     */
+    @Override
+    public void resetForm() {
+        clientToEdit = null;
+        savedClient = null;
+        isSaveClicked = false;
+        nameField.clear();
+        emailField.clear();
+        contactPersonField.clear();
+    }
 
     /**
      * Pre-populates the form fields with data from an existing client for editing.
@@ -45,9 +61,19 @@ public class ClientEditController implements EditController<Client> {
         return isSaveClicked;
     }
 
+    /**
+     * Returns the client that was saved, used by the calling controller to update its table.
+     * @return The saved client, or empty if nothing was saved.
+     */
+    @Override
+    public Optional<Client> getSavedEntity() {
+        return Optional.ofNullable(savedClient);
+    }
+
     /**
      * Handles the save button action. Validates input, confirms with the user,
-     * and saves the client to the database.
+     * and saves the client to the database. The edited client is written as a copy, so the client
+     * shown by the calling screen stays unchanged when saving fails; the form then stays open.
      */
     @FXML
     private void handleSave() {
@@ -60,17 +86,25 @@ public class ClientEditController implements EditController<Client> {
         confirmation.setHeaderText("Save Client: " + nameField.getText());
 
         if (confirmation.showAndWait().orElse(ButtonType.NO) == ButtonType.YES) {
+            Optional<Client> result;
             if (clientToEdit == null) {
                 Client newClient = new Client(0, nameField.getText(), emailField.getText(), contactPersonField.getText());
-                clientRepository.save(newClient);
+                result = clientRepository.save(newClient);
                 logger.info("User confirmed saving new client: {}", newClient.getName());
             } else {
-                clientToEdit.setName(nameField.getText());
-                clientToEdit.setEmail(emailField.getText());
-                clientToEdit.setContactPerson(contactPersonField.getText());
-                clientRepository.update(clientToEdit);
-                logger.info("User confirmed updating client: {}", clientToEdit.getName());
+                Client editedClient = new Client(clientToEdit.getId(), nameField.getText(), emailField.getText(), contactPersonField.getText());
+                result = clientRepository.update(editedClient);
+                logger.info("User confirmed updating client: {}", editedClient.getName());
+            }
+            if (result.isEmpty()) {
+                Alert alert = new Alert(Alert.AlertType.ERROR);
+                alert.setTitle("Save Failed");
+                alert.setHeaderText("The client could not be saved");
+                alert.setContentText("The database could not be reached, or the client was deleted in the meantime. Please check the logs.");
+                alert.showAndWait();
+                return;
             }
+            savedClient = result.get();
             isSaveClicked = true;
             closeWindow();
         }
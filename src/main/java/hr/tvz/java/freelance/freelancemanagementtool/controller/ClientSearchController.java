@@ -1,13 +1,18 @@
 package hr.tvz.java.freelance.freelancemanagementtool.controller;
 
+import hr.tvz.java.freelance.freelancemanagementtool.event.EntityChange;
+import hr.tvz.java.freelance.freelancemanagementtool.event.EntityEventBus;
 import hr.tvz.java.freelance.freelancemanagementtool.exception.DatabaseReadException;
 import hr.tvz.java.freelance.freelancemanagementtool.model.Client;
 import hr.tvz.java.freelance.freelancemanagementtool.repository.ClientDatabaseRepository;
 import hr.tvz.java.freelance.freelancemanagementtool.session.SessionManager;
+import hr.tvz.java.freelance.freelancemanagementtool.util.BackgroundExecutor;
 import hr.tvz.java.freelance.freelancemanagementtool.util.Config;
 import hr.tvz.java.freelance.freelancemanagementtool.util.DialogHelper;
-import javafx.beans.property.SimpleStringProperty;
-import javafx.collections.FXCollections;
+import hr.tvz.java.freelance.freelancemanagementtool.util.FxEvents;
+import hr.tvz.java.freelance.freelancemanagementtool.util.LiveFilter;
+import hr.tvz.java.freelance.freelancemanagementtool.viewmodel.ClientRow;
+import javafx.concurrent.Task;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import org.slf4j.Logger;
@@ -15,46 +20,86 @@ import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
 
 /**
  * Controller for the Client Search screen. Handles displaying, filtering,
- * and managing client data.
+ * and managing client data. Data is loaded on a worker thread so the screen is shown immediately,
+ * and while the screen is shown, client changes made anywhere in the application are patched into the table.
  */
-public class ClientSearchController {
+public class ClientSearchController implements ManagedView {
 
     private static final Logger logger = LoggerFactory.getLogger(ClientSearchController.class);
 
     @FXML private TextField nameFilterField;
-    @FXML private TableView<Client> clientsTableView;
-    @FXML private TableColumn<Client, String> nameColumn;
-    @FXML private TableColumn<Client, String> emailColumn;
-    @FXML private TableColumn<Client, String> contactPersonColumn;
+    @FXML private TableView<ClientRow> clientsTableView;
+    @FXML private TableColumn<ClientRow, String> nameColumn;
+    @FXML private TableColumn<ClientRow, String> emailColumn;
+    @FXML private TableColumn<ClientRow, String> contactPersonColumn;
     @FXML private Button addButton;
     @FXML private Button editButton;
     @FXML private Button deleteButton;
 
     private final ClientDatabaseRepository clientRepository = new ClientDatabaseRepository();
-    private List<Client> allClients = new ArrayList<>();
+    private Task<List<ClientRow>> loadTask;
+    private LiveFilter<ClientRow> clientFilter;
+    private EntityEventBus.Subscription clientChanges;
 
     /**
      * Initializes the controller when the FXML is loaded.
-     * Sets up table columns, configures UI based on user role,
-     * and performs the initial load of client data.
+     * Sets up table columns and the filter; data is loaded when the view is shown.
      */
     @FXML
     public void initialize() {
         setupTableColumns();
+        clientFilter = new LiveFilter<>(clientsTableView, ClientRow::getId, this::createFilterPredicate);
+        nameFilterField.textProperty().addListener((observable, oldValue, newValue) -> clientFilter.apply());
+    }
+
+    /**
+     * Configures the UI for the current user's role and reloads the clients in the background
+     * each time the screen is shown. The rows of the previous visit stay visible until the fresh data arrives.
+     */
+    @Override
+    public void onShow() {
         configureRoleBasedAccess();
+        if (clientChanges == null) {
+            clientChanges = FxEvents.subscribe(Client.class, this::applyClientChanges);
+        }
         loadClients();
     }
 
     /**
-     * Configures the cell value factories for the TableView columns.
+     * Stops following client changes and cancels work still in progress.
+     */
+    @Override
+    public void dispose() {
+        cancelLoading();
+        if (clientChanges != null) {
+            clientChanges.close();
+            clientChanges = null;
+        }
+    }
+
+    /**
+     * Cancels a client load or filter evaluation that is still in progress.
+     */
+    private void cancelLoading() {
+        BackgroundExecutor.cancel(loadTask);
+        if (clientFilter != null) {
+            clientFilter.cancel();
+        }
+    }
+
+    /**
+     * Configures the cell value factories for the TableView columns,
+     * binding them to the cached properties of the client rows.
      */
     private void setupTableColumns() {
-        nameColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getName()));
-        emailColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getEmail()));
-        contactPersonColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getContactPerson()));
+        nameColumn.setCellValueFactory(cellData -> cellData.getValue().nameProperty());
+        emailColumn.setCellValueFactory(cellData -> cellData.getValue().emailProperty());
+        contactPersonColumn.setCellValueFactory(cellData -> cellData.getValue().contactPersonProperty());
     }
 
     /**
@@ -72,32 +117,53 @@ public class ClientSearchController {
     }
 
     /**
-     * Loads all clients from the repository and populates the table.
+     * Loads all clients on a worker thread and populates the table when done.
+     * A progress indicator is shown in the table meanwhile, and a previous load still in progress is cancelled.
      */
     private void loadClients() {
-        try {
-            allClients = clientRepository.findAll();
-            clientsTableView.setItems(FXCollections.observableArrayList(allClients));
-            logger.info("Successfully loaded {} clients into the table.", allClients.size());
-        } catch (DatabaseReadException e) {
+        cancelLoading();
+        clientsTableView.setPlaceholder(new ProgressIndicator());
+        Task<List<ClientRow>> task = new Task<>() {
+            @Override
+            protected List<ClientRow> call() throws DatabaseReadException {
+                return clientRepository.findAll().stream().map(ClientRow::new).toList();
+            }
+        };
+        task.setOnSucceeded(event -> {
+            List<ClientRow> rows = task.getValue();
+            clientsTableView.setPlaceholder(new Label("No clients found."));
+            clientFilter.setAll(rows);
+            logger.info("Successfully loaded {} clients into the table.", rows.size());
+        });
+        task.setOnFailed(event -> {
+            logger.error("Failed to load clients.", task.getException());
+            clientsTableView.setPlaceholder(new Label("Clients could not be loaded."));
             showStyledAlert(Alert.AlertType.ERROR, "Database Error", "Failed to Load Clients", "Could not retrieve client data from the database. Please check the logs.");
-        }
+        });
+        loadTask = BackgroundExecutor.execute(task);
     }
 
     /**
-     * Handles the filter button action. Filters the client list based on name.
+     * Handles the filter button action. Applies the name filter without waiting for the debounce delay.
      */
     @FXML
     private void handleFilter() {
+        clientFilter.applyNow();
+    }
+
+    /**
+     * Creates a predicate matching clients by the name filter, looked up in the repository's name index.
+     * The filter input is read here, on the FX thread, so the predicate can be evaluated on any thread.
+     *
+     * @return The predicate, or null if no filter is set
+     */
+    private Predicate<ClientRow> createFilterPredicate() {
         String nameFilter = nameFilterField.getText();
-        if (nameFilter == null || nameFilter.isBlank()) {
-            clientsTableView.setItems(FXCollections.observableArrayList(allClients));
-            return;
+        Set<Long> matchingIds = nameFilter == null ? null : clientRepository.findIdsByName(nameFilter).orElse(null);
+        if (matchingIds == null) {
+            return null;
         }
-        List<Client> filteredList = allClients.stream()
-                .filter(c -> c.getName().toLowerCase().contains(nameFilter.toLowerCase()))
-                .toList();
-        clientsTableView.setItems(FXCollections.observableArrayList(filteredList));
+        return c -> matchingIds.contains(c.getId());
     }
 
     /**
@@ -106,7 +172,15 @@ public class ClientSearchController {
     @FXML
     private void clearFilters() {
         nameFilterField.clear();
-        clientsTableView.setItems(FXCollections.observableArrayList(allClients));
+        clientFilter.applyNow();
+    }
+
+    /**
+     * Handles the refresh button action. Reloads all clients from the database.
+     */
+    @FXML
+    private void handleRefresh() {
+        loadClients();
     }
 
     /**
@@ -114,10 +188,8 @@ public class ClientSearchController {
      */
     @FXML
     private void handleAddNewClient() {
-        boolean saveClicked = DialogHelper.showEditDialog("client-edit-view.fxml", "Add New Client", null);
-        if (saveClicked) {
-            loadClients();
-        }
+        DialogHelper.<Client>showEditDialog("client-edit-view.fxml", "Add New Client", null)
+                .ifPresent(this::showSavedClient);
     }
 
     /**
@@ -125,12 +197,10 @@ public class ClientSearchController {
      */
     @FXML
     private void handleEditClient() {
-        Client selectedClient = clientsTableView.getSelectionModel().getSelectedItem();
-        if (selectedClient != null) {
-            boolean saveClicked = DialogHelper.showEditDialog("client-edit-view.fxml", "Edit Client", selectedClient);
-            if (saveClicked) {
-                loadClients();
-            }
+        ClientRow selectedRow = clientsTableView.getSelectionModel().getSelectedItem();
+        if (selectedRow != null) {
+            DialogHelper.showEditDialog("client-edit-view.fxml", "Edit Client", selectedRow.getClient())
+                    .ifPresent(this::showSavedClient);
         } else {
             showStyledAlert(Alert.AlertType.WARNING, "Selection Missing", "No Client Selected", "Please select a client from the table to edit.");
         }
@@ -141,8 +211,8 @@ public class ClientSearchController {
      */
     @FXML
     private void handleDeleteClient() {
-        Client selectedClient = clientsTableView.getSelectionModel().getSelectedItem();
-        if (selectedClient == null) {
+        ClientRow selectedRow = clientsTableView.getSelectionModel().getSelectedItem();
+        if (selectedRow == null) {
             showStyledAlert(Alert.AlertType.WARNING, "Selection Missing", "No Client Selected", "Please select a client from the table to delete.");
             return;
         }
@@ -150,13 +220,48 @@ public class ClientSearchController {
         Alert confirmation = new Alert(Alert.AlertType.CONFIRMATION);
         confirmation.setTitle("Confirm Deletion");
         confirmation.setHeaderText("Are you sure you want to delete this client?");
+        Client selectedClient = selectedRow.getClient();
         confirmation.setContentText("Client: " + selectedClient.getName() + "\nThis action cannot be undone.");
         styleAlert(confirmation);
 
         if (confirmation.showAndWait().orElse(ButtonType.CANCEL) == ButtonType.OK) {
-            clientRepository.deleteById(selectedClient.getId());
             logger.info("User confirmed deletion of client ID: {}", selectedClient.getId());
-            loadClients();
+            clientRepository.deleteById(selectedClient.getId())
+                    .ifPresent(deleted -> clientFilter.removeById(deleted.getId()));
+        }
+    }
+
+    /**
+     * Patches a created or edited client into the table and selects it.
+     * Only called for clients the database confirmed as saved, the edit dialog reports failed saves itself.
+     *
+     * @param client The saved client
+     */
+    private void showSavedClient(Client client) {
+        ClientRow row = new ClientRow(client);
+        clientFilter.upsert(row);
+        clientsTableView.getSelectionModel().select(row);
+        clientsTableView.scrollTo(row);
+    }
+
+    /**
+     * Patches client changes published on the event bus into the table.
+     * Rows that already show the changed instance, such as a client saved from this screen, are left as they are.
+     *
+     * @param changes The merged changes of a batch
+     */
+    private void applyClientChanges(List<EntityChange<Client>> changes) {
+        List<ClientRow> changedRows = new ArrayList<>();
+        for (EntityChange<Client> change : changes) {
+            Client client = change.entity();
+            if (change.type() == EntityChange.Type.DELETED) {
+                clientFilter.removeById(client.getId());
+            } else if (clientFilter.findById(client.getId()).map(row -> row.getClient() != client).orElse(true)) {
+                changedRows.add(new ClientRow(client));
+            }
+        }
+        if (!changedRows.isEmpty()) {
+            clientFilter.upsertAll(changedRows);
         }
     }
 
@@ -2,6 +2,8 @@ package hr.tvz.java.freelance.freelancemanagementtool.controller;
 
 import hr.tvz.java.freelance.freelancemanagementtool.model.Entity;
 
+import java.util.Optional;
+
 /**
  * Sučelje koje definira ugovor za sve kontrolere koji se koriste za
  * izmjenu ili dodavanje entiteta.
@@ -10,6 +12,11 @@ import hr.tvz.java.freelance.freelancemanagementtool.model.Entity;
  */
 public interface EditController<T extends Entity> {
 
+    /**
+     * Vraća obrazac u početno stanje prije svakog prikaza, jer se dijalog ponovno koristi iz predmemorije.
+     */
+    void resetForm();
+
     /**
      * Postavlja entitet koji će se uređivati.
      * @param entity Entitet za uređivanje.
@@ -22,4 +29,10 @@ public interface EditController<T extends Entity> {
      * @return true ako je spremanje potvrđeno, inače false.
      */
     boolean isSaveClicked();
+
+    /**
+     * Vraća entitet koji je spremljen u bazu, kako bi pozivatelj mogao osvježiti samo taj redak.
+     * @return spremljeni entitet ili prazan Optional ako spremanje nije potvrđeno.
+     */
+    Optional<T> getSavedEntity();
 }
\ No newline at end of file
@@ -2,21 +2,33 @@ package hr.tvz.java.freelance.freelancemanagementtool.controller;
 
 import hr.tvz.java.freelance.freelancemanagementtool.FreelanceManagementApplication;
 import hr.tvz.java.freelance.freelancemanagementtool.enums.UserRole;
+import hr.tvz.java.freelance.freelancemanagementtool.exception.LoginThrottledException;
 import hr.tvz.java.freelance.freelancemanagementtool.exception.UserNotFoundException;
-import hr.tvz.java.freelance.freelancemanagementtool.repository.UserRepository;
+import hr.tvz.java.freelance.freelancemanagementtool.model.User;
+import hr.tvz.java.freelance.freelancemanagementtool.repository.UserDatabaseRepository;
+import hr.tvz.java.freelance.freelancemanagementtool.service.AuthenticationService;
 import hr.tvz.java.freelance.freelancemanagementtool.session.SessionManager;
+import hr.tvz.java.freelance.freelancemanagementtool.session.SessionTokenService;
+import hr.tvz.java.freelance.freelancemanagementtool.session.SessionTokenService.TokenClaims;
+import hr.tvz.java.freelance.freelancemanagementtool.util.BackgroundExecutor;
 import hr.tvz.java.freelance.freelancemanagementtool.util.Config;
 import hr.tvz.java.freelance.freelancemanagementtool.util.Pair;
+import javafx.application.Platform;
+import javafx.concurrent.Task;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
+import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.control.PasswordField;
+import javafx.scene.control.ProgressIndicator;
 import javafx.scene.control.TextField;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
 
 /**
  * Controller for the login screen. Handles user authentication.
@@ -31,12 +43,96 @@ public class LoginController {
     private PasswordField passwordField;
     @FXML
     private Label errorLabel;
+    @FXML
+    private Button loginButton;
+    @FXML
+    private ProgressIndicator progressIndicator;
+    @FXML
+    private Button unlockButton;
+
+    private final AuthenticationService authenticationService = AuthenticationService.getInstance();
+    private final SessionTokenService tokenService = SessionTokenService.getInstance();
+    private final UserDatabaseRepository userRepository = new UserDatabaseRepository();
+
+    /**
+     * Initializes the controller. If a valid session token from an earlier login is stored,
+     * the unlock button is offered so the password does not have to be verified again.
+     */
+    @FXML
+    public void initialize() {
+        tokenService.validateStoredToken().ifPresent(claims -> {
+            usernameField.setText(claims.username());
+            unlockButton.setText("Unlock as " + claims.username());
+            unlockButton.setVisible(true);
+            unlockButton.setManaged(true);
+        });
+    }
+
+    /**
+     * Handles the action of the unlock button. The stored token is validated again, since it may
+     * have expired or been revoked while the login screen was open. The user is then read from the
+     * database, and the session is only restored if the user still exists with the role in the token;
+     * otherwise the token is revoked and the password is required.
+     */
+    @FXML
+    private void handleUnlock() {
+        Optional<TokenClaims> claims = tokenService.validateStoredToken();
+        if (claims.isEmpty()) {
+            rejectUnlock("Your session has expired. Please log in with your password.");
+            return;
+        }
+        TokenClaims tokenClaims = claims.get();
+        Task<Optional<User>> userTask = new Task<>() {
+            @Override
+            protected Optional<User> call() throws Exception {
+                return userRepository.findById(tokenClaims.userId());
+            }
+        };
+        userTask.setOnSucceeded(event -> {
+            setBusy(false);
+            completeUnlock(tokenClaims, userTask.getValue());
+        });
+        userTask.setOnFailed(event -> {
+            setBusy(false);
+            logger.error("Could not verify the user of the session token.", userTask.getException());
+            errorLabel.setText("Login is currently unavailable. Please check the logs.");
+        });
+        setBusy(true);
+        BackgroundExecutor.execute(userTask);
+    }
+
+    /**
+     * Restores the session of a token if its user still exists with the same role.
+     *
+     * @param claims The claims of the stored token
+     * @param user The user of the token, read from the database
+     */
+    private void completeUnlock(TokenClaims claims, Optional<User> user) {
+        if (user.isEmpty() || user.get().getRole() != claims.role()) {
+            logger.warn("Rejected the session token of user '{}', the user was deleted or their role changed.", claims.username());
+            tokenService.revokeStoredToken();
+            rejectUnlock("Your account has changed. Please log in with your password.");
+            return;
+        }
+        SessionManager.login(claims.userId(), claims.role());
+        logger.info("User '{}' unlocked the application with a session token.", claims.username());
+        showMainScreen();
+    }
 
-    private final UserRepository userRepository = new UserRepository();
+    /**
+     * Hides the unlock button and asks for the password instead.
+     *
+     * @param message Reason shown to the user
+     */
+    private void rejectUnlock(String message) {
+        unlockButton.setVisible(false);
+        unlockButton.setManaged(false);
+        errorLabel.setText(message);
+    }
 
     /**
-     * Handles the action of the login button. It attempts to authenticate the user
-     * and, on success, navigates to the main application screen.
+     * Handles the action of the login button. The password is verified on a background worker
+     * while a progress indicator is shown, and on success the main application screen is opened.
      */
     @FXML
     private void handleLogin() {
@@ -48,17 +144,63 @@ public class LoginController {
             return;
         }
 
-        try {
-            Pair<Long, UserRole> userDetails = userRepository.authenticate(username, password);
-
-            SessionManager.login(userDetails.getKey(), userDetails.getValue());
-            logger.info("User '{}' with role {} logged in successfully.", username, userDetails.getValue());
+        setBusy(true);
+        authenticationService.authenticate(username, password)
+                .whenComplete((userDetails, error) -> Platform.runLater(() -> {
+                    setBusy(false);
+                    if (error == null) {
+                        completeLogin(username, userDetails);
+                    } else {
+                        handleLoginFailure(username, error instanceof CompletionException ? error.getCause() : error);
+                    }
+                }));
+    }
 
-            showMainScreen();
+    /**
+     * Starts the session of an authenticated user and shows the main screen.
+     *
+     * @param username The username that logged in
+     * @param userDetails ID and role of the user
+     */
+    private void completeLogin(String username, Pair<Long, UserRole> userDetails) {
+        SessionManager.login(userDetails.getKey(), userDetails.getValue());
+        tokenService.issueAndStore(userDetails.getKey(), username, userDetails.getValue());
+        logger.info("User '{}' with role {} logged in successfully.", username, userDetails.getValue());
+        showMainScreen();
+    }
 
-        } catch (UserNotFoundException e) {
-            logger.warn("Login failed for user '{}'. Reason: {}", username, e.getMessage());
+    /**
+     * Shows the reason of a failed login attempt.
+     *
+     * @param username The username that failed to log in
+     * @param error The failure cause
+     */
+    private void handleLoginFailure(String username, Throwable error) {
+        if (error instanceof UserNotFoundException) {
+            logger.warn("Login failed for user '{}'. Reason: {}", username, error.getMessage());
             errorLabel.setText("Invalid username or password.");
+        } else if (error instanceof LoginThrottledException) {
+            errorLabel.setText(error.getMessage());
+        } else {
+            logger.error("Login failed for user '{}' due to an unexpected error.", username, error);
+            errorLabel.setText("Login is currently unavailable. Please check the logs.");
+        }
+    }
+
+    /**
+     * Toggles the progress indicator and disables the form while a login is in progress.
+     *
+     * @param busy Whether a login attempt is in progress
+     */
+    private void setBusy(boolean busy) {
+        progressIndicator.setVisible(busy);
+        progressIndicator.setManaged(busy);
+        loginButton.setDisable(busy);
+        unlockButton.setDisable(busy);
+        usernameField.setDisable(busy);
+        passwordField.setDisable(busy);
+        if (busy) {
+            errorLabel.setText("");
         }
     }
 
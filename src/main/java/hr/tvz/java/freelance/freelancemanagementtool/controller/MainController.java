@@ -1,7 +1,16 @@
 package hr.tvz.java.freelance.freelancemanagementtool.controller;
 
 import hr.tvz.java.freelance.freelancemanagementtool.FreelanceManagementApplication;
+import hr.tvz.java.freelance.freelancemanagementtool.enums.ExportFormat;
+import hr.tvz.java.freelance.freelancemanagementtool.enums.JobPriority;
+import hr.tvz.java.freelance.freelancemanagementtool.exception.DatabaseReadException;
+import hr.tvz.java.freelance.freelancemanagementtool.service.DataExportService;
+import hr.tvz.java.freelance.freelancemanagementtool.service.JobScheduler;
 import hr.tvz.java.freelance.freelancemanagementtool.session.SessionManager;
+import hr.tvz.java.freelance.freelancemanagementtool.session.SessionTokenService;
+import hr.tvz.java.freelance.freelancemanagementtool.util.NotificationCenter;
+import hr.tvz.java.freelance.freelancemanagementtool.util.ViewCache;
+import javafx.concurrent.Task;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
@@ -9,11 +18,13 @@ import javafx.scene.control.Alert;
 import javafx.scene.control.Label;
 import javafx.scene.control.Menu;
 import javafx.scene.layout.BorderPane;
-import javafx.scene.layout.VBox;
+import javafx.stage.FileChooser;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.File;
 import java.io.IOException;
+import java.nio.file.Path;
 
 /**
  * Controller for the main application window that contains the menu bar and hosts other views.
@@ -26,6 +37,17 @@ public class MainController {
     @FXML private Menu adminMenu;
     @FXML private Label welcomeLabel;
 
+    private final DataExportService exportService = new DataExportService();
+    private Object currentViewController;
+
+    /**
+     * A single export operation of the export service.
+     */
+    @FunctionalInterface
+    private interface ExportAction {
+        long export(Path target, ExportFormat format, boolean gzip) throws DatabaseReadException;
+    }
+
     /**
      * Initializes the controller. Configures the UI based on the logged-in user's role.
      */
@@ -42,19 +64,43 @@ public class MainController {
     }
 
     /**
-     * Handles the 'Logout' menu item action.
+     * Handles the 'Logout' menu item action. The stored session token is revoked,
+     * so the next login requires the password.
      */
     @FXML
     public void logout() {
+        SessionTokenService.getInstance().revokeStoredToken();
         SessionManager.logout();
         logger.info("User logged out.");
+        showLoginScreen();
+    }
+
+    /**
+     * Handles the 'Lock' menu item action. The session ends but the stored session token is kept,
+     * so the user can unlock the application without entering the password until the token expires.
+     */
+    @FXML
+    public void lock() {
+        SessionManager.logout();
+        logger.info("Application locked.");
+        showLoginScreen();
+    }
+
+    /**
+     * Replaces the main view with the login screen. Cached views belong to the previous session,
+     * so they are dropped and the common views are preloaded again while the login screen is showing.
+     */
+    private void showLoginScreen() {
+        disposeCurrentView();
+        ViewCache.invalidateAll();
         try {
             FXMLLoader fxmlLoader = new FXMLLoader(FreelanceManagementApplication.class.getResource("login-view.fxml"));
             Scene scene = new Scene(fxmlLoader.load(), 400, 300);
             FreelanceManagementApplication.getMainStage().setTitle("Login - Freelance Tool");
             FreelanceManagementApplication.getMainStage().setScene(scene);
+            ViewCache.preloadCommonViews();
         } catch (IOException e) {
-            logger.error("Failed to load login-view.fxml on logout.", e);
+            logger.error("Failed to load login-view.fxml.", e);
         }
     }
 
@@ -74,6 +120,14 @@ public class MainController {
         loadView("client-search-view.fxml", "Client Search");
     }
 
+    /**
+     * Shows the notification center.
+     */
+    @FXML
+    private void showNotifications() {
+        NotificationCenter.show();
+    }
+
     /**
      * Loads and displays the audit log view (Admin only).
      */
@@ -94,17 +148,100 @@ public class MainController {
         }
     }
 
+    /**
+     * Exports all projects to a file chosen by the user.
+     */
+    @FXML
+    private void exportProjects() {
+        runExport("projects", exportService::exportProjects);
+    }
+
+    /**
+     * Exports all clients to a file chosen by the user.
+     */
+    @FXML
+    private void exportClients() {
+        runExport("clients", exportService::exportClients);
+    }
+
+    /**
+     * Exports the audit log to a file chosen by the user (Admin only).
+     */
+    @FXML
+    private void exportAuditLog() {
+        if (SessionManager.isAdmin()) {
+            runExport("audit_log", exportService::exportAuditLog);
+        }
+    }
+
+    /**
+     * Asks the user for a target file and runs the export on a background thread,
+     * so large exports do not block the UI.
+     *
+     * @param baseName Default file name without extension
+     * @param action The export to run
+     */
+    private void runExport(String baseName, ExportAction action) {
+        FileChooser.ExtensionFilter csv = new FileChooser.ExtensionFilter("CSV", "*.csv");
+        FileChooser.ExtensionFilter json = new FileChooser.ExtensionFilter("JSON", "*.json");
+        FileChooser.ExtensionFilter csvGzip = new FileChooser.ExtensionFilter("CSV (gzip)", "*.csv.gz");
+        FileChooser.ExtensionFilter jsonGzip = new FileChooser.ExtensionFilter("JSON (gzip)", "*.json.gz");
+
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Export " + baseName);
+        fileChooser.getExtensionFilters().addAll(csv, json, csvGzip, jsonGzip);
+        fileChooser.setInitialFileName(baseName + ".csv");
+        File file = fileChooser.showSaveDialog(FreelanceManagementApplication.getMainStage());
+        if (file == null) {
+            return;
+        }
+
+        FileChooser.ExtensionFilter selected = fileChooser.getSelectedExtensionFilter();
+        ExportFormat format = (selected == json || selected == jsonGzip) ? ExportFormat.JSON : ExportFormat.CSV;
+        boolean gzip = selected == csvGzip || selected == jsonGzip;
+
+        Task<Long> exportTask = new Task<>() {
+            @Override
+            protected Long call() throws Exception {
+                return action.export(file.toPath(), format, gzip);
+            }
+        };
+        exportTask.setOnSucceeded(event -> {
+            Alert alert = new Alert(Alert.AlertType.INFORMATION);
+            alert.setTitle("Export Finished");
+            alert.setHeaderText("Exported " + exportTask.getValue() + " rows.");
+            alert.setContentText(file.getAbsolutePath());
+            alert.show();
+        });
+        exportTask.setOnFailed(event -> {
+            logger.error("Export to {} failed.", file, exportTask.getException());
+            Alert alert = new Alert(Alert.AlertType.ERROR);
+            alert.setTitle("Export Error");
+            alert.setHeaderText("Could not export " + baseName + ".");
+            alert.setContentText(exportTask.getException().getMessage());
+            alert.show();
+        });
+
+        JobScheduler.getInstance().submit("export-" + baseName, JobPriority.INTERACTIVE, exportTask);
+    }
+
     /**
      * A generic helper method to load an FXML view into the center of the BorderPane.
+     * Views are taken from the {@link ViewCache}, so each FXML file is parsed only once per session;
+     * any data load still running for the previous view is cancelled and the new view is refreshed.
      *
      * @param fxmlFileName The name of the FXML file to load.
      * @param viewName A friendly name for logging purposes.
      */
     private void loadView(String fxmlFileName, String viewName) {
         try {
-            FXMLLoader loader = new FXMLLoader(FreelanceManagementApplication.class.getResource(fxmlFileName));
-            VBox view = loader.load();
-            mainBorderPane.setCenter(view);
+            ViewCache.CachedView view = ViewCache.get(fxmlFileName);
+            disposeCurrentView();
+            currentViewController = view.controller();
+            mainBorderPane.setCenter(view.root());
+            if (currentViewController instanceof ManagedView managedView) {
+                managedView.onShow();
+            }
             logger.info("Navigated to {} View.", viewName);
         } catch (IOException e) {
             logger.error("Failed to load {}. Check file name and location.", fxmlFileName, e);
@@ -115,4 +252,14 @@ public class MainController {
             alert.showAndWait();
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Cancels the background work of the view that is about to be replaced.
+     */
+    private void disposeCurrentView() {
+        if (currentViewController instanceof ManagedView managedView) {
+            managedView.dispose();
+        }
+        currentViewController = null;
+    }
+}
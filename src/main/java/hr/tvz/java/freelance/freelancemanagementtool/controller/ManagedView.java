@@ -0,0 +1,19 @@
+package hr.tvz.java.freelance.freelancemanagementtool.controller;
+
+/**
+ * A controller of a view hosted by the main window. Its parsed view is cached and reused,
+ * so the controller refreshes its data whenever the view is shown again, and the main window
+ * disposes the controller when it navigates to another view.
+ */
+public interface ManagedView {
+
+    /**
+     * Refreshes the view each time it is shown in the main window.
+     */
+    void onShow();
+
+    /**
+     * Cancels any work still in progress for the view, since its results would no longer be shown.
+     */
+    void dispose();
+}
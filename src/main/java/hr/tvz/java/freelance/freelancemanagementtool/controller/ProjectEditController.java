@@ -6,22 +6,31 @@ import hr.tvz.java.freelance.freelancemanagementtool.model.Client;
 import hr.tvz.java.freelance.freelancemanagementtool.model.Project;
 import hr.tvz.java.freelance.freelancemanagementtool.repository.ClientDatabaseRepository;
 import hr.tvz.java.freelance.freelancemanagementtool.repository.ProjectDatabaseRepository;
+import hr.tvz.java.freelance.freelancemanagementtool.util.BackgroundExecutor;
+import javafx.animation.PauseTransition;
 import javafx.collections.FXCollections;
+import javafx.concurrent.Task;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.stage.Stage;
+import javafx.util.Duration;
+import javafx.util.StringConverter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Controller for the project add/edit form.
+ * The client is picked with a type-ahead combo box that only fetches the first few clients
+ * whose name starts with the typed text, so the dialog does not depend on the number of clients.
  */
 public class ProjectEditController implements EditController<Project> {
 
     private static final Logger logger = LoggerFactory.getLogger(ProjectEditController.class);
+    private static final int CLIENT_SUGGESTIONS = 20;
 
     @FXML private TextField nameField;
     @FXML private TextArea descriptionArea;
@@ -37,29 +46,117 @@ public class ProjectEditController implements EditController<Project> {
     private Project projectToEdit;
 
     private boolean isSaveClicked = false;
+    private Project savedProject;
+
+    private final PauseTransition clientSearchDelay = new PauseTransition(Duration.millis(200));
+    private Task<List<Client>> clientSearch;
+    private boolean updatingSuggestions;
 
     /**
-     * Initializes the controller, populating the choice boxes.
+     * Initializes the controller, populating the status choice box and setting up the client picker.
      */
     @FXML
     public void initialize() {
         statusComboBox.setItems(FXCollections.observableArrayList(ProjectStatus.values()));
-        loadClients();
+        setupClientPicker();
+    }
+
+    /**
+     * Makes the client combo box editable and searches for matching clients shortly after the user stops typing.
+     */
+    private void setupClientPicker() {
+        clientComboBox.setEditable(true);
+        clientComboBox.setConverter(new StringConverter<>() {
+            @Override
+            public String toString(Client client) {
+                return client != null ? client.getName() : "";
+            }
+
+            @Override
+            public Client fromString(String text) {
+                return clientComboBox.getItems().stream()
+                        .filter(c -> c.getName().equalsIgnoreCase(text.strip()))
+                        .findFirst()
+                        .orElse(null);
+            }
+        });
+        clientSearchDelay.setOnFinished(event -> searchClients(clientComboBox.getEditor().getText()));
+        clientComboBox.getEditor().textProperty().addListener((observable, oldText, newText) -> {
+            Client selected = clientComboBox.getValue();
+            if (!updatingSuggestions && (selected == null || !selected.getName().equals(newText))) {
+                clientSearchDelay.playFromStart();
+            }
+        });
     }
 
     /**
-     * Loads clients from the database and populates the client ComboBox.
+     * Fetches the clients whose name starts with the typed text in the background
+     * and shows them as suggestions. A search still in progress is cancelled.
+     *
+     * @param text The typed text
      */
-    private void loadClients() {
+    private void searchClients(String text) {
+        BackgroundExecutor.cancel(clientSearch);
+        String prefix = text == null ? "" : text.strip();
+        if (prefix.isEmpty()) {
+            return;
+        }
+        Task<List<Client>> task = new Task<>() {
+            @Override
+            protected List<Client> call() throws DatabaseReadException {
+                return clientRepository.findByNamePrefix(prefix, CLIENT_SUGGESTIONS);
+            }
+        };
+        task.setOnSucceeded(event -> showClientSuggestions(task.getValue()));
+        task.setOnFailed(event -> logger.error("Failed to search clients for the form.", task.getException()));
+        clientSearch = BackgroundExecutor.execute(task);
+    }
+
+    /**
+     * Replaces the suggestions of the client picker while keeping the text the user is typing.
+     *
+     * @param clients The matching clients
+     */
+    private void showClientSuggestions(List<Client> clients) {
+        TextField editor = clientComboBox.getEditor();
+        String text = editor.getText();
+        int caret = editor.getCaretPosition();
+        updatingSuggestions = true;
         try {
-            List<Client> clients = clientRepository.findAll();
-            clientComboBox.setItems(FXCollections.observableArrayList(clients));
-        } catch (DatabaseReadException e) {
-            logger.error("Failed to load clients for the form.", e);
-            new Alert(Alert.AlertType.ERROR, "Could not load client data.").showAndWait();
+            clientComboBox.getItems().setAll(clients);
+            editor.setText(text);
+            editor.positionCaret(caret);
+        } finally {
+            updatingSuggestions = false;
+        }
+        if (clients.isEmpty()) {
+            clientComboBox.hide();
+        } else if (editor.isFocused()) {
+            clientComboBox.show();
         }
     }
 
+    /**
+     * Clears the form and the state of the previous use of the dialog.
+     */
+    @Override
+    public void resetForm() {
+        projectToEdit = null;
+        savedProject = null;
+        isSaveClicked = false;
+        nameField.clear();
+        descriptionArea.clear();
+        startDatePicker.setValue(null);
+        deadlinePicker.setValue(null);
+        budgetField.clear();
+        statusComboBox.setValue(null);
+        clientComboBox.setValue(null);
+        clientComboBox.getItems().clear();
+        clientComboBox.getEditor().clear();
+        clientSearchDelay.stop();
+        BackgroundExecutor.cancel(clientSearch);
+    }
+
     /**
      * Pre-populates the form fields with data from an existing project for editing.
      * @param entity The project to be edited.
@@ -74,15 +171,21 @@ public class ProjectEditController implements EditController<Project> {
         budgetField.setText(entity.getBudget().toPlainString());
         statusComboBox.setValue(entity.getStatus());
 
-        clientComboBox.getItems().stream()
-                .filter(c -> c.getId() == entity.getClientId())
-                .findFirst()
-                .ifPresent(clientComboBox::setValue);
+        try {
+            clientRepository.findById(entity.getClientId()).ifPresent(client -> {
+                clientComboBox.getItems().setAll(client);
+                clientComboBox.setValue(client);
+            });
+        } catch (DatabaseReadException e) {
+            logger.error("Failed to load the client of project ID: {}", entity.getId(), e);
+            new Alert(Alert.AlertType.ERROR, "Could not load client data.").showAndWait();
+        }
     }
 
     /**
      * Handles the save button action. Validates input, confirms with the user,
-     * and saves the project to the database.
+     * and saves the project to the database. The edited project is written as a copy, so the project
+     * shown by the calling screen stays unchanged when saving fails; the form then stays open.
      */
     @FXML
     private void handleSave() {
@@ -98,6 +201,7 @@ public class ProjectEditController implements EditController<Project> {
 
         if (confirmation.showAndWait().orElse(ButtonType.CANCEL) == ButtonType.OK) {
             try {
+                Optional<Project> result;
                 if (projectToEdit == null) {
                     Project newProject = new Project.Builder(0)
                             .withName(nameField.getText())
@@ -108,19 +212,27 @@ public class ProjectEditController implements EditController<Project> {
                             .withBudget(new BigDecimal(budgetField.getText()))
                             .withStatus(statusComboBox.getValue())
                             .build();
-                    projectRepository.save(newProject);
+                    result = projectRepository.save(newProject);
                     logger.info("User confirmed to save new project: {}", newProject.getName());
                 } else {
-                    projectToEdit.setName(nameField.getText());
-                    projectToEdit.setDescription(descriptionArea.getText());
-                    projectToEdit.setClientId(clientComboBox.getValue().getId());
-                    projectToEdit.setStartDate(startDatePicker.getValue());
-                    projectToEdit.setDeadline(deadlinePicker.getValue());
-                    projectToEdit.setBudget(new BigDecimal(budgetField.getText()));
-                    projectToEdit.setStatus(statusComboBox.getValue());
-                    projectRepository.update(projectToEdit);
-                    logger.info("User confirmed to update project: {}", projectToEdit.getName());
+                    Project editedProject = new Project.Builder(projectToEdit.getId())
+                            .withName(nameField.getText())
+                            .withDescription(descriptionArea.getText())
+                            .withClientId(clientComboBox.getValue().getId())
+                            .withAssignedUserId(projectToEdit.getAssignedUserId())
+                            .withStartDate(startDatePicker.getValue())
+                            .withDeadline(deadlinePicker.getValue())
+                            .withBudget(new BigDecimal(budgetField.getText()))
+                            .withStatus(statusComboBox.getValue())
+                            .build();
+                    result = projectRepository.update(editedProject);
+                    logger.info("User confirmed to update project: {}", editedProject.getName());
+                }
+                if (result.isEmpty()) {
+                    new Alert(Alert.AlertType.ERROR, "The project could not be saved. The database could not be reached, or the project was deleted in the meantime.").showAndWait();
+                    return;
                 }
+                savedProject = result.get();
                 isSaveClicked = true;
                 closeWindow();
             } catch (NumberFormatException e) {
@@ -156,4 +268,14 @@ public class ProjectEditController implements EditController<Project> {
     public boolean isSaveClicked() {
         return isSaveClicked;
     }
+
+    /**
+     * Returns the project that was saved, used by the calling controller to update its table.
+     *
+     * @return The saved project, or empty if nothing was saved.
+     */
+    @Override
+    public Optional<Project> getSavedEntity() {
+        return Optional.ofNullable(savedProject);
+    }
 }
\ No newline at end of file
@@ -1,127 +1,232 @@
 package hr.tvz.java.freelance.freelancemanagementtool.controller;
 
 import hr.tvz.java.freelance.freelancemanagementtool.enums.ProjectStatus;
+import hr.tvz.java.freelance.freelancemanagementtool.event.EntityChange;
+import hr.tvz.java.freelance.freelancemanagementtool.event.EntityEventBus;
 import hr.tvz.java.freelance.freelancemanagementtool.exception.DatabaseReadException;
 import hr.tvz.java.freelance.freelancemanagementtool.model.Client;
 import hr.tvz.java.freelance.freelancemanagementtool.model.Project;
 import hr.tvz.java.freelance.freelancemanagementtool.repository.ClientDatabaseRepository;
 import hr.tvz.java.freelance.freelancemanagementtool.repository.ProjectDatabaseRepository;
+import hr.tvz.java.freelance.freelancemanagementtool.util.BackgroundExecutor;
 import hr.tvz.java.freelance.freelancemanagementtool.util.Config;
 import hr.tvz.java.freelance.freelancemanagementtool.util.DialogHelper;
-import javafx.beans.property.SimpleStringProperty;
+import hr.tvz.java.freelance.freelancemanagementtool.util.FxEvents;
+import hr.tvz.java.freelance.freelancemanagementtool.util.LiveFilter;
+import hr.tvz.java.freelance.freelancemanagementtool.viewmodel.ProjectRow;
 import javafx.collections.FXCollections;
+import javafx.concurrent.Task;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
-import java.util.Set;
+import java.util.*;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 /**
  * Controller for the Project Search screen. Handles displaying, filtering,
  * and managing project data by interacting with repositories and dialogs.
+ * Data is loaded on a worker thread so the screen is shown immediately, and while the screen is shown,
+ * project and client changes made anywhere in the application are patched into the table and the client map.
  */
-public class ProjectSearchController {
+public class ProjectSearchController implements ManagedView {
 
     private static final Logger logger = LoggerFactory.getLogger(ProjectSearchController.class);
 
     @FXML private TextField nameFilterField;
     @FXML private ComboBox<ProjectStatus> statusFilterComboBox;
-    @FXML private TableView<Project> projectsTableView;
-    @FXML private TableColumn<Project, String> nameColumn;
-    @FXML private TableColumn<Project, String> clientColumn;
-    @FXML private TableColumn<Project, String> deadlineColumn;
-    @FXML private TableColumn<Project, String> statusColumn;
-    @FXML private TableColumn<Project, String> budgetColumn;
+    @FXML private TableView<ProjectRow> projectsTableView;
+    @FXML private TableColumn<ProjectRow, String> nameColumn;
+    @FXML private TableColumn<ProjectRow, String> clientColumn;
+    @FXML private TableColumn<ProjectRow, String> deadlineColumn;
+    @FXML private TableColumn<ProjectRow, String> statusColumn;
+    @FXML private TableColumn<ProjectRow, String> budgetColumn;
 
     private final ProjectDatabaseRepository projectRepository = new ProjectDatabaseRepository();
     private final ClientDatabaseRepository clientRepository = new ClientDatabaseRepository();
-    private List<Project> allProjects = new ArrayList<>();
-    private Map<Long, Client> clientMap;
+    private Map<Long, Client> clientMap = Map.of();
+    private Task<ProjectData> loadTask;
+    private LiveFilter<ProjectRow> projectFilter;
+    private EntityEventBus.Subscription projectChanges;
+    private EntityEventBus.Subscription clientChanges;
+
+    /**
+     * Data shown by the screen, loaded together in the background.
+     *
+     * @param clients Clients by ID, used to display project clients
+     * @param clientsLoaded Whether the clients could be read
+     * @param rows Rows of all projects
+     */
+    private record ProjectData(Map<Long, Client> clients, boolean clientsLoaded, List<ProjectRow> rows) {}
 
     /**
      * Initializes the controller when the FXML is loaded.
-     * Sets up table columns, loads clients into a map for efficiency,
-     * and performs the initial load of project data.
+     * Sets up table columns and filters; data is loaded when the view is shown.
      */
     @FXML
     public void initialize() {
-        loadClientsIntoMap();
         setupTableColumns();
         statusFilterComboBox.setItems(FXCollections.observableArrayList(ProjectStatus.values()));
+        projectFilter = new LiveFilter<>(projectsTableView, ProjectRow::getId, this::createFilterPredicate);
+        nameFilterField.textProperty().addListener((observable, oldValue, newValue) -> projectFilter.apply());
+        statusFilterComboBox.valueProperty().addListener((observable, oldValue, newValue) -> projectFilter.applyNow());
+    }
+
+    /**
+     * Reloads the projects in the background each time the screen is shown.
+     * The rows of the previous visit stay visible until the fresh data arrives.
+     */
+    @Override
+    public void onShow() {
+        if (projectChanges == null) {
+            projectChanges = FxEvents.subscribe(Project.class, this::applyProjectChanges);
+            clientChanges = FxEvents.subscribe(Client.class, this::applyClientChanges);
+        }
         loadProjects();
     }
 
+    /**
+     * Stops following project and client changes and cancels work still in progress.
+     */
+    @Override
+    public void dispose() {
+        cancelLoading();
+        if (projectChanges != null) {
+            projectChanges.close();
+            clientChanges.close();
+            projectChanges = null;
+            clientChanges = null;
+        }
+    }
+
+    /**
+     * Cancels a project load or filter evaluation that is still in progress.
+     */
+    private void cancelLoading() {
+        BackgroundExecutor.cancel(loadTask);
+        if (projectFilter != null) {
+            projectFilter.cancel();
+        }
+    }
+
     /**
      * Loads all clients from the database into a Map for efficient lookup
      * when displaying project data. This avoids repeated database queries.
+     * Runs on the loader thread.
+     *
+     * @return Clients by ID, or null if they could not be read
      */
-    private void loadClientsIntoMap() {
+    private Map<Long, Client> loadClientsIntoMap() {
         try {
-            clientMap = clientRepository.findAll().stream()
+            return clientRepository.findAll().stream()
                     .collect(Collectors.toMap(Client::getId, Function.identity()));
         } catch (DatabaseReadException e) {
             logger.error("CRITICAL: Failed to load clients for project view.", e);
-            showStyledAlert(Alert.AlertType.ERROR, "Database Error", "Failed to Load Client Data", "Could not establish a connection or read client data. The application may not function correctly.");
-            clientMap = Map.of();
+            return null;
         }
     }
 
     /**
      * Configures the cell value factories for the TableView columns,
-     * binding them to the properties of the Project model.
+     * binding them to the cached properties of the project rows.
      */
     private void setupTableColumns() {
-        nameColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getName()));
-        deadlineColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getDeadline().toString()));
-        statusColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getStatus().toString()));
-        budgetColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getBudget().toString()));
-        clientColumn.setCellValueFactory(cellData -> {
-            Client client = clientMap.get(cellData.getValue().getClientId());
-            return new SimpleStringProperty(client != null ? client.getName() : "Unknown Client");
-        });
+        nameColumn.setCellValueFactory(cellData -> cellData.getValue().nameProperty());
+        deadlineColumn.setCellValueFactory(cellData -> cellData.getValue().deadlineProperty());
+        statusColumn.setCellValueFactory(cellData -> cellData.getValue().statusProperty());
+        budgetColumn.setCellValueFactory(cellData -> cellData.getValue().budgetProperty());
+        clientColumn.setCellValueFactory(cellData -> cellData.getValue().clientProperty());
+    }
+
+    /**
+     * Creates the table row of a project, formatting its values once.
+     *
+     * @param project The project
+     * @param clients Clients by ID
+     * @return The row
+     */
+    private static ProjectRow toRow(Project project, Map<Long, Client> clients) {
+        Client client = clients.get(project.getClientId());
+        return new ProjectRow(project, client != null ? client.getName() : "Unknown Client");
     }
 
     /**
-     * Loads all projects from the repository and populates the table.
+     * Loads all clients and projects on a worker thread and populates the table when done.
+     * The table rows and their display strings are created on the worker thread as well.
+     * A progress indicator is shown in the table meanwhile, and a previous load still in progress is cancelled.
      */
     private void loadProjects() {
-        try {
-            allProjects = projectRepository.findAll();
-            projectsTableView.setItems(FXCollections.observableArrayList(allProjects));
-            logger.info("Successfully loaded {} projects into the table.", allProjects.size());
-
-            Set<ProjectStatus> uniqueStatuses = allProjects.stream()
-                    .map(Project::getStatus)
-                    .collect(Collectors.toSet());
-            logger.info("Unique project statuses found are: {}", uniqueStatuses);
-        } catch (DatabaseReadException e) {
+        cancelLoading();
+        projectsTableView.setPlaceholder(new ProgressIndicator());
+        Task<ProjectData> task = new Task<>() {
+            @Override
+            protected ProjectData call() throws DatabaseReadException {
+                Map<Long, Client> loaded = loadClientsIntoMap();
+                Map<Long, Client> clients = loaded != null ? loaded : Map.of();
+                List<ProjectRow> rows = new ArrayList<>();
+                for (Project project : projectRepository.findAll()) {
+                    rows.add(toRow(project, clients));
+                }
+                return new ProjectData(clients, loaded != null, rows);
+            }
+        };
+        task.setOnSucceeded(event -> showProjects(task.getValue()));
+        task.setOnFailed(event -> {
+            logger.error("Failed to load projects.", task.getException());
+            projectsTableView.setPlaceholder(new Label("Projects could not be loaded."));
             showStyledAlert(Alert.AlertType.ERROR, "Database Error", "Failed to Load Projects", "Could not retrieve project data from the database. Please check the logs.");
+        });
+        loadTask = BackgroundExecutor.execute(task);
+    }
+
+    /**
+     * Populates the table with freshly loaded data.
+     *
+     * @param data The loaded clients and projects
+     */
+    private void showProjects(ProjectData data) {
+        clientMap = data.clients();
+        projectsTableView.setPlaceholder(new Label("No projects found."));
+        projectFilter.setAll(data.rows());
+        logger.info("Successfully loaded {} projects into the table.", data.rows().size());
+
+        Set<ProjectStatus> uniqueStatuses = data.rows().stream()
+                .map(row -> row.getProject().getStatus())
+                .collect(Collectors.toSet());
+        logger.info("Unique project statuses found are: {}", uniqueStatuses);
+
+        if (!data.clientsLoaded()) {
+            showStyledAlert(Alert.AlertType.ERROR, "Database Error", "Failed to Load Client Data", "Could not establish a connection or read client data. The application may not function correctly.");
         }
     }
 
     /**
-     * Handles the filter button action. Filters the project list based on
-     * user input for name and status.
+     * Handles the filter button action. Applies the current filters without waiting for the debounce delay.
      */
     @FXML
     private void handleFilter() {
-        List<Project> filteredList = allProjects.stream()
-                .filter(p -> {
-                    String nameFilter = nameFilterField.getText();
-                    return nameFilter == null || nameFilter.isBlank() || p.getName().toLowerCase().contains(nameFilter.toLowerCase());
-                })
-                .filter(p -> {
-                    ProjectStatus statusFilter = statusFilterComboBox.getValue();
-                    return statusFilter == null || p.getStatus().equals(statusFilter);
-                })
-                .toList();
-        projectsTableView.setItems(FXCollections.observableArrayList(filteredList));
+        projectFilter.applyNow();
+    }
+
+    /**
+     * Creates a predicate matching projects by the name and status filters.
+     * The name is looked up in the repository's name index, so rows are only matched by ID.
+     * The filter inputs are read here, on the FX thread, so the predicate can be evaluated on any thread.
+     *
+     * @return The predicate, or null if no filter is set
+     */
+    private Predicate<ProjectRow> createFilterPredicate() {
+        String nameFilter = nameFilterField.getText();
+        Set<Long> matchingIds = nameFilter == null ? null : projectRepository.findIdsByName(nameFilter).orElse(null);
+        ProjectStatus status = statusFilterComboBox.getValue();
+        if (matchingIds == null && status == null) {
+            return null;
+        }
+        return p -> (matchingIds == null || matchingIds.contains(p.getId()))
+                && (status == null || p.getProject().getStatus().equals(status));
     }
 
     /**
@@ -131,7 +236,15 @@ public class ProjectSearchController {
     private void clearFilters() {
         nameFilterField.clear();
         statusFilterComboBox.getSelectionModel().clearSelection();
-        projectsTableView.setItems(FXCollections.observableArrayList(allProjects));
+        projectFilter.applyNow();
+    }
+
+    /**
+     * Handles the refresh button action. Reloads all projects and clients from the database.
+     */
+    @FXML
+    private void handleRefresh() {
+        loadProjects();
     }
 
     /**
@@ -139,10 +252,8 @@ public class ProjectSearchController {
      */
     @FXML
     private void handleAddNewProject() {
-        boolean saveClicked = DialogHelper.showEditDialog("project-edit-view.fxml", "Add New Project", null);
-        if (saveClicked) {
-            loadProjects();
-        }
+        DialogHelper.<Project>showEditDialog("project-edit-view.fxml", "Add New Project", null)
+                .ifPresent(this::showSavedProject);
     }
 
     /**
@@ -151,12 +262,10 @@ public class ProjectSearchController {
      */
     @FXML
     private void handleEditProject() {
-        Project selectedProject = projectsTableView.getSelectionModel().getSelectedItem();
-        if (selectedProject != null) {
-            boolean saveClicked = DialogHelper.showEditDialog("project-edit-view.fxml", "Edit Project", selectedProject);
-            if (saveClicked) {
-                loadProjects();
-            }
+        ProjectRow selectedRow = projectsTableView.getSelectionModel().getSelectedItem();
+        if (selectedRow != null) {
+            DialogHelper.showEditDialog("project-edit-view.fxml", "Edit Project", selectedRow.getProject())
+                    .ifPresent(this::showSavedProject);
         } else {
             showStyledAlert(Alert.AlertType.WARNING, "Selection Missing", "No Project Selected", "Please select a project from the table to edit.");
         }
@@ -168,8 +277,8 @@ public class ProjectSearchController {
      */
     @FXML
     private void handleDeleteProject() {
-        Project selectedProject = projectsTableView.getSelectionModel().getSelectedItem();
-        if (selectedProject == null) {
+        ProjectRow selectedRow = projectsTableView.getSelectionModel().getSelectedItem();
+        if (selectedRow == null) {
             showStyledAlert(Alert.AlertType.WARNING, "Selection Missing", "No Project Selected", "Please select a project from the table to delete.");
             return;
         }
@@ -177,13 +286,85 @@ public class ProjectSearchController {
         Alert confirmation = new Alert(Alert.AlertType.CONFIRMATION);
         confirmation.setTitle("Confirm Deletion");
         confirmation.setHeaderText("Are you sure you want to delete this project?");
+        Project selectedProject = selectedRow.getProject();
         confirmation.setContentText("Project: " + selectedProject.getName());
         styleAlert(confirmation);
 
         if (confirmation.showAndWait().orElse(ButtonType.CANCEL) == ButtonType.OK) {
-            projectRepository.deleteById(selectedProject.getId());
             logger.info("User confirmed deletion of project ID: {}", selectedProject.getId());
+            projectRepository.deleteById(selectedProject.getId())
+                    .ifPresent(deleted -> projectFilter.removeById(deleted.getId()));
+        }
+    }
+
+    /**
+     * Patches a created or edited project into the table and selects it.
+     * A project of a client that is not loaded yet requires a full reload to show the client's name.
+     * Only called for projects the database confirmed as saved, the edit dialog reports failed saves itself.
+     *
+     * @param project The saved project
+     */
+    private void showSavedProject(Project project) {
+        if (!clientMap.containsKey(project.getClientId())) {
             loadProjects();
+            return;
+        }
+        ProjectRow row = toRow(project, clientMap);
+        projectFilter.upsert(row);
+        projectsTableView.getSelectionModel().select(row);
+        projectsTableView.scrollTo(row);
+    }
+
+    /**
+     * Patches project changes published on the event bus into the table.
+     * Rows that already show the changed instance, such as a project saved from this screen, are left as they are.
+     * A project of a client that is not in the client map requires a full reload.
+     *
+     * @param changes The merged changes of a batch
+     */
+    private void applyProjectChanges(List<EntityChange<Project>> changes) {
+        List<ProjectRow> changedRows = new ArrayList<>();
+        for (EntityChange<Project> change : changes) {
+            Project project = change.entity();
+            if (change.type() == EntityChange.Type.DELETED) {
+                projectFilter.removeById(project.getId());
+            } else if (!clientMap.containsKey(project.getClientId())) {
+                loadProjects();
+                return;
+            } else if (projectFilter.findById(project.getId()).map(row -> row.getProject() != project).orElse(true)) {
+                changedRows.add(toRow(project, clientMap));
+            }
+        }
+        if (!changedRows.isEmpty()) {
+            projectFilter.upsertAll(changedRows);
+        }
+    }
+
+    /**
+     * Keeps the client map up to date with client changes published on the event bus,
+     * and re-renders the rows of projects whose client changed.
+     *
+     * @param changes The merged changes of a batch
+     */
+    private void applyClientChanges(List<EntityChange<Client>> changes) {
+        Map<Long, Client> clients = new HashMap<>(clientMap);
+        Set<Long> updatedClientIds = new HashSet<>();
+        for (EntityChange<Client> change : changes) {
+            Client client = change.entity();
+            if (change.type() == EntityChange.Type.DELETED) {
+                clients.remove(client.getId());
+            } else {
+                clients.put(client.getId(), client);
+                updatedClientIds.add(client.getId());
+            }
+        }
+        clientMap = clients;
+        if (!updatedClientIds.isEmpty()) {
+            List<ProjectRow> changedRows = projectFilter.getSource().stream()
+                    .filter(row -> updatedClientIds.contains(row.getProject().getClientId()))
+                    .map(row -> toRow(row.getProject(), clients))
+                    .toList();
+            projectFilter.upsertAll(changedRows);
         }
     }
 
@@ -1,22 +1,32 @@
 package hr.tvz.java.freelance.freelancemanagementtool.controller;
 
+import hr.tvz.java.freelance.freelancemanagementtool.FreelanceManagementApplication;
+import hr.tvz.java.freelance.freelancemanagementtool.enums.JobPriority;
 import hr.tvz.java.freelance.freelancemanagementtool.enums.UserRole;
 import hr.tvz.java.freelance.freelancemanagementtool.exception.DatabaseReadException;
 import hr.tvz.java.freelance.freelancemanagementtool.model.User;
 import hr.tvz.java.freelance.freelancemanagementtool.repository.UserDatabaseRepository;
 import hr.tvz.java.freelance.freelancemanagementtool.repository.UserRepository;
+import hr.tvz.java.freelance.freelancemanagementtool.service.JobScheduler;
+import hr.tvz.java.freelance.freelancemanagementtool.service.UserProvisioningService;
+import hr.tvz.java.freelance.freelancemanagementtool.service.UserProvisioningService.ProvisioningResult;
+import hr.tvz.java.freelance.freelancemanagementtool.session.SessionTokenService;
 import hr.tvz.java.freelance.freelancemanagementtool.util.Pair;
 import javafx.beans.property.SimpleLongProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
+import javafx.concurrent.Task;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
+import javafx.stage.FileChooser;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.File;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 /**
  * Controller for the User Management screen.
@@ -32,9 +42,12 @@ public class UserManagementController {
     @FXML private TextField usernameField;
     @FXML private PasswordField passwordField;
     @FXML private ComboBox<UserRole> roleComboBox;
+    @FXML private Button bulkImportButton;
 
     private final UserDatabaseRepository userRepository = new UserDatabaseRepository();
     private final UserRepository textFileUserRepository = new UserRepository();
+    private final UserProvisioningService provisioningService = new UserProvisioningService();
+    private final SessionTokenService tokenService = SessionTokenService.getInstance();
 
     /**
      * Initializes the controller.
@@ -85,7 +98,7 @@ public class UserManagementController {
         String hashedPassword = result.getValue();
 
         if (savedUser.getId() > 0) {
-            textFileUserRepository.appendUserToTextFile(savedUser, hashedPassword);
+            textFileUserRepository.saveCredentials(savedUser, hashedPassword);
         }
 
         clearInputFields();
@@ -115,11 +128,70 @@ public class UserManagementController {
 
         Optional<ButtonType> result = confirmation.showAndWait();
         if (result.isPresent() && result.get() == ButtonType.OK) {
-            userRepository.deleteById(selectedUser.getId());
+            userRepository.deleteById(selectedUser.getId())
+                    .ifPresent(deleted -> tokenService.revokeTokensOf(deleted.getId()));
             loadUsers();
         }
     }
 
+    /**
+     * Creates many users from a CSV file with {@code username,password,role} lines.
+     * Provisioning runs in the background and the outcome of every user is shown when it finishes.
+     */
+    @FXML
+    private void handleBulkImport() {
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Import Users");
+        fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("CSV (username,password,role)", "*.csv", "*.txt"));
+        File file = fileChooser.showOpenDialog(FreelanceManagementApplication.getMainStage());
+        if (file == null) {
+            return;
+        }
+
+        Task<List<ProvisioningResult>> importTask = new Task<>() {
+            @Override
+            protected List<ProvisioningResult> call() throws Exception {
+                return provisioningService.provisionFromCsv(file.toPath());
+            }
+        };
+        importTask.setOnSucceeded(event -> {
+            bulkImportButton.setDisable(false);
+            showProvisioningResults(importTask.getValue());
+            loadUsers();
+        });
+        importTask.setOnFailed(event -> {
+            bulkImportButton.setDisable(false);
+            logger.error("Bulk user import from {} failed.", file, importTask.getException());
+            new Alert(Alert.AlertType.ERROR, "Could not import users: " + importTask.getException().getMessage()).show();
+        });
+
+        bulkImportButton.setDisable(true);
+        JobScheduler.getInstance().submit("bulk-user-import", JobPriority.INTERACTIVE, importTask);
+    }
+
+    /**
+     * Shows a summary and the per-user outcome of a bulk import.
+     *
+     * @param results Outcome of every imported user
+     */
+    private void showProvisioningResults(List<ProvisioningResult> results) {
+        long created = results.stream().filter(ProvisioningResult::success).count();
+        String details = results.stream()
+                .map(result -> (result.success() ? "OK    " : "FAILED ") + result.username() + " - " + result.message())
+                .collect(Collectors.joining("\n"));
+
+        TextArea detailsArea = new TextArea(details);
+        detailsArea.setEditable(false);
+        detailsArea.setWrapText(true);
+
+        Alert alert = new Alert(created == results.size() ? Alert.AlertType.INFORMATION : Alert.AlertType.WARNING);
+        alert.setTitle("Bulk Import Finished");
+        alert.setHeaderText(created + " of " + results.size() + " users created.");
+        alert.getDialogPane().setContent(detailsArea);
+        alert.setResizable(true);
+        alert.show();
+    }
+
     /**
      * Clears all input fields.
      */
@@ -1,24 +1,37 @@
 package hr.tvz.java.freelance.freelancemanagementtool.database;
 
+import org.h2.jdbcx.JdbcConnectionPool;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.FileReader;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.Properties;
 
 /**
- * Manages the connection to the database.
- * Reads connection details from a properties file.
+ * Manages the connections to the database.
+ * Repositories borrow a connection from a small pool for every call and close it when they are done,
+ * which returns it to the pool, so concurrent calls from the FX loaders and background jobs never
+ * share or close each other's connection.
+ * Connection details are loaded once from {@code database.properties} on the classpath. A file with the
+ * same name in the working directory, or the file named by the {@code database.config} system property,
+ * overrides the bundled values, so an instance can be pointed at a shared database server
+ * without rebuilding (see {@link DatabaseServer}).
  */
 public final class DatabaseConnection {
 
     private static final Logger logger = LoggerFactory.getLogger(DatabaseConnection.class);
-    private static final String DB_PROPERTIES_FILE = "src/main/resources/database.properties";
-    private static Connection connection = null;
+    private static final String DB_PROPERTIES_FILE = "database.properties";
+    private static final String CONFIG_FILE_PROPERTY = "database.config";
+    private static JdbcConnectionPool pool;
+    private static Properties settings;
 
     /**
      * Private constructor to prevent instantiation of this utility class.
@@ -26,40 +39,142 @@ public final class DatabaseConnection {
     private DatabaseConnection() {}
 
     /**
-     * Establishes and returns a connection to the database.
+     * Borrows a connection from the pool. The caller owns the connection until it closes it,
+     * which returns it to the pool; it must always be closed, e.g. with try-with-resources.
+     * When all connections are in use, the call waits for one to be returned.
+     * The first call of the process brings the schema up to date before any connection is handed out.
      *
      * @return A Connection object to the database.
      * @throws SQLException if a database access error occurs.
      * @throws IOException if the properties file cannot be read.
      */
-    public static synchronized Connection getConnection() throws SQLException, IOException {
-        if (connection == null || connection.isClosed()) {
-            logger.debug("No existing connection found or connection is closed. Creating new one.");
+    public static Connection getConnection() throws SQLException, IOException {
+        return getPool().getConnection();
+    }
+
+    /**
+     * Creates the pool on first use and updates the schema through it. When the update fails, the pool is
+     * discarded and the failure is thrown to the caller, so no code runs against an outdated schema;
+     * the next call tries again.
+     */
+    private static synchronized JdbcConnectionPool getPool() throws SQLException, IOException {
+        if (pool == null) {
+            Properties props = loadProperties();
+            JdbcConnectionPool created = JdbcConnectionPool.create(
+                    props.getProperty("databaseUrl"),
+                    props.getProperty("username"),
+                    props.getProperty("password"));
+            created.setMaxConnections(Math.max(1, Integer.parseInt(props.getProperty("pool.maxConnections", "8").trim())));
+            try (Connection conn = created.getConnection()) {
+                SchemaInitializer.migrate(conn);
+            } catch (SQLException e) {
+                created.dispose();
+                throw e;
+            }
+            pool = created;
+            logger.info("Created a database connection pool of up to {} connections.", created.getMaxConnections());
+        }
+        return pool;
+    }
+
+    /**
+     * Opens the database, updates its schema and runs a trivial query, so the driver classes are loaded
+     * and the database file is opened before the first screen needs data.
+     *
+     * @throws SQLException if the database cannot be opened or its schema cannot be updated.
+     * @throws IOException if the properties file cannot be read.
+     */
+    public static void warmUp() throws SQLException, IOException {
+        try (Connection conn = getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("SELECT 1");
+            logger.debug("Database connection warmed up.");
+        }
+    }
+
+    /**
+     * Opens a new connection outside the pool.
+     * Used by long-running work (streaming exports, backups) which would otherwise hold
+     * a pooled connection for a long time and starve the short repository calls.
+     * The caller is responsible for closing the returned connection.
+     * Like {@link #getConnection()}, it is only opened once the schema is up to date.
+     *
+     * @return A new, dedicated Connection object.
+     * @throws SQLException if a database access error occurs.
+     * @throws IOException if the properties file cannot be read.
+     */
+    public static Connection openConnection() throws SQLException, IOException {
+        getPool();
+        Properties props = loadProperties();
+        return DriverManager.getConnection(
+                props.getProperty("databaseUrl"),
+                props.getProperty("username"),
+                props.getProperty("password"));
+    }
 
-            try (FileReader reader = new FileReader(DB_PROPERTIES_FILE)) {
-                Properties props = new Properties();
+    /**
+     * Opens a new connection to a different database URL using the configured credentials.
+     * Used to open restored backup copies for verification.
+     *
+     * @param databaseUrl JDBC URL of the database to open.
+     * @return A new Connection object, to be closed by the caller.
+     * @throws SQLException if a database access error occurs.
+     * @throws IOException if the properties file cannot be read.
+     */
+    public static Connection openConnection(String databaseUrl) throws SQLException, IOException {
+        Properties props = loadProperties();
+        return DriverManager.getConnection(databaseUrl, props.getProperty("username"), props.getProperty("password"));
+    }
+
+    /**
+     * Gets a database setting, such as one of the {@code server.*} keys
+     *
+     * @param key Setting name
+     * @param defaultValue Value used when the setting is missing
+     * @return Setting value
+     * @throws IOException if the settings cannot be read.
+     */
+    static String getSetting(String key, String defaultValue) throws IOException {
+        return loadProperties().getProperty(key, defaultValue).trim();
+    }
+
+    /**
+     * Loads the settings on first use and keeps them for the lifetime of the process.
+     * A failed load is retried on the next call.
+     */
+    private static synchronized Properties loadProperties() throws IOException {
+        if (settings != null) {
+            return settings;
+        }
+        Properties props = new Properties();
+        try (InputStream in = DatabaseConnection.class.getResourceAsStream("/" + DB_PROPERTIES_FILE)) {
+            if (in != null) {
+                props.load(in);
+            }
+        }
+        Path override = Path.of(System.getProperty(CONFIG_FILE_PROPERTY, DB_PROPERTIES_FILE));
+        if (Files.isReadable(override)) {
+            try (Reader reader = Files.newBufferedReader(override)) {
                 props.load(reader);
-                connection = DriverManager.getConnection(
-                        props.getProperty("databaseUrl"),
-                        props.getProperty("username"),
-                        props.getProperty("password"));
-                logger.info("Successfully established a new database connection.");
             }
+            logger.info("Loaded database settings override from {}", override.toAbsolutePath());
+        }
+        if (props.getProperty("databaseUrl") == null) {
+            throw new IOException("No databaseUrl is configured in " + DB_PROPERTIES_FILE + ".");
         }
-        return connection;
+        settings = props;
+        logger.info("Using database {}", props.getProperty("databaseUrl"));
+        return settings;
     }
 
     /**
-     * Closes the existing database connection if it is open.
+     * Closes the connection pool. Connections that are still borrowed are closed when they are returned.
      */
     public static synchronized void closeConnection() {
-        if (connection != null) {
-            try {
-                connection.close();
-                logger.info("Database connection closed successfully.");
-            } catch (SQLException e) {
-                logger.error("Failed to close database connection.", e);
-            }
+        if (pool != null) {
+            pool.dispose();
+            pool = null;
+            logger.info("Database connection pool closed successfully.");
         }
     }
 }
\ No newline at end of file
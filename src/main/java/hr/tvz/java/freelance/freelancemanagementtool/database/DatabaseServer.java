@@ -0,0 +1,81 @@
+package hr.tvz.java.freelance.freelancemanagementtool.database;
+
+import org.h2.tools.Server;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hosts the database over TCP, so several application instances and batch jobs can share it.
+ * The hosting process keeps using its embedded URL (H2's mixed mode), while the other instances
+ * set {@code databaseUrl} to {@code jdbc:h2:tcp://<host>:<port>/<database name>}.
+ * The server is configured with the {@code server.*} keys of the database settings; it only serves
+ * databases that already exist in its base directory and, unless allowed, only local connections.
+ */
+public final class DatabaseServer {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseServer.class);
+    private static Server server;
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     */
+    private DatabaseServer() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Checks whether this instance is configured to host the database for others
+     *
+     * @return Value of the {@code server.host} setting
+     * @throws IOException if the settings cannot be read
+     */
+    public static boolean isHostingEnabled() throws IOException {
+        return Boolean.parseBoolean(DatabaseConnection.getSetting("server.host", "false"));
+    }
+
+    /**
+     * Starts the TCP server, unless it is already running. Connections from other machines are only
+     * accepted when the database has a password, since the server would otherwise give anyone on the
+     * network full access to the data.
+     *
+     * @return URL of the running server
+     * @throws SQLException if the server cannot be started, e.g. because the port is taken or other
+     * machines are allowed without a database password
+     * @throws IOException if the settings cannot be read
+     */
+    public static synchronized String start() throws SQLException, IOException {
+        if (server != null && server.isRunning(false)) {
+            return server.getURL();
+        }
+        String baseDir = DatabaseConnection.getSetting("server.baseDir", "./db");
+        List<String> args = new ArrayList<>(List.of(
+                "-tcpPort", DatabaseConnection.getSetting("server.port", "9092"),
+                "-baseDir", baseDir,
+                "-ifExists"));
+        if (Boolean.parseBoolean(DatabaseConnection.getSetting("server.allowOthers", "false"))) {
+            if (DatabaseConnection.getSetting("password", "").isEmpty()) {
+                throw new SQLException("server.allowOthers requires a database password; set one or serve local connections only.");
+            }
+            args.add("-tcpAllowOthers");
+        }
+        server = Server.createTcpServer(args.toArray(String[]::new)).start();
+        logger.info("Database server listening on {}, serving databases from {}.", server.getURL(), baseDir);
+        return server.getURL();
+    }
+
+    /**
+     * Stops the TCP server if it is running. Connections of other instances are closed.
+     */
+    public static synchronized void stop() {
+        if (server != null) {
+            server.stop();
+            server = null;
+            logger.info("Database server stopped.");
+        }
+    }
+}
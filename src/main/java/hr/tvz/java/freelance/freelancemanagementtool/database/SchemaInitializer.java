@@ -0,0 +1,56 @@
+package hr.tvz.java.freelance.freelancemanagementtool.database;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Brings the database schema up to date with what the application needs.
+ * All statements are idempotent, so they run on every start and on existing databases.
+ * {@link DatabaseConnection} runs them before it hands out the first connection of the process.
+ */
+public final class SchemaInitializer {
+
+    private static final Logger logger = LoggerFactory.getLogger(SchemaInitializer.class);
+
+    private static final List<String> STATEMENTS = List.of(
+            "ALTER TABLE CLIENTS ADD COLUMN IF NOT EXISTS NAME_LOWER VARCHAR(255) GENERATED ALWAYS AS (LOWER(NAME))",
+            "CREATE INDEX IF NOT EXISTS IDX_CLIENTS_NAME_LOWER ON CLIENTS(NAME_LOWER)",
+            "CREATE INDEX IF NOT EXISTS IDX_PROJECTS_STATUS_DEADLINE ON PROJECTS(STATUS, DEADLINE)",
+            "CREATE TABLE IF NOT EXISTS PROJECT_NOTIFICATIONS (PROJECT_ID BIGINT PRIMARY KEY REFERENCES PROJECTS(ID) ON DELETE CASCADE,"
+                    + " DEADLINE DATE NOT NULL, NOTIFIED_AT TIMESTAMP NOT NULL)",
+            "ALTER TABLE CLIENTS ADD COLUMN IF NOT EXISTS UPDATED_AT TIMESTAMP DEFAULT LOCALTIMESTAMP ON UPDATE LOCALTIMESTAMP NOT NULL",
+            "CREATE INDEX IF NOT EXISTS IDX_CLIENTS_UPDATED_AT ON CLIENTS(UPDATED_AT)",
+            "ALTER TABLE PROJECTS ADD COLUMN IF NOT EXISTS UPDATED_AT TIMESTAMP DEFAULT LOCALTIMESTAMP ON UPDATE LOCALTIMESTAMP NOT NULL",
+            "CREATE INDEX IF NOT EXISTS IDX_PROJECTS_UPDATED_AT ON PROJECTS(UPDATED_AT)",
+            "CREATE TABLE IF NOT EXISTS ENTITY_TOMBSTONES (ENTITY VARCHAR(32) NOT NULL, ENTITY_ID BIGINT NOT NULL,"
+                    + " DELETED_AT TIMESTAMP NOT NULL, PRIMARY KEY (ENTITY, ENTITY_ID))",
+            "CREATE INDEX IF NOT EXISTS IDX_ENTITY_TOMBSTONES_DELETED_AT ON ENTITY_TOMBSTONES(ENTITY, DELETED_AT)"
+    );
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     */
+    private SchemaInitializer() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Applies the schema statements on the given connection.
+     *
+     * @param conn Connection to the database to update, left open
+     * @throws SQLException if a statement fails; the schema is then not usable by the application
+     */
+    static void migrate(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            for (String sql : STATEMENTS) {
+                stmt.execute(sql);
+            }
+        }
+        logger.info("Database schema is up to date.");
+    }
+}
@@ -0,0 +1,8 @@
+package hr.tvz.java.freelance.freelancemanagementtool.enums;
+
+/**
+ * All supported data export formats
+ */
+public enum ExportFormat {
+    CSV, JSON
+}
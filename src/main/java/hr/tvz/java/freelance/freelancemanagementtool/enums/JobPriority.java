@@ -0,0 +1,9 @@
+package hr.tvz.java.freelance.freelancemanagementtool.enums;
+
+/**
+ * Priorities of background jobs, from the most to the least urgent.
+ * Queued runs of a more urgent priority always start first.
+ */
+public enum JobPriority {
+    INTERACTIVE, NORMAL, MAINTENANCE
+}
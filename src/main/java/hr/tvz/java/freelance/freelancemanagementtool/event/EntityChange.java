@@ -0,0 +1,22 @@
+package hr.tvz.java.freelance.freelancemanagementtool.event;
+
+import hr.tvz.java.freelance.freelancemanagementtool.model.Entity;
+
+/**
+ * A change made through a repository, delivered to the subscribers of the {@link EntityEventBus}.
+ *
+ * @param type Kind of the change
+ * @param entity The saved or updated entity, or the entity as it was before it was deleted
+ * @param <T> The entity type
+ */
+public record EntityChange<T extends Entity>(Type type, T entity) {
+
+    /**
+     * Kinds of repository changes.
+     */
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+}
@@ -0,0 +1,155 @@
+package hr.tvz.java.freelance.freelancemanagementtool.event;
+
+import hr.tvz.java.freelance.freelancemanagementtool.model.Entity;
+import hr.tvz.java.freelance.freelancemanagementtool.util.AppProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+
+/**
+ * Tells the rest of the application when entities change, so caches and views can update
+ * incrementally instead of reading everything again.
+ * <p>
+ * Repositories publish a change after it was written. Changes are delivered asynchronously:
+ * changes published within a short window ({@code events.coalesceMillis}) are collected, changes to
+ * the same entity are merged into one, and each subscriber receives the batch of its entity type
+ * on the executor it chose, such as its own thread or the JavaFX thread. Changes of types nobody
+ * subscribed to are dropped right away. This class has no JavaFX dependencies.
+ */
+public final class EntityEventBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(EntityEventBus.class);
+    private static final EntityEventBus INSTANCE = new EntityEventBus();
+
+    private final long coalesceMillis = Math.max(0, AppProperties.getLong("events.coalesceMillis", 50));
+    private final Map<Class<?>, List<Subscriber<?>>> subscribers = new ConcurrentHashMap<>();
+    private final Map<ChangeKey, EntityChange<?>> pending = new LinkedHashMap<>();
+    private final ScheduledExecutorService dispatcher;
+    private boolean flushScheduled;
+
+    /**
+     * Handle of a subscription, closing it stops the delivery of further batches.
+     */
+    public interface Subscription extends AutoCloseable {
+
+        /**
+         * Unsubscribes. Closing a subscription more than once has no effect.
+         */
+        @Override
+        void close();
+    }
+
+    private record ChangeKey(Class<?> type, long id) {}
+
+    private record Subscriber<E extends Entity>(Executor executor, Consumer<List<EntityChange<E>>> listener) {}
+
+    private EntityEventBus() {
+        dispatcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "entity-events");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Gets the shared event bus
+     *
+     * @return Event bus instance
+     */
+    public static EntityEventBus getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Subscribes to the changes of an entity type.
+     *
+     * @param type The entity class
+     * @param executor Runs the listener, for example {@code Platform::runLater} for the JavaFX thread
+     * @param listener Receives the merged changes of each batch, in the order they were first published
+     * @param <E> The entity type
+     * @return The subscription
+     */
+    public <E extends Entity> Subscription subscribe(Class<E> type, Executor executor, Consumer<List<EntityChange<E>>> listener) {
+        Subscriber<E> subscriber = new Subscriber<>(executor, listener);
+        List<Subscriber<?>> typeSubscribers = subscribers.computeIfAbsent(type, key -> new CopyOnWriteArrayList<>());
+        typeSubscribers.add(subscriber);
+        return () -> typeSubscribers.remove(subscriber);
+    }
+
+    /**
+     * Publishes a change. Returns immediately, the change is delivered after the coalescing window.
+     *
+     * @param change The change that was written
+     */
+    public void publish(EntityChange<?> change) {
+        Class<?> type = change.entity().getClass();
+        List<Subscriber<?>> typeSubscribers = subscribers.get(type);
+        if (typeSubscribers == null || typeSubscribers.isEmpty()) {
+            return;
+        }
+        synchronized (pending) {
+            merge(new ChangeKey(type, change.entity().getId()), change);
+            if (!flushScheduled) {
+                flushScheduled = true;
+                dispatcher.schedule(this::flush, coalesceMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /**
+     * Merges a change into the pending change of the same entity: a creation stays a creation with
+     * the latest state, an update after a creation or update replaces it, and a deletion replaces
+     * an update or cancels out a creation nobody was told about yet.
+     */
+    private void merge(ChangeKey key, EntityChange<?> change) {
+        EntityChange<?> previous = pending.get(key);
+        if (previous == null) {
+            pending.put(key, change);
+        } else if (change.type() == EntityChange.Type.DELETED) {
+            if (previous.type() == EntityChange.Type.CREATED) {
+                pending.remove(key);
+            } else {
+                pending.put(key, change);
+            }
+        } else if (previous.type() == EntityChange.Type.CREATED) {
+            pending.put(key, new EntityChange<>(EntityChange.Type.CREATED, change.entity()));
+        } else {
+            pending.put(key, change);
+        }
+    }
+
+    private void flush() {
+        Map<Class<?>, List<EntityChange<?>>> batches = new LinkedHashMap<>();
+        synchronized (pending) {
+            for (Map.Entry<ChangeKey, EntityChange<?>> entry : pending.entrySet()) {
+                batches.computeIfAbsent(entry.getKey().type(), key -> new ArrayList<>()).add(entry.getValue());
+            }
+            pending.clear();
+            flushScheduled = false;
+        }
+        batches.forEach(this::deliver);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private void deliver(Class<?> type, List<EntityChange<?>> batch) {
+        List<EntityChange<?>> changes = Collections.unmodifiableList(batch);
+        for (Subscriber<?> subscriber : subscribers.getOrDefault(type, List.of())) {
+            Consumer listener = subscriber.listener();
+            try {
+                subscriber.executor().execute(() -> {
+                    try {
+                        listener.accept(changes);
+                    } catch (RuntimeException e) {
+                        logger.error("Subscriber failed to handle {} change(s) of {}.", changes.size(), type.getSimpleName(), e);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                logger.debug("Subscriber of {} no longer accepts changes.", type.getSimpleName());
+            }
+        }
+        logger.debug("Delivered {} change(s) of {}.", changes.size(), type.getSimpleName());
+    }
+}
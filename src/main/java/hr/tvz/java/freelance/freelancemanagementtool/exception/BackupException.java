@@ -0,0 +1,14 @@
+package hr.tvz.java.freelance.freelancemanagementtool.exception;
+
+/**
+ * A checked exception thrown when a backup cannot be created or fails verification.
+ */
+public class BackupException extends Exception {
+    public BackupException(String message) {
+        super(message);
+    }
+
+    public BackupException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,14 @@
+package hr.tvz.java.freelance.freelancemanagementtool.exception;
+
+/**
+ * A checked exception thrown when data cannot be written to the database.
+ */
+public class DatabaseWriteException extends Exception {
+    public DatabaseWriteException(String message) {
+        super(message);
+    }
+
+    public DatabaseWriteException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,10 @@
+package hr.tvz.java.freelance.freelancemanagementtool.exception;
+
+/**
+ * A checked exception thrown when a login attempt is rejected because of too many recent attempts.
+ */
+public class LoginThrottledException extends Exception {
+    public LoginThrottledException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,10 @@
+package hr.tvz.java.freelance.freelancemanagementtool.exception;
+
+/**
+ * A checked exception thrown when the command line of a headless command is invalid.
+ */
+public class UsageException extends Exception {
+    public UsageException(String message) {
+        super(message);
+    }
+}
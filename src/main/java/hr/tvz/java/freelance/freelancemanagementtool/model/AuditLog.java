@@ -12,11 +12,13 @@ import java.time.LocalDateTime;
  * @param entityName The name of the entity that was changed (e.g., "Project").
  * @param oldValue The state of the data before the change.
  * @param newValue The state of the data after the change.
+ * @param userId The ID of the user who made the change, null for entries written before it was recorded.
  */
 public record AuditLog(
         LocalDateTime changedAt,
         UserRole userRole,
         String entityName,
         String oldValue,
-        String newValue) implements Serializable {
+        String newValue,
+        Long userId) implements Serializable {
 }
\ No newline at end of file
@@ -6,10 +6,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.*;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -44,10 +47,51 @@ public class AuditLogRepository {
         logger.debug("Writing new audit log to file: {}", newLog);
         List<AuditLog> logs = readAll();
         logs.add(newLog);
+        writeAll(logs);
+        logger.info("Successfully wrote audit log entry for entity: {}", newLog.entityName());
+    }
+
+    /**
+     * Removes all audit log entries older than the cutoff and rewrites the file.
+     * The compaction runs on the writer thread after all pending writes, and the caller waits for it.
+     *
+     * @param cutoff Entries changed before this time are removed
+     * @return Number of removed entries
+     */
+    public int compact(LocalDateTime cutoff) {
+        Future<Integer> result = executor.submit(() -> removeEntriesBefore(cutoff));
+        try {
+            return result.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof DataSerializationException serializationException) {
+                throw serializationException;
+            }
+            throw new DataSerializationException("Failed to compact audit log.", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DataSerializationException("Audit log compaction was interrupted.", e);
+        }
+    }
+
+    private synchronized int removeEntriesBefore(LocalDateTime cutoff) {
+        List<AuditLog> logs = readAll();
+        List<AuditLog> kept = new ArrayList<>();
+        for (AuditLog log : logs) {
+            if (log.changedAt() == null || !log.changedAt().isBefore(cutoff)) {
+                kept.add(log);
+            }
+        }
+        int removed = logs.size() - kept.size();
+        if (removed > 0) {
+            writeAll(kept);
+        }
+        logger.info("Compacted audit log, removed {} entries older than {}.", removed, cutoff);
+        return removed;
+    }
 
+    private void writeAll(List<AuditLog> logs) {
         try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(AUDIT_LOG_FILE))) {
             oos.writeObject(logs);
-            logger.info("Successfully wrote audit log entry for entity: {}", newLog.entityName());
         } catch (IOException e) {
             throw new DataSerializationException("Failed to write audit log.", e);
         }
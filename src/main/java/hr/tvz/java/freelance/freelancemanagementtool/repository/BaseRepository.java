@@ -1,17 +1,39 @@
 package hr.tvz.java.freelance.freelancemanagementtool.repository;
 
+import hr.tvz.java.freelance.freelancemanagementtool.database.DatabaseConnection;
+import hr.tvz.java.freelance.freelancemanagementtool.event.EntityChange;
+import hr.tvz.java.freelance.freelancemanagementtool.event.EntityEventBus;
 import hr.tvz.java.freelance.freelancemanagementtool.exception.DatabaseReadException;
+import hr.tvz.java.freelance.freelancemanagementtool.exception.DatabaseWriteException;
 import hr.tvz.java.freelance.freelancemanagementtool.model.AuditLog;
 import hr.tvz.java.freelance.freelancemanagementtool.model.Entity;
+import hr.tvz.java.freelance.freelancemanagementtool.session.Session;
 import hr.tvz.java.freelance.freelancemanagementtool.session.SessionManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * An abstract base class for repositories to reduce boilerplate code for auditing.
  * It provides a shared logger instance and an AuditLogRepository instance.
+ * Successful writes are also published to the {@link EntityEventBus},
+ * whichever repository instance made them.
+ * <p>
+ * Every row carries the database time of its last change and every delete leaves a tombstone,
+ * so changes made by other application instances can be read incrementally with
+ * {@link #findChangesSince(LocalDateTime)}. The versions and deletions written or already read by this
+ * instance are remembered, so only changes that are new to it are returned and applied to its caches.
  *
  * @param <T> The entity type the repository manages.
  */
@@ -19,6 +41,15 @@ public abstract class BaseRepository<T extends Entity> implements CrudRepository
 
     protected final Logger logger = LoggerFactory.getLogger(getClass());
     protected final AuditLogRepository auditLogRepository = new AuditLogRepository();
+    protected final TombstoneRepository tombstoneRepository = new TombstoneRepository();
+
+    /** Generated key columns requested by inserts, the new ID and the version of the row. */
+    protected static final String[] INSERTED_KEYS = {"ID", "UPDATED_AT"};
+    /** Generated key columns requested by updates, the new version of the row. */
+    protected static final String[] UPDATED_KEYS = {"UPDATED_AT"};
+
+    private static final Map<String, Map<Long, LocalDateTime>> KNOWN_VERSIONS = new ConcurrentHashMap<>();
+    private static final Map<String, Map<Long, LocalDateTime>> KNOWN_DELETIONS = new ConcurrentHashMap<>();
 
     /**
      * Provides the name of the entity for audit logging purposes.
@@ -26,6 +57,118 @@ public abstract class BaseRepository<T extends Entity> implements CrudRepository
      */
     protected abstract String getEntityName();
 
+    /**
+     * Finds the entities inserted or updated after a point in time, by any application instance.
+     * @param since Exclusive lower bound of the change time, in database time.
+     * @return The changed entities with their versions.
+     * @throws DatabaseReadException if the entities cannot be read.
+     */
+    protected abstract List<VersionedEntity<T>> findChangedSince(LocalDateTime since) throws DatabaseReadException;
+
+    /**
+     * Applies changes made by other application instances to the caches of the repository.
+     * Only called with changes this instance did not know yet. The default does nothing.
+     * @param changed The entities inserted or updated by other instances.
+     * @param deletedIds The IDs of the entities deleted by other instances.
+     */
+    protected void onRemoteChanges(List<T> changed, List<Long> deletedIds) {
+    }
+
+    /**
+     * Finds the changes and deletions made after a point in time that this instance does not know yet.
+     * Versions written by this instance and versions returned by an earlier call are skipped, so reading
+     * an overlapping period again returns only what is new. New changes are applied to the caches.
+     * @param since Exclusive lower bound of the change time, in database time.
+     * @return The new changes and the newest change time read.
+     * @throws DatabaseReadException if the changes cannot be read.
+     */
+    public ChangeSet<T> findChangesSince(LocalDateTime since) throws DatabaseReadException {
+        LocalDateTime newest = since;
+        List<T> changed = new ArrayList<>();
+        for (VersionedEntity<T> versioned : findChangedSince(since)) {
+            if (markKnown(knownVersions(), versioned.entity().getId(), versioned.version())) {
+                changed.add(versioned.entity());
+            }
+            newest = versioned.version().isAfter(newest) ? versioned.version() : newest;
+        }
+        List<Long> deletedIds = new ArrayList<>();
+        for (Map.Entry<Long, LocalDateTime> deleted : tombstoneRepository.findDeletedSince(getEntityName(), since).entrySet()) {
+            if (markKnown(knownDeletions(), deleted.getKey(), deleted.getValue())) {
+                deletedIds.add(deleted.getKey());
+            }
+            newest = deleted.getValue().isAfter(newest) ? deleted.getValue() : newest;
+        }
+        ChangeSet<T> changeSet = new ChangeSet<>(changed, deletedIds, newest);
+        if (!changeSet.isEmpty()) {
+            onRemoteChanges(changed, deletedIds);
+        }
+        return changeSet;
+    }
+
+    /**
+     * Forgets the known versions and deletions older than the cutoff, which can no longer be read again as changes.
+     * @param cutoff Versions before this time are forgotten.
+     */
+    public void forgetVersionsBefore(LocalDateTime cutoff) {
+        knownVersions().values().removeIf(version -> version.isBefore(cutoff));
+        knownDeletions().values().removeIf(deletedAt -> deletedAt.isBefore(cutoff));
+    }
+
+    private static boolean markKnown(Map<Long, LocalDateTime> known, long id, LocalDateTime version) {
+        return !version.equals(known.put(id, version));
+    }
+
+    /**
+     * Remembers the version of a row written by this instance, read from the generated keys of the write.
+     * @param id The ID of the written entity.
+     * @param generatedKeys Generated keys holding the UPDATED_AT column.
+     * @throws SQLException if the version cannot be read.
+     */
+    protected void recordWrittenVersion(long id, ResultSet generatedKeys) throws SQLException {
+        knownVersions().put(id, generatedKeys.getTimestamp("updated_at").toLocalDateTime());
+    }
+
+    /**
+     * Deletes an entity and leaves its tombstone in one transaction, so other instances always learn
+     * about a delete that happened, and a delete whose tombstone cannot be written is rolled back.
+     * @param deleteSql DELETE statement with the ID as its only parameter.
+     * @param id The ID of the entity to delete.
+     * @return true if the entity was deleted, false if it did not exist.
+     * @throws DatabaseWriteException if the delete or the tombstone fails; nothing is deleted then.
+     */
+    protected boolean deleteWithTombstone(String deleteSql, long id) throws DatabaseWriteException {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(deleteSql)) {
+                stmt.setLong(1, id);
+                if (stmt.executeUpdate() == 0) {
+                    conn.rollback();
+                    return false;
+                }
+                LocalDateTime deletedAt = tombstoneRepository.markDeleted(conn, getEntityName(), id);
+                conn.commit();
+                knownVersions().remove(id);
+                knownDeletions().put(id, deletedAt);
+                return true;
+            } catch (SQLException | DatabaseWriteException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException | IOException e) {
+            throw new DatabaseWriteException("Failed to delete " + getEntityName() + " ID " + id + ".", e);
+        }
+    }
+
+    private Map<Long, LocalDateTime> knownVersions() {
+        return KNOWN_VERSIONS.computeIfAbsent(getEntityName(), name -> new ConcurrentHashMap<>());
+    }
+
+    private Map<Long, LocalDateTime> knownDeletions() {
+        return KNOWN_DELETIONS.computeIfAbsent(getEntityName(), name -> new ConcurrentHashMap<>());
+    }
+
     /**
      * Helper method to safely retrieve the old state of an entity for auditing.
      * @param id The ID of the entity to find.
@@ -40,13 +183,42 @@ public abstract class BaseRepository<T extends Entity> implements CrudRepository
         }
     }
 
+    /**
+     * Helper method to read the current state of an entity before it is deleted.
+     * @param id The ID of the entity to find.
+     * @return The entity, or empty if it does not exist or could not be read.
+     */
+    protected Optional<T> findExisting(Long id) {
+        try {
+            return findById(id);
+        } catch (DatabaseReadException e) {
+            logger.warn("Could not retrieve old state for {} ID {} for audit. Log will be incomplete.", getEntityName(), id, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Publishes a written change to the event bus. Subscribers are notified asynchronously,
+     * so this never delays or fails the write itself.
+     * @param type Kind of the change.
+     * @param entity The changed entity.
+     */
+    protected void publishChange(EntityChange.Type type, T entity) {
+        EntityEventBus.getInstance().publish(new EntityChange<>(type, entity));
+    }
+
     /**
      * Centralized method for creating and saving an audit log entry.
+     * The session is captured on the calling thread, so the entry is attributed to the
+     * user of the request even though it is written asynchronously.
      * @param oldValue The old value of the entity as a string.
      * @param newValue The new value of the entity as a string.
      */
     protected void logAudit(String oldValue, String newValue) {
-        AuditLog log = new AuditLog(LocalDateTime.now(), SessionManager.getCurrentUserRole(), getEntityName(), oldValue, newValue);
+        Session session = SessionManager.getCurrentSession();
+        AuditLog log = new AuditLog(LocalDateTime.now(),
+                session != null ? session.getRole() : null, getEntityName(), oldValue, newValue,
+                session != null ? session.getUserId() : null);
         auditLogRepository.save(log);
         logger.info("Audit log created for {} action.", getEntityName());
     }
@@ -0,0 +1,27 @@
+package hr.tvz.java.freelance.freelancemanagementtool.repository;
+
+import hr.tvz.java.freelance.freelancemanagementtool.model.Entity;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * The changes of one entity type read since a point in time that this instance did not know yet.
+ *
+ * @param changed Entities inserted or updated by other instances, oldest change first
+ * @param deletedIds IDs of the entities deleted by other instances
+ * @param newestVersion Newest change or deletion time read, including the already known ones,
+ *                      or the start of the read if nothing was found
+ * @param <T> The entity type
+ */
+public record ChangeSet<T extends Entity>(List<T> changed, List<Long> deletedIds, LocalDateTime newestVersion) {
+
+    /**
+     * Checks whether the change set holds no new changes
+     *
+     * @return true if nothing was changed or deleted
+     */
+    public boolean isEmpty() {
+        return changed.isEmpty() && deletedIds.isEmpty();
+    }
+}
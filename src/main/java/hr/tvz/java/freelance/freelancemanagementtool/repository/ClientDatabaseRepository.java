@@ -1,14 +1,24 @@
 package hr.tvz.java.freelance.freelancemanagementtool.repository;
 
 import hr.tvz.java.freelance.freelancemanagementtool.database.DatabaseConnection;
+import hr.tvz.java.freelance.freelancemanagementtool.event.EntityChange;
 import hr.tvz.java.freelance.freelancemanagementtool.exception.DatabaseReadException;
+import hr.tvz.java.freelance.freelancemanagementtool.exception.DatabaseWriteException;
 import hr.tvz.java.freelance.freelancemanagementtool.model.Client;
+import hr.tvz.java.freelance.freelancemanagementtool.util.AppProperties;
+import hr.tvz.java.freelance.freelancemanagementtool.util.SingleFlight;
+import hr.tvz.java.freelance.freelancemanagementtool.util.TrigramIndex;
 
 import java.io.IOException;
 import java.sql.*;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Implements the CrudRepository for Client entities.
@@ -16,6 +26,11 @@ import java.util.Optional;
  */
 public class ClientDatabaseRepository extends BaseRepository<Client> {
 
+    private static final TrigramIndex NAME_INDEX = new TrigramIndex();
+    private static final String FIND_ALL_KEY = "findAll";
+    private static final SingleFlight<String, List<Client>> FIND_ALL =
+            new SingleFlight<>(Duration.ofMillis(Math.max(0, AppProperties.getLong("repository.findAllTtlMillis", 1000))));
+
     /**
      * Overrides the base repository function and returns "Client" as the entity name
      *
@@ -43,14 +58,48 @@ public class ClientDatabaseRepository extends BaseRepository<Client> {
     }
 
     /**
-     * Finds all clients
+     * Copies a client, so callers sharing a query result can modify their clients
+     *
+     * @param client The client to copy
+     * @return A new client object with the same values
+     */
+    private static Client copyOf(Client client) {
+        return new Client(client.getId(), client.getName(), client.getEmail(), client.getContactPerson());
+    }
+
+    /**
+     * Finds all clients. Concurrent calls share one query, and its result is reused for a short time
+     * until the next write; every caller receives its own copies of the clients.
      *
      * @return List of all clients
      * @throws DatabaseReadException Custom database exception
      */
     @Override
     public List<Client> findAll() throws DatabaseReadException {
+        return FIND_ALL.execute(FIND_ALL_KEY, this::loadAll, DatabaseReadException.class).stream()
+                .map(ClientDatabaseRepository::copyOf)
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    /**
+     * Gets the counters of the shared {@link #findAll()} queries
+     *
+     * @return Counters snapshot
+     */
+    public static SingleFlight.Stats getFindAllStats() {
+        return FIND_ALL.getStats();
+    }
+
+    /**
+     * Reads all clients from the database and rebuilds the name index,
+     * keeping the index changes of writes that finished while the rows were read
+     *
+     * @return List of all clients
+     * @throws DatabaseReadException Custom database exception
+     */
+    private List<Client> loadAll() throws DatabaseReadException {
         List<Client> clients = new ArrayList<>();
+        long indexVersion = NAME_INDEX.getVersion();
         String sql = "SELECT id, name, email, contact_person FROM CLIENTS ORDER BY name ASC";
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql);
@@ -64,9 +113,92 @@ public class ClientDatabaseRepository extends BaseRepository<Client> {
             String errorMessage = "Failed to fetch all clients from database.";
             throw new DatabaseReadException(errorMessage, e);
         }
+        NAME_INDEX.rebuild(clients.stream().collect(Collectors.toMap(Client::getId, Client::getName)), indexVersion);
+        return clients;
+    }
+
+    /**
+     * Finds the IDs of all clients whose name contains the query, ignoring case and accents.
+     * The in-memory name index is rebuilt by {@link #findAll()} and kept up to date by the write operations.
+     *
+     * @param query Part of the name to search for
+     * @return IDs of the matching clients, or empty if the query is blank
+     */
+    public Optional<Set<Long>> findIdsByName(String query) {
+        return NAME_INDEX.search(query);
+    }
+
+    /**
+     * Finds the clients whose name starts with the prefix, ignoring case, in name order.
+     * The query uses the index on the lower-case name column, so only the returned rows are read.
+     *
+     * @param prefix Start of the name
+     * @param limit Maximum number of clients to return
+     * @return The first matching clients
+     * @throws DatabaseReadException Custom database exception
+     */
+    public List<Client> findByNamePrefix(String prefix, int limit) throws DatabaseReadException {
+        List<Client> clients = new ArrayList<>();
+        String sql = "SELECT id, name, email, contact_person FROM CLIENTS WHERE name_lower LIKE ? ESCAPE '\\' ORDER BY name_lower LIMIT ?";
+        String pattern = prefix.toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_") + "%";
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, pattern);
+            stmt.setInt(2, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    clients.add(mapResultSetToEntity(rs));
+                }
+            }
+        } catch (SQLException | IOException e) {
+            throw new DatabaseReadException("Failed to search clients by name prefix: " + prefix, e);
+        }
         return clients;
     }
 
+    /**
+     * Finds the clients inserted or updated after a point in time, oldest change first.
+     * The query is served by the index on the change time.
+     *
+     * @param since Exclusive lower bound of the change time, in database time
+     * @return The changed clients with their versions
+     * @throws DatabaseReadException Custom database exception
+     */
+    @Override
+    protected List<VersionedEntity<Client>> findChangedSince(LocalDateTime since) throws DatabaseReadException {
+        List<VersionedEntity<Client>> changed = new ArrayList<>();
+        String sql = "SELECT id, name, email, contact_person, updated_at FROM CLIENTS WHERE updated_at > ? ORDER BY updated_at";
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setTimestamp(1, Timestamp.valueOf(since));
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    changed.add(new VersionedEntity<>(mapResultSetToEntity(rs), rs.getTimestamp("updated_at").toLocalDateTime()));
+                }
+            }
+        } catch (SQLException | IOException e) {
+            throw new DatabaseReadException("Failed to fetch clients changed since " + since + " from database.", e);
+        }
+        return changed;
+    }
+
+    /**
+     * Updates the name index with the clients changed and deleted by other instances
+     * and makes the next {@link #findAll()} read them.
+     *
+     * @param changed The clients inserted or updated by other instances
+     * @param deletedIds The IDs of the clients deleted by other instances
+     */
+    @Override
+    protected void onRemoteChanges(List<Client> changed, List<Long> deletedIds) {
+        changed.forEach(client -> NAME_INDEX.put(client.getId(), client.getName()));
+        deletedIds.forEach(NAME_INDEX::remove);
+        FIND_ALL.invalidate();
+    }
+
     /**
      * Find the client by ID
      *
@@ -96,13 +228,13 @@ public class ClientDatabaseRepository extends BaseRepository<Client> {
      * Saves the client to database
      *
      * @param client The entity to save.
-     * @return Client object
+     * @return The saved client, or empty if it could not be saved
      */
     @Override
-    public Client save(Client client) {
+    public Optional<Client> save(Client client) {
         String sql = "INSERT INTO CLIENTS (name, email, contact_person) VALUES (?, ?, ?)";
         try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+             PreparedStatement stmt = conn.prepareStatement(sql, INSERTED_KEYS)) {
             stmt.setString(1, client.getName());
             stmt.setString(2, client.getEmail());
             stmt.setString(3, client.getContactPerson());
@@ -110,56 +242,78 @@ public class ClientDatabaseRepository extends BaseRepository<Client> {
             try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
                 if (generatedKeys.next()) {
                     client.setId(generatedKeys.getLong(1));
+                    recordWrittenVersion(client.getId(), generatedKeys);
+                    NAME_INDEX.put(client.getId(), client.getName());
+                    FIND_ALL.invalidate();
                     logAudit("N/A", client.toString());
+                    publishChange(EntityChange.Type.CREATED, client);
+                    return Optional.of(client);
                 }
             }
+            logger.error("Saving client {} returned no ID.", client.getName());
         } catch (SQLException | IOException e) {
             logger.error("Failed to save client: {}", client.getName(), e);
         }
-        return client;
+        return Optional.empty();
     }
 
     /**
      * Updates the Client in the database
      *
      * @param client The entity with updated information.
-     * @return Client object
+     * @return The updated client, or empty if it could not be updated or no longer exists
      */
     @Override
-    public Client update(Client client) {
+    public Optional<Client> update(Client client) {
         String oldValue = findOldValue(client.getId());
         String sql = "UPDATE CLIENTS SET name = ?, email = ?, contact_person = ? WHERE id = ?";
         try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(sql, UPDATED_KEYS)) {
             stmt.setString(1, client.getName());
             stmt.setString(2, client.getEmail());
             stmt.setString(3, client.getContactPerson());
             stmt.setLong(4, client.getId());
-            stmt.executeUpdate();
+            if (stmt.executeUpdate() == 0) {
+                logger.warn("Client with ID {} was not updated, it no longer exists.", client.getId());
+                return Optional.empty();
+            }
+            try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                if (generatedKeys.next()) {
+                    recordWrittenVersion(client.getId(), generatedKeys);
+                }
+            }
+            NAME_INDEX.put(client.getId(), client.getName());
+            FIND_ALL.invalidate();
             logAudit(oldValue, client.toString());
+            publishChange(EntityChange.Type.UPDATED, client);
+            return Optional.of(client);
         } catch (SQLException | IOException e) {
             logger.error("Failed to update client with ID: {}", client.getId(), e);
         }
-        return client;
+        return Optional.empty();
     }
 
     /**
      * Deletes the client using his ID
      *
      * @param id The ID of the entity to delete.
+     * @return The deleted client, or empty if nothing was deleted
      */
     @Override
-    public void deleteById(Long id) {
-        String oldValue = findOldValue(id);
-        String sql = "DELETE FROM CLIENTS WHERE id = ?";
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setLong(1, id);
-            if (stmt.executeUpdate() > 0) {
+    public Optional<Client> deleteById(Long id) {
+        Optional<Client> deleted = findExisting(id);
+        String oldValue = deleted.map(Client::toString).orElse("N/A (not found)");
+        try {
+            if (deleteWithTombstone("DELETE FROM CLIENTS WHERE id = ?", id)) {
+                NAME_INDEX.remove(id);
+                FIND_ALL.invalidate();
                 logAudit(oldValue, "DELETED");
+                deleted.ifPresent(entity -> publishChange(EntityChange.Type.DELETED, entity));
+                return deleted;
             }
-        } catch (SQLException | IOException e) {
+        } catch (DatabaseWriteException e) {
             logger.error("Failed to delete client with ID: {}", id, e);
         }
+        return Optional.empty();
     }
 }
\ No newline at end of file
@@ -0,0 +1,397 @@
+package hr.tvz.java.freelance.freelancemanagementtool.repository;
+
+import hr.tvz.java.freelance.freelancemanagementtool.enums.UserRole;
+import hr.tvz.java.freelance.freelancemanagementtool.exception.ConfigurationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+
+/**
+ * A compact binary credential file with an on-disk hash index over usernames.
+ * <p>
+ * Layout: a fixed 64 byte header, a table of {@code slotCount} 8 byte slots holding record offsets
+ * (open addressing with linear probing, 0 meaning empty), followed by an append-only record area.
+ * Each record is {@code [int length][long id][short+bytes username][short+bytes hash][short+bytes role][int crc32]}.
+ * <p>
+ * Writes are crash safe: a record is appended and forced to disk before the slot pointing to it
+ * is changed, so an interrupted write only leaves an unreferenced record behind. Updates append
+ * a new record version and swap the slot. Reads go through a memory mapping of the file.
+ */
+public final class CredentialStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(CredentialStore.class);
+    private static final int MAGIC = 0x46435244;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 64;
+    private static final int SLOT_SIZE = Long.BYTES;
+    private static final int INITIAL_SLOT_COUNT = 64;
+    private static final int HEADER_SLOT_COUNT_OFFSET = 8;
+    private static final int HEADER_RECORD_COUNT_OFFSET = 16;
+
+    /**
+     * A single credential entry.
+     *
+     * @param id The user's ID.
+     * @param username The user's username.
+     * @param hash The user's BCrypt password hash.
+     * @param role The user's role.
+     */
+    public record Credential(long id, String username, String hash, UserRole role) {}
+
+    private final Path path;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private FileChannel channel;
+    private MappedByteBuffer mapped;
+    private int slotCount;
+    private long recordCount;
+
+    private CredentialStore(Path path) {
+        this.path = path;
+    }
+
+    /**
+     * Opens the credential file, creating an empty one if it does not exist.
+     *
+     * @param path Location of the credential file
+     * @return The opened store
+     */
+    public static CredentialStore open(Path path) {
+        CredentialStore store = new CredentialStore(path);
+        try {
+            if (!Files.exists(path)) {
+                writeNewFileAtomically(path, INITIAL_SLOT_COUNT, List.of());
+            }
+            store.openChannel();
+        } catch (IOException e) {
+            throw new ConfigurationException("Credential store " + path + " could not be opened.", e);
+        }
+        return store;
+    }
+
+    /**
+     * Converts a legacy users text file (id, username, hash and role lines separated by "--")
+     * into a new credential file. The file is written under a temporary name and moved into place,
+     * so a failed conversion never leaves a partial credential file that would be opened on the next start.
+     *
+     * @param textFile The legacy users file
+     * @param target Location of the credential file to create
+     * @return Number of converted users
+     */
+    public static int convertTextFile(Path textFile, Path target) {
+        try {
+            List<Credential> credentials = new ArrayList<>();
+            String[] fields = new String[4];
+            int fieldCount = 0;
+            for (String line : Files.readAllLines(textFile)) {
+                if (line.equals("--")) {
+                    continue;
+                }
+                fields[fieldCount++] = line;
+                if (fieldCount == fields.length) {
+                    credentials.add(new Credential(Long.parseLong(fields[0]), fields[1], fields[2], UserRole.valueOf(fields[3])));
+                    fieldCount = 0;
+                }
+            }
+            if (fieldCount != 0) {
+                throw new ConfigurationException("User data file is corrupted.", null);
+            }
+
+            int slots = INITIAL_SLOT_COUNT;
+            while (credentials.size() * 2 >= slots) {
+                slots <<= 1;
+            }
+            writeNewFileAtomically(target, slots, credentials);
+            logger.info("Converted {} users from {} to {}", credentials.size(), textFile, target);
+            return credentials.size();
+        } catch (IOException e) {
+            throw new ConfigurationException("User data file is missing or unreadable.", e);
+        }
+    }
+
+    /**
+     * Finds the credentials of a user.
+     *
+     * @param username The username to search for.
+     * @return An Optional containing the credentials if found.
+     */
+    public Optional<Credential> find(String username) {
+        lock.readLock().lock();
+        try {
+            int slot = findSlot(username);
+            long offset = readSlot(slot);
+            return offset == 0 ? Optional.empty() : Optional.ofNullable(readRecord(offset));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Inserts new credentials or replaces the existing credentials of the same username.
+     *
+     * @param credential The credentials to store.
+     */
+    public void put(Credential credential) {
+        putAll(List.of(credential));
+    }
+
+    /**
+     * Inserts or replaces several credentials with a single append and a single disk sync
+     * for the record area.
+     *
+     * @param credentials The credentials to store.
+     */
+    public void putAll(List<Credential> credentials) {
+        if (credentials.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if ((recordCount + credentials.size()) * 2 >= slotCount) {
+                rebuild(recordCount + credentials.size());
+            }
+
+            long[] offsets = appendRecords(credentials);
+            remap();
+            for (int i = 0; i < credentials.size(); i++) {
+                int slot = findSlot(credentials.get(i).username());
+                if (readSlot(slot) == 0) {
+                    recordCount++;
+                }
+                writeLong(HEADER_SIZE + (long) slot * SLOT_SIZE, offsets[i]);
+            }
+            writeLong(HEADER_RECORD_COUNT_OFFSET, recordCount);
+            channel.force(false);
+            remap();
+        } catch (IOException e) {
+            throw new ConfigurationException("Credential store " + path + " could not be written.", e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the current credentials of every user.
+     *
+     * @return A list of all credentials.
+     */
+    public List<Credential> findAll() {
+        lock.readLock().lock();
+        try {
+            return readAllLive();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void openChannel() throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        remap();
+        if (mapped.capacity() < HEADER_SIZE || mapped.getInt(0) != MAGIC || mapped.getInt(4) != VERSION) {
+            throw new IOException("Unrecognized credential file format.");
+        }
+        slotCount = mapped.getInt(HEADER_SLOT_COUNT_OFFSET);
+        recordCount = mapped.getLong(HEADER_RECORD_COUNT_OFFSET);
+    }
+
+    private void remap() throws IOException {
+        mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    }
+
+    /**
+     * Finds the slot holding the given username, or the empty slot where it would be inserted.
+     */
+    private int findSlot(String username) {
+        int mask = slotCount - 1;
+        int slot = spread(username.hashCode()) & mask;
+        while (true) {
+            long offset = readSlot(slot);
+            if (offset == 0) {
+                return slot;
+            }
+            Credential existing = readRecord(offset);
+            if (existing != null && existing.username().equals(username)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private long readSlot(int slot) {
+        return mapped.getLong(HEADER_SIZE + slot * SLOT_SIZE);
+    }
+
+    private Credential readRecord(long offset) {
+        if (offset + Integer.BYTES > mapped.capacity()) {
+            logger.warn("Credential record at offset {} lies beyond the end of {}", offset, path);
+            return null;
+        }
+        int position = (int) offset;
+        int length = mapped.getInt(position);
+        if (length <= 0 || position + Integer.BYTES + length + Integer.BYTES > mapped.capacity()) {
+            logger.warn("Credential record at offset {} in {} is truncated.", offset, path);
+            return null;
+        }
+        byte[] payload = new byte[length];
+        mapped.get(position + Integer.BYTES, payload);
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        if ((int) crc.getValue() != mapped.getInt(position + Integer.BYTES + length)) {
+            logger.warn("Credential record at offset {} in {} failed its checksum.", offset, path);
+            return null;
+        }
+        return decode(ByteBuffer.wrap(payload));
+    }
+
+    private long[] appendRecords(List<Credential> credentials) throws IOException {
+        long[] offsets = new long[credentials.size()];
+        long position = channel.size();
+        for (int i = 0; i < credentials.size(); i++) {
+            ByteBuffer record = encode(credentials.get(i));
+            offsets[i] = position;
+            while (record.hasRemaining()) {
+                position += channel.write(record, position);
+            }
+        }
+        channel.force(false);
+        return offsets;
+    }
+
+    private void writeLong(long position, long value) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES).putLong(value).flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position());
+        }
+    }
+
+    /**
+     * Rewrites the file with a larger slot table and only the current record versions,
+     * then atomically replaces the old file.
+     */
+    private void rebuild(long expectedRecords) throws IOException {
+        List<Credential> live = readAllLive();
+        int slots = slotCount;
+        while (expectedRecords * 2 >= slots) {
+            slots <<= 1;
+        }
+        Path temporary = path.resolveSibling(path.getFileName() + ".rebuild");
+        writeNewFile(temporary, slots, live);
+        channel.close();
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        openChannel();
+        logger.info("Rebuilt credential store {} with {} slots for {} users.", path, slots, live.size());
+    }
+
+    private List<Credential> readAllLive() {
+        List<Credential> live = new ArrayList<>();
+        for (int slot = 0; slot < slotCount; slot++) {
+            long offset = readSlot(slot);
+            if (offset != 0) {
+                Credential credential = readRecord(offset);
+                if (credential != null) {
+                    live.add(credential);
+                }
+            }
+        }
+        return live;
+    }
+
+    /**
+     * Writes a new credential file next to the target and moves it into place, so the target
+     * either does not exist or is complete.
+     */
+    private static void writeNewFileAtomically(Path target, int slots, List<Credential> credentials) throws IOException {
+        Path temporary = target.resolveSibling(target.getFileName() + ".new");
+        try {
+            writeNewFile(temporary, slots, credentials);
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    private static void writeNewFile(Path target, int slots, List<Credential> credentials) throws IOException {
+        Path parent = target.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        long recordAreaStart = HEADER_SIZE + (long) slots * SLOT_SIZE;
+        ByteBuffer index = ByteBuffer.allocate((int) recordAreaStart);
+        index.putInt(MAGIC).putInt(VERSION).putInt(slots).putInt(0).putLong(credentials.size());
+
+        List<ByteBuffer> records = new ArrayList<>();
+        long position = recordAreaStart;
+        for (Credential credential : credentials) {
+            ByteBuffer record = encode(credential);
+            int slot = spread(credential.username().hashCode()) & (slots - 1);
+            while (index.getLong(HEADER_SIZE + slot * SLOT_SIZE) != 0) {
+                slot = (slot + 1) & (slots - 1);
+            }
+            index.putLong(HEADER_SIZE + slot * SLOT_SIZE, position);
+            position += record.remaining();
+            records.add(record);
+        }
+        index.clear();
+
+        try (FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (index.hasRemaining()) {
+                out.write(index);
+            }
+            for (ByteBuffer record : records) {
+                while (record.hasRemaining()) {
+                    out.write(record);
+                }
+            }
+            out.force(true);
+        }
+    }
+
+    private static ByteBuffer encode(Credential credential) {
+        byte[] username = credential.username().getBytes(StandardCharsets.UTF_8);
+        byte[] hash = credential.hash().getBytes(StandardCharsets.US_ASCII);
+        byte[] role = credential.role().name().getBytes(StandardCharsets.US_ASCII);
+        int length = Long.BYTES + 3 * Short.BYTES + username.length + hash.length + role.length;
+
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + length + Integer.BYTES);
+        buffer.putInt(length)
+                .putLong(credential.id())
+                .putShort((short) username.length).put(username)
+                .putShort((short) hash.length).put(hash)
+                .putShort((short) role.length).put(role);
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), Integer.BYTES, length);
+        buffer.putInt((int) crc.getValue());
+        return buffer.flip();
+    }
+
+    private static Credential decode(ByteBuffer payload) {
+        long id = payload.getLong();
+        String username = readString(payload, StandardCharsets.UTF_8);
+        String hash = readString(payload, StandardCharsets.US_ASCII);
+        UserRole role = UserRole.valueOf(readString(payload, StandardCharsets.US_ASCII));
+        return new Credential(id, username, hash, role);
+    }
+
+    private static String readString(ByteBuffer buffer, java.nio.charset.Charset charset) {
+        byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+        buffer.get(bytes);
+        return new String(bytes, charset);
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -17,9 +17,9 @@ public interface CrudRepository<T extends Entity, I> {
      * Saves a given entity.
      *
      * @param entity The entity to save.
-     * @return The saved entity.
+     * @return The saved entity with its generated ID, or empty if it could not be saved.
      */
-    T save(T entity);
+    Optional<T> save(T entity);
 
     /**
      * Retrieves all entities.
@@ -42,14 +42,15 @@ public interface CrudRepository<T extends Entity, I> {
      * Deletes an entity by its ID.
      *
      * @param id The ID of the entity to delete.
+     * @return The deleted entity, or empty if nothing was deleted.
      */
-    void deleteById(I id);
+    Optional<T> deleteById(I id);
 
     /**
      * Updates a given entity.
      *
      * @param entity The entity with updated information.
-     * @return The updated entity.
+     * @return The updated entity, or empty if it could not be updated, e.g. because it no longer exists.
      */
-    T update(T entity);
+    Optional<T> update(T entity);
 }
\ No newline at end of file
@@ -1,16 +1,26 @@
 package hr.tvz.java.freelance.freelancemanagementtool.repository;
 
 import hr.tvz.java.freelance.freelancemanagementtool.database.DatabaseConnection;
+import hr.tvz.java.freelance.freelancemanagementtool.event.EntityChange;
 import hr.tvz.java.freelance.freelancemanagementtool.enums.ProjectStatus;
 import hr.tvz.java.freelance.freelancemanagementtool.exception.DatabaseReadException;
+import hr.tvz.java.freelance.freelancemanagementtool.exception.DatabaseWriteException;
 import hr.tvz.java.freelance.freelancemanagementtool.model.Project;
 import hr.tvz.java.freelance.freelancemanagementtool.session.SessionManager;
+import hr.tvz.java.freelance.freelancemanagementtool.util.AppProperties;
+import hr.tvz.java.freelance.freelancemanagementtool.util.SingleFlight;
+import hr.tvz.java.freelance.freelancemanagementtool.util.TrigramIndex;
 
 import java.io.IOException;
 import java.sql.*;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Implements the CrudRepository for Project entities.
@@ -18,6 +28,11 @@ import java.util.Optional;
  */
 public class ProjectDatabaseRepository extends BaseRepository<Project> {
 
+    private static final TrigramIndex NAME_INDEX = new TrigramIndex();
+    private static final String FIND_ALL_KEY = "findAll";
+    private static final SingleFlight<String, List<Project>> FIND_ALL =
+            new SingleFlight<>(Duration.ofMillis(Math.max(0, AppProperties.getLong("repository.findAllTtlMillis", 1000))));
+
     /**
      * Overrides the base repository function and returns "Client" as the entity name
      *
@@ -49,14 +64,57 @@ public class ProjectDatabaseRepository extends BaseRepository<Project> {
     }
 
     /**
-     * Finds all projects
+     * Copies a project, so callers sharing a query result can modify their projects
+     *
+     * @param project The project to copy
+     * @return A new project object with the same values
+     */
+    private static Project copyOf(Project project) {
+        return new Project.Builder(project.getId())
+                .withName(project.getName())
+                .withDescription(project.getDescription())
+                .withClientId(project.getClientId())
+                .withAssignedUserId(project.getAssignedUserId())
+                .withStartDate(project.getStartDate())
+                .withDeadline(project.getDeadline())
+                .withBudget(project.getBudget())
+                .withStatus(project.getStatus())
+                .build();
+    }
+
+    /**
+     * Finds all projects. Concurrent calls share one query, and its result is reused for a short time
+     * until the next write; every caller receives its own copies of the projects.
      *
      * @return List of all projects
      * @throws DatabaseReadException Custom database exception
      */
     @Override
     public List<Project> findAll() throws DatabaseReadException {
+        return FIND_ALL.execute(FIND_ALL_KEY, this::loadAll, DatabaseReadException.class).stream()
+                .map(ProjectDatabaseRepository::copyOf)
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    /**
+     * Gets the counters of the shared {@link #findAll()} queries
+     *
+     * @return Counters snapshot
+     */
+    public static SingleFlight.Stats getFindAllStats() {
+        return FIND_ALL.getStats();
+    }
+
+    /**
+     * Reads all projects from the database and rebuilds the name index,
+     * keeping the index changes of writes that finished while the rows were read
+     *
+     * @return List of all projects
+     * @throws DatabaseReadException Custom database exception
+     */
+    private List<Project> loadAll() throws DatabaseReadException {
         List<Project> projects = new ArrayList<>();
+        long indexVersion = NAME_INDEX.getVersion();
         String sql = "SELECT id, name, description, client_id, assigned_user_id, start_date, deadline, budget, status FROM PROJECTS";
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql);
@@ -69,9 +127,111 @@ public class ProjectDatabaseRepository extends BaseRepository<Project> {
             String errorMessage = "Failed to fetch all projects from database.";
             throw new DatabaseReadException(errorMessage, e);
         }
+        NAME_INDEX.rebuild(projects.stream().collect(Collectors.toMap(Project::getId, Project::getName)), indexVersion);
         return projects;
     }
 
+    /**
+     * Finds the IDs of all projects whose name contains the query, ignoring case and accents.
+     * The in-memory name index is rebuilt by {@link #findAll()} and kept up to date by the write operations.
+     *
+     * @param query Part of the name to search for
+     * @return IDs of the matching projects, or empty if the query is blank
+     */
+    public Optional<Set<Long>> findIdsByName(String query) {
+        return NAME_INDEX.search(query);
+    }
+
+    /**
+     * Finds the projects with a status whose deadline is on or after a date, earliest deadline first.
+     * The query is served by the index on status and deadline.
+     *
+     * @param status The project status
+     * @param from The earliest deadline to include
+     * @return The matching projects
+     * @throws DatabaseReadException Custom database exception
+     */
+    public List<Project> findByStatusDueFrom(ProjectStatus status, LocalDate from) throws DatabaseReadException {
+        return findByStatusAndDeadline(status, from, null);
+    }
+
+    /**
+     * Finds the projects with a status whose deadline is within a date range, earliest deadline first.
+     * The query is served by the index on status and deadline.
+     *
+     * @param status The project status
+     * @param from The earliest deadline to include
+     * @param to The latest deadline to include
+     * @return The matching projects
+     * @throws DatabaseReadException Custom database exception
+     */
+    public List<Project> findByStatusDueBetween(ProjectStatus status, LocalDate from, LocalDate to) throws DatabaseReadException {
+        return findByStatusAndDeadline(status, from, to);
+    }
+
+    private List<Project> findByStatusAndDeadline(ProjectStatus status, LocalDate from, LocalDate to) throws DatabaseReadException {
+        List<Project> projects = new ArrayList<>();
+        String sql = "SELECT id, name, description, client_id, assigned_user_id, start_date, deadline, budget, status FROM PROJECTS"
+                + " WHERE status = ? AND deadline >= ?" + (to != null ? " AND deadline <= ?" : "") + " ORDER BY deadline";
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, status.toString());
+            stmt.setDate(2, Date.valueOf(from));
+            if (to != null) {
+                stmt.setDate(3, Date.valueOf(to));
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    projects.add(mapResultSetToEntity(rs));
+                }
+            }
+        } catch (SQLException | IOException e) {
+            String errorMessage = "Failed to fetch " + status + " projects due from " + from + " from database.";
+            throw new DatabaseReadException(errorMessage, e);
+        }
+        return projects;
+    }
+
+    /**
+     * Finds the projects inserted or updated after a point in time, oldest change first.
+     * The query is served by the index on the change time.
+     *
+     * @param since Exclusive lower bound of the change time, in database time
+     * @return The changed projects with their versions
+     * @throws DatabaseReadException Custom database exception
+     */
+    @Override
+    protected List<VersionedEntity<Project>> findChangedSince(LocalDateTime since) throws DatabaseReadException {
+        List<VersionedEntity<Project>> changed = new ArrayList<>();
+        String sql = "SELECT id, name, description, client_id, assigned_user_id, start_date, deadline, budget, status, updated_at FROM PROJECTS WHERE updated_at > ? ORDER BY updated_at";
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setTimestamp(1, Timestamp.valueOf(since));
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    changed.add(new VersionedEntity<>(mapResultSetToEntity(rs), rs.getTimestamp("updated_at").toLocalDateTime()));
+                }
+            }
+        } catch (SQLException | IOException e) {
+            throw new DatabaseReadException("Failed to fetch projects changed since " + since + " from database.", e);
+        }
+        return changed;
+    }
+
+    /**
+     * Updates the name index with the projects changed and deleted by other instances
+     * and makes the next {@link #findAll()} read them.
+     *
+     * @param changed The projects inserted or updated by other instances
+     * @param deletedIds The IDs of the projects deleted by other instances
+     */
+    @Override
+    protected void onRemoteChanges(List<Project> changed, List<Long> deletedIds) {
+        changed.forEach(project -> NAME_INDEX.put(project.getId(), project.getName()));
+        deletedIds.forEach(NAME_INDEX::remove);
+        FIND_ALL.invalidate();
+    }
+
     /**
      * Find the project by ID
      *
@@ -101,13 +261,13 @@ public class ProjectDatabaseRepository extends BaseRepository<Project> {
      * Saves the project to database
      *
      * @param project The entity to save.
-     * @return Project object
+     * @return The saved project, or empty if it could not be saved
      */
     @Override
-    public Project save(Project project) {
+    public Optional<Project> save(Project project) {
         String sql = "INSERT INTO PROJECTS (name, description, client_id, assigned_user_id, start_date, deadline, budget, status) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
         try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+             PreparedStatement stmt = conn.prepareStatement(sql, INSERTED_KEYS)) {
             stmt.setString(1, project.getName());
             stmt.setString(2, project.getDescription());
             stmt.setLong(3, project.getClientId());
@@ -120,27 +280,33 @@ public class ProjectDatabaseRepository extends BaseRepository<Project> {
             try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
                 if (generatedKeys.next()) {
                     project.setId(generatedKeys.getLong(1));
+                    recordWrittenVersion(project.getId(), generatedKeys);
+                    NAME_INDEX.put(project.getId(), project.getName());
+                    FIND_ALL.invalidate();
                     logAudit("N/A", project.toString());
+                    publishChange(EntityChange.Type.CREATED, project);
+                    return Optional.of(project);
                 }
             }
+            logger.error("Saving project {} returned no ID.", project.getName());
         } catch (SQLException | IOException e) {
             logger.error("Failed to save project: {}", project.getName(), e);
         }
-        return project;
+        return Optional.empty();
     }
 
     /**
      * Updates the Project in the database
      *
      * @param project The entity with updated information.
-     * @return Project object
+     * @return The updated project, or empty if it could not be updated or no longer exists
      */
     @Override
-    public Project update(Project project) {
+    public Optional<Project> update(Project project) {
         String oldValue = findOldValue(project.getId());
         String sql = "UPDATE PROJECTS SET name = ?, description = ?, client_id = ?, start_date = ?, deadline = ?, budget = ?, status = ? WHERE id = ?";
         try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(sql, UPDATED_KEYS)) {
             stmt.setString(1, project.getName());
             stmt.setString(2, project.getDescription());
             stmt.setLong(3, project.getClientId());
@@ -149,31 +315,47 @@ public class ProjectDatabaseRepository extends BaseRepository<Project> {
             stmt.setBigDecimal(6, project.getBudget());
             stmt.setString(7, project.getStatus().toString());
             stmt.setLong(8, project.getId());
-            stmt.executeUpdate();
+            if (stmt.executeUpdate() == 0) {
+                logger.warn("Project with ID {} was not updated, it no longer exists.", project.getId());
+                return Optional.empty();
+            }
+            try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                if (generatedKeys.next()) {
+                    recordWrittenVersion(project.getId(), generatedKeys);
+                }
+            }
+            NAME_INDEX.put(project.getId(), project.getName());
+            FIND_ALL.invalidate();
             logAudit(oldValue, project.toString());
+            publishChange(EntityChange.Type.UPDATED, project);
+            return Optional.of(project);
         } catch (SQLException | IOException e) {
             logger.error("Failed to update project with ID: {}", project.getId(), e);
         }
-        return project;
+        return Optional.empty();
     }
 
     /**
      * Deletes the project using his ID
      *
      * @param id The ID of the entity to delete.
+     * @return The deleted project, or empty if nothing was deleted
      */
     @Override
-    public void deleteById(Long id) {
-        String oldValue = findOldValue(id);
-        String sql = "DELETE FROM PROJECTS WHERE id = ?";
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setLong(1, id);
-            if (stmt.executeUpdate() > 0) {
+    public Optional<Project> deleteById(Long id) {
+        Optional<Project> deleted = findExisting(id);
+        String oldValue = deleted.map(Project::toString).orElse("N/A (not found)");
+        try {
+            if (deleteWithTombstone("DELETE FROM PROJECTS WHERE id = ?", id)) {
+                NAME_INDEX.remove(id);
+                FIND_ALL.invalidate();
                 logAudit(oldValue, "DELETED");
+                deleted.ifPresent(entity -> publishChange(EntityChange.Type.DELETED, entity));
+                return deleted;
             }
-        } catch (SQLException | IOException e) {
+        } catch (DatabaseWriteException e) {
             logger.error("Failed to delete project with ID: {}", id, e);
         }
+        return Optional.empty();
     }
 }
\ No newline at end of file
@@ -0,0 +1,77 @@
+package hr.tvz.java.freelance.freelancemanagementtool.repository;
+
+import hr.tvz.java.freelance.freelancemanagementtool.database.DatabaseConnection;
+import hr.tvz.java.freelance.freelancemanagementtool.exception.DatabaseReadException;
+import hr.tvz.java.freelance.freelancemanagementtool.exception.DatabaseWriteException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.sql.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Stores which project deadlines the user was already reminded about, so reminders survive restarts.
+ * Each project has one row with the deadline it was reminded about and when; the row is removed
+ * together with the project.
+ */
+public class ProjectNotificationRepository {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProjectNotificationRepository.class);
+
+    /**
+     * Finds the deadline each project was last reminded about.
+     *
+     * @return Reminded deadlines by project ID
+     * @throws DatabaseReadException if the notification state cannot be read
+     */
+    public Map<Long, LocalDate> findNotifiedDeadlines() throws DatabaseReadException {
+        Map<Long, LocalDate> deadlines = new HashMap<>();
+        String sql = "SELECT project_id, deadline FROM PROJECT_NOTIFICATIONS";
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                deadlines.put(rs.getLong("project_id"), rs.getDate("deadline").toLocalDate());
+            }
+        } catch (SQLException | IOException e) {
+            throw new DatabaseReadException("Failed to read project notification state.", e);
+        }
+        return deadlines;
+    }
+
+    /**
+     * Records that the projects were reminded about their deadlines, in one batch.
+     *
+     * @param deadlinesByProjectId Reminded deadline of each project
+     * @param notifiedAt Time of the reminder
+     * @throws DatabaseWriteException if the notification state cannot be written
+     */
+    public void markNotified(Map<Long, LocalDate> deadlinesByProjectId, LocalDateTime notifiedAt) throws DatabaseWriteException {
+        String sql = "MERGE INTO PROJECT_NOTIFICATIONS (project_id, deadline, notified_at) KEY (project_id) VALUES (?, ?, ?)";
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                for (Map.Entry<Long, LocalDate> entry : deadlinesByProjectId.entrySet()) {
+                    stmt.setLong(1, entry.getKey());
+                    stmt.setDate(2, Date.valueOf(entry.getValue()));
+                    stmt.setTimestamp(3, Timestamp.valueOf(notifiedAt));
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+                conn.commit();
+                logger.debug("Recorded deadline notifications for {} project(s).", deadlinesByProjectId.size());
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException | IOException e) {
+            throw new DatabaseWriteException("Failed to record notifications for " + deadlinesByProjectId.size() + " project(s).", e);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package hr.tvz.java.freelance.freelancemanagementtool.repository;
+
+import hr.tvz.java.freelance.freelancemanagementtool.database.DatabaseConnection;
+import hr.tvz.java.freelance.freelancemanagementtool.exception.DatabaseReadException;
+import hr.tvz.java.freelance.freelancemanagementtool.exception.DatabaseWriteException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Remembers which entities were deleted and when, so other application instances working on the
+ * same database can remove them from their views. A deleted row leaves nothing behind to compare
+ * change timestamps with, so every delete writes a tombstone; old tombstones are pruned once every
+ * instance had the chance to see them.
+ */
+public class TombstoneRepository {
+
+    private static final Logger logger = LoggerFactory.getLogger(TombstoneRepository.class);
+
+    /**
+     * Records the deletion of an entity at the current database time, on the connection that deleted it.
+     *
+     * @param conn Connection the entity was deleted on, left open
+     * @param entityName Name of the entity type, e.g. "Client"
+     * @param id ID of the deleted entity
+     * @return The recorded deletion time, in database time
+     * @throws DatabaseWriteException if the tombstone cannot be written
+     */
+    public LocalDateTime markDeleted(Connection conn, String entityName, long id) throws DatabaseWriteException {
+        String mergeSql = "MERGE INTO ENTITY_TOMBSTONES (entity, entity_id, deleted_at) KEY (entity, entity_id) VALUES (?, ?, LOCALTIMESTAMP)";
+        String selectSql = "SELECT deleted_at FROM ENTITY_TOMBSTONES WHERE entity = ? AND entity_id = ?";
+        try (PreparedStatement merge = conn.prepareStatement(mergeSql);
+             PreparedStatement select = conn.prepareStatement(selectSql)) {
+            merge.setString(1, entityName);
+            merge.setLong(2, id);
+            merge.executeUpdate();
+            select.setString(1, entityName);
+            select.setLong(2, id);
+            try (ResultSet rs = select.executeQuery()) {
+                if (!rs.next()) {
+                    throw new SQLException("Tombstone of " + entityName + " ID " + id + " was not written.");
+                }
+                return rs.getTimestamp("deleted_at").toLocalDateTime();
+            }
+        } catch (SQLException e) {
+            throw new DatabaseWriteException("Failed to record the deletion of " + entityName + " ID " + id + ".", e);
+        }
+    }
+
+    /**
+     * Finds the entities of a type deleted after a point in time.
+     *
+     * @param entityName Name of the entity type
+     * @param since Exclusive lower bound of the deletion time, in database time
+     * @return Deletion time by entity ID
+     * @throws DatabaseReadException if the tombstones cannot be read
+     */
+    public Map<Long, LocalDateTime> findDeletedSince(String entityName, LocalDateTime since) throws DatabaseReadException {
+        Map<Long, LocalDateTime> deleted = new HashMap<>();
+        String sql = "SELECT entity_id, deleted_at FROM ENTITY_TOMBSTONES WHERE entity = ? AND deleted_at > ?";
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, entityName);
+            stmt.setTimestamp(2, Timestamp.valueOf(since));
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    deleted.put(rs.getLong("entity_id"), rs.getTimestamp("deleted_at").toLocalDateTime());
+                }
+            }
+        } catch (SQLException | IOException e) {
+            throw new DatabaseReadException("Failed to read deleted " + entityName + " entities.", e);
+        }
+        return deleted;
+    }
+
+    /**
+     * Removes the tombstones of deletions older than the cutoff.
+     *
+     * @param cutoff Tombstones with an older deletion time are removed
+     * @return Number of removed tombstones
+     * @throws DatabaseWriteException if the tombstones cannot be removed
+     */
+    public int prune(LocalDateTime cutoff) throws DatabaseWriteException {
+        String sql = "DELETE FROM ENTITY_TOMBSTONES WHERE deleted_at < ?";
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setTimestamp(1, Timestamp.valueOf(cutoff));
+            int removed = stmt.executeUpdate();
+            logger.debug("Pruned {} tombstone(s) older than {}.", removed, cutoff);
+            return removed;
+        } catch (SQLException | IOException e) {
+            throw new DatabaseWriteException("Failed to prune tombstones older than " + cutoff + ".", e);
+        }
+    }
+}
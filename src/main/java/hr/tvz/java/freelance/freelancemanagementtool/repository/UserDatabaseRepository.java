@@ -1,11 +1,12 @@
 package hr.tvz.java.freelance.freelancemanagementtool.repository;
 
-import at.favre.lib.crypto.bcrypt.BCrypt;
 import hr.tvz.java.freelance.freelancemanagementtool.database.DatabaseConnection;
 import hr.tvz.java.freelance.freelancemanagementtool.enums.UserRole;
 import hr.tvz.java.freelance.freelancemanagementtool.exception.DatabaseReadException;
+import hr.tvz.java.freelance.freelancemanagementtool.exception.DatabaseWriteException;
 import hr.tvz.java.freelance.freelancemanagementtool.model.User;
 import hr.tvz.java.freelance.freelancemanagementtool.util.Pair;
+import hr.tvz.java.freelance.freelancemanagementtool.util.PasswordHasher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -64,50 +65,78 @@ public class UserDatabaseRepository implements CrudRepository<User, Long> {
      * Saves the user to the database
      *
      * @param user The entity to save.
-     * @return User object
+     * @return The saved user, or empty if it could not be saved
      */
     @Override
-    public User save(User user) {
-        return saveAndReturnHashedPassword(user).getKey();
+    public Optional<User> save(User user) {
+        User saved = saveAndReturnHashedPassword(user).getKey();
+        return saved.getId() > 0 ? Optional.of(saved) : Optional.empty();
     }
 
     /**
      * Deletes the user using his ID
      *
      * @param id The ID of the entity to delete.
+     * @return The deleted user, or empty if nothing was deleted
      */
     @Override
-    public void deleteById(Long id) {
+    public Optional<User> deleteById(Long id) {
         if (id == 1L) {
             logger.warn("Attempted to delete the primary admin user (ID 1). Operation blocked.");
-            return;
+            return Optional.empty();
+        }
+        Optional<User> deleted;
+        try {
+            deleted = findById(id);
+        } catch (DatabaseReadException e) {
+            logger.error("Failed to read user with ID: {} before deletion", id, e);
+            return Optional.empty();
         }
         String sql = "DELETE FROM USERS WHERE id = ?";
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setLong(1, id);
-            stmt.executeUpdate();
-            logger.info("Deleted user with ID: {}", id);
+            if (stmt.executeUpdate() > 0) {
+                logger.info("Deleted user with ID: {}", id);
+                return deleted;
+            }
         } catch (SQLException | IOException e) {
             logger.error("Failed to delete user with ID: {}", id, e);
         }
+        return Optional.empty();
     }
 
     /**
-     * Minimal function to satisfy CRUD requirements
+     * Finds the user by ID
      *
      * @param id The ID of the entity to retrieve.
-     * @return Empty Optional
+     * @return Optional value of the user
+     * @throws DatabaseReadException Custom database exception
      */
-    @Override public Optional<User> findById(Long id) { return Optional.empty(); }
+    @Override
+    public Optional<User> findById(Long id) throws DatabaseReadException {
+        String sql = "SELECT id, username, hashed_password, role FROM USERS WHERE id = ?";
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setLong(1, id);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return Optional.of(mapResultSetToUser(rs));
+                }
+            }
+        } catch (SQLException | IOException e) {
+            throw new DatabaseReadException("Failed to find user by ID: " + id, e);
+        }
+        return Optional.empty();
+    }
 
     /**
      * Minimal function to satisfy CRUD requirements
      *
      * @param entity The entity with updated information.
-     * @return Null value
+     * @return Always empty, users are not updated through this method
      */
-    @Override public User update(User entity) { return null; }
+    @Override public Optional<User> update(User entity) { return Optional.empty(); }
 
     /**
      * Saves the user to database and returns the Pair object with user and hashed password
@@ -116,7 +145,7 @@ public class UserDatabaseRepository implements CrudRepository<User, Long> {
      * @return Pair with user as key and hashed password as value
      */
     public Pair<User, String> saveAndReturnHashedPassword(User user) {
-        String hashedPassword = BCrypt.withDefaults().hashToString(12, user.getHashedPassword().toCharArray());
+        String hashedPassword = PasswordHasher.hash(user.getHashedPassword());
         String sql = "INSERT INTO USERS (username, hashed_password, role) VALUES (?, ?, ?)";
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
@@ -137,4 +166,100 @@ public class UserDatabaseRepository implements CrudRepository<User, Long> {
         }
         return new Pair<>(user, hashedPassword);
     }
+
+    /**
+     * Replaces the stored password hash of a user, e.g. after the hashing cost changed.
+     *
+     * @param id ID of the user
+     * @param hashedPassword The new password hash
+     * @throws DatabaseWriteException if the hash could not be stored or the user no longer exists
+     */
+    public void updatePasswordHash(long id, String hashedPassword) throws DatabaseWriteException {
+        String sql = "UPDATE USERS SET hashed_password = ? WHERE id = ?";
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, hashedPassword);
+            stmt.setLong(2, id);
+            if (stmt.executeUpdate() == 0) {
+                throw new DatabaseWriteException("User with ID " + id + " no longer exists, password hash not updated.");
+            }
+            logger.info("Updated password hash of user with ID: {}", id);
+        } catch (SQLException | IOException e) {
+            throw new DatabaseWriteException("Failed to update password hash of user with ID: " + id, e);
+        }
+    }
+
+    /**
+     * Inserts several users with already hashed passwords in a single batch and transaction.
+     * If any insert fails, the whole batch is rolled back and no user is saved.
+     *
+     * @param usersWithHashes Pairs of new users and their hashed passwords
+     * @return The saved users with their generated IDs, in the same order
+     * @throws DatabaseWriteException if the batch could not be saved
+     */
+    public List<User> saveAllWithHashes(List<Pair<User, String>> usersWithHashes) throws DatabaseWriteException {
+        String sql = "INSERT INTO USERS (username, hashed_password, role) VALUES (?, ?, ?)";
+        try (Connection conn = DatabaseConnection.openConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                for (Pair<User, String> entry : usersWithHashes) {
+                    stmt.setString(1, entry.getKey().getUsername());
+                    stmt.setString(2, entry.getValue());
+                    stmt.setString(3, entry.getKey().getRole().toString());
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+
+                List<User> saved = new ArrayList<>();
+                try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                    for (Pair<User, String> entry : usersWithHashes) {
+                        if (!generatedKeys.next()) {
+                            throw new SQLException("Creating users failed, not all IDs were obtained.");
+                        }
+                        User user = entry.getKey();
+                        user.setId(generatedKeys.getLong(1));
+                        saved.add(user);
+                    }
+                }
+                conn.commit();
+                logger.info("Saved {} new users in one batch.", saved.size());
+                return saved;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException | IOException e) {
+            throw new DatabaseWriteException("Failed to save " + usersWithHashes.size() + " users.", e);
+        }
+    }
+
+    /**
+     * Deletes several users in a single batch and transaction, e.g. to undo a batch saved by
+     * {@link #saveAllWithHashes(List)}. If any delete fails, no user is deleted.
+     *
+     * @param users The users to delete
+     * @throws DatabaseWriteException if the users could not be deleted
+     */
+    public void deleteAll(List<User> users) throws DatabaseWriteException {
+        String sql = "DELETE FROM USERS WHERE id = ?";
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                for (User user : users) {
+                    stmt.setLong(1, user.getId());
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+                conn.commit();
+                logger.info("Deleted {} users in one batch.", users.size());
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException | IOException e) {
+            throw new DatabaseWriteException("Failed to delete " + users.size() + " users.", e);
+        }
+    }
 }
\ No newline at end of file
@@ -2,32 +2,39 @@ package hr.tvz.java.freelance.freelancemanagementtool.repository;
 
 import at.favre.lib.crypto.bcrypt.BCrypt;
 import hr.tvz.java.freelance.freelancemanagementtool.enums.UserRole;
-import hr.tvz.java.freelance.freelancemanagementtool.exception.ConfigurationException;
+import hr.tvz.java.freelance.freelancemanagementtool.exception.DatabaseWriteException;
 import hr.tvz.java.freelance.freelancemanagementtool.exception.UserNotFoundException;
 import hr.tvz.java.freelance.freelancemanagementtool.model.User;
+import hr.tvz.java.freelance.freelancemanagementtool.repository.CredentialStore.Credential;
 import hr.tvz.java.freelance.freelancemanagementtool.util.Pair;
+import hr.tvz.java.freelance.freelancemanagementtool.util.PasswordHasher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardCopyOption;
 import java.util.List;
 
 /**
- * Handles user data operations, primarily for authentication from a text file.
+ * Handles user data operations, primarily for authentication from the binary credential file.
+ * On first use, an existing legacy users.txt file is converted into the credential file.
  */
 public class UserRepository {
 
     private static final Logger logger = LoggerFactory.getLogger(UserRepository.class);
-    private static final String USERS_FILE_PATH = "data/users.txt";
-    private static final int LINES_PER_RECORD = 4;
+    private static final Path CREDENTIALS_FILE_PATH = Path.of("data/credentials.db");
+    private static final Path LEGACY_USERS_FILE_PATH = Path.of("data/users.txt");
+
+    private final UserDatabaseRepository userDatabaseRepository = new UserDatabaseRepository();
 
     /**
-     * A record to temporarily hold user data read from the file.
+     * Lazily opened store shared by all repository instances.
      */
-    private record UserRecord(long id, String username, String hash, UserRole role) {}
+    private static final class StoreHolder {
+        private static final CredentialStore STORE = openStore();
+    }
 
     /**
      * Authenticates a user based on username and password.
@@ -35,14 +42,14 @@ public class UserRepository {
     public Pair<Long, UserRole> authenticate(String username, String password) throws UserNotFoundException {
         logger.info("Attempting to authenticate user: {}", username);
 
-        UserRecord userRecord = findUserByUsername(username)
+        Credential credential = StoreHolder.STORE.find(username)
                 .orElseThrow(() -> new UserNotFoundException("Invalid username or password."));
 
-        BCrypt.Result result = BCrypt.verifyer().verify(password.toCharArray(), userRecord.hash());
+        BCrypt.Result result = BCrypt.verifyer().verify(password.toCharArray(), credential.hash());
 
         if (result.verified) {
-            logger.info("User {} authenticated successfully as {}", username, userRecord.role());
-            return new Pair<>(userRecord.id(), userRecord.role());
+            logger.info("User {} authenticated successfully as {}", username, credential.role());
+            return new Pair<>(credential.id(), credential.role());
         } else {
             logger.warn("Authentication failed for user {}: Incorrect password.", username);
             throw new UserNotFoundException("Invalid username or password.");
@@ -50,55 +57,72 @@ public class UserRepository {
     }
 
     /**
-     * Finds a user record in the text file by their username.
+     * Stores a user's credentials, replacing any existing credentials with the same username.
      *
-     * @param username The username to search for.
-     * @return An Optional containing the UserRecord if found.
+     * @param user The saved user.
+     * @param hashedPassword The user's hashed password.
      */
-    private java.util.Optional<UserRecord> findUserByUsername(String username) {
-        try {
-            List<String> lines = Files.readAllLines(Path.of(USERS_FILE_PATH));
-            List<String> dataLines = lines.stream().filter(line -> !line.equals("--")).toList();
-
-            if (dataLines.size() % LINES_PER_RECORD != 0) {
-                throw new ConfigurationException("User data file is corrupted.", null);
-            }
+    public void saveCredentials(User user, String hashedPassword) {
+        StoreHolder.STORE.put(new Credential(user.getId(), user.getUsername(), hashedPassword, user.getRole()));
+        logger.info("Successfully stored credentials of user '{}' in {}", user.getUsername(), CREDENTIALS_FILE_PATH);
+    }
 
-            for (int i = 0; i < dataLines.size(); i += LINES_PER_RECORD) {
-                if (dataLines.get(i + 1).equals(username)) {
-                    UserRecord userRecordTemp = new UserRecord(
-                            Long.parseLong(dataLines.get(i)),
-                            dataLines.get(i + 1),
-                            dataLines.get(i + 2),
-                            UserRole.valueOf(dataLines.get(i + 3))
-                    );
-                    return java.util.Optional.of(userRecordTemp);
-                }
-            }
-        } catch (IOException e) {
-            throw new ConfigurationException("User data file is missing or unreadable.", e);
-        }
-        return java.util.Optional.empty();
+    /**
+     * Stores the credentials of several users with a single append to the credential file.
+     *
+     * @param usersWithHashes Pairs of saved users and their hashed passwords.
+     */
+    public void saveAllCredentials(List<Pair<User, String>> usersWithHashes) {
+        List<Credential> credentials = usersWithHashes.stream()
+                .map(entry -> new Credential(entry.getKey().getId(), entry.getKey().getUsername(), entry.getValue(), entry.getKey().getRole()))
+                .toList();
+        StoreHolder.STORE.putAll(credentials);
+        logger.info("Successfully stored credentials of {} users in {}", credentials.size(), CREDENTIALS_FILE_PATH);
     }
 
     /**
-     * Appends a new user's details to the users.txt file.
+     * Hashes an already verified password again if its stored hash uses a different cost than
+     * the current calibrated one, and stores the new hash in both the USERS table and the credential file.
+     * Nothing is rehashed before the cost is calibrated, and the credential file is only changed
+     * once the USERS table holds the new hash, so the two never disagree.
+     *
+     * @param username The username that was authenticated.
+     * @param password The verified plain text password.
      */
-    public synchronized void appendUserToTextFile(User user, String hashedPassword) {
+    public void rehashIfNeeded(String username, String password) {
+        if (!PasswordHasher.isCalibrated()) {
+            return;
+        }
+        Credential credential = StoreHolder.STORE.find(username).orElse(null);
+        if (credential == null || !PasswordHasher.needsRehash(credential.hash())) {
+            return;
+        }
+        String newHash = PasswordHasher.hash(password);
         try {
-            long fileSize = Files.exists(Path.of(USERS_FILE_PATH)) ? Files.size(Path.of(USERS_FILE_PATH)) : 0;
-            String userRecord = String.format("%d%n%s%n%s%n%s",
-                    user.getId(), user.getUsername(), hashedPassword, user.getRole());
+            userDatabaseRepository.updatePasswordHash(credential.id(), newHash);
+        } catch (DatabaseWriteException e) {
+            logger.error("Could not store the new password hash of user '{}', keeping the old one.", username, e);
+            return;
+        }
+        StoreHolder.STORE.put(new Credential(credential.id(), credential.username(), newHash, credential.role()));
+        logger.info("Rehashed password of user '{}' with cost {}.", username, PasswordHasher.getCost());
+    }
 
-            if (fileSize > 0) {
-                userRecord = "\n--\n" + userRecord;
+    /**
+     * Opens the credential file, converting the legacy text file once if the credential file does not exist yet.
+     *
+     * @return The opened credential store.
+     */
+    private static CredentialStore openStore() {
+        if (!Files.exists(CREDENTIALS_FILE_PATH) && Files.exists(LEGACY_USERS_FILE_PATH)) {
+            CredentialStore.convertTextFile(LEGACY_USERS_FILE_PATH, CREDENTIALS_FILE_PATH);
+            try {
+                Files.move(LEGACY_USERS_FILE_PATH, LEGACY_USERS_FILE_PATH.resolveSibling("users.txt.migrated"),
+                        StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                logger.warn("Converted {} but could not rename it. It will be ignored from now on.", LEGACY_USERS_FILE_PATH, e);
             }
-
-            Files.writeString(Path.of(USERS_FILE_PATH), userRecord,
-                    StandardOpenOption.APPEND, StandardOpenOption.CREATE);
-            logger.info("Successfully appended new user '{}' to {}", user.getUsername(), USERS_FILE_PATH);
-        } catch (IOException e) {
-            logger.error("Failed to write new user to text file.", e);
         }
+        return CredentialStore.open(CREDENTIALS_FILE_PATH);
     }
-}
\ No newline at end of file
+}
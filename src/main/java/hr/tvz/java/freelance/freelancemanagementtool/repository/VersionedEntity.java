@@ -0,0 +1,14 @@
+package hr.tvz.java.freelance.freelancemanagementtool.repository;
+
+import hr.tvz.java.freelance.freelancemanagementtool.model.Entity;
+
+import java.time.LocalDateTime;
+
+/**
+ * An entity read together with the database time of its last change.
+ *
+ * @param entity The entity
+ * @param version Database time of the last insert or update of the row
+ * @param <T> The entity type
+ */
+public record VersionedEntity<T extends Entity>(T entity, LocalDateTime version) {}
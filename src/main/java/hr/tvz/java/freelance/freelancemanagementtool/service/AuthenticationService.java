@@ -0,0 +1,101 @@
+package hr.tvz.java.freelance.freelancemanagementtool.service;
+
+import hr.tvz.java.freelance.freelancemanagementtool.enums.UserRole;
+import hr.tvz.java.freelance.freelancemanagementtool.exception.LoginThrottledException;
+import hr.tvz.java.freelance.freelancemanagementtool.exception.UserNotFoundException;
+import hr.tvz.java.freelance.freelancemanagementtool.repository.UserRepository;
+import hr.tvz.java.freelance.freelancemanagementtool.util.AppProperties;
+import hr.tvz.java.freelance.freelancemanagementtool.util.Pair;
+import hr.tvz.java.freelance.freelancemanagementtool.util.PasswordHasher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs password verification on a small, bounded worker pool so BCrypt never blocks the caller's thread.
+ * Attempts are throttled per username and globally before any hashing work is queued.
+ */
+public final class AuthenticationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuthenticationService.class);
+    private static final AuthenticationService INSTANCE = new AuthenticationService();
+
+    private final UserRepository userRepository = new UserRepository();
+    private final LoginThrottle throttle = new LoginThrottle();
+    private final ExecutorService verificationPool;
+
+    private AuthenticationService() {
+        int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        int queueSize = Math.max(1, AppProperties.getInt("login.maxQueuedAttempts", 16));
+        AtomicInteger threadNumber = new AtomicInteger();
+        verificationPool = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "auth-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        ((ThreadPoolExecutor) verificationPool).allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Gets the shared authentication service
+     *
+     * @return Authentication service instance
+     */
+    public static AuthenticationService getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Calibrates the BCrypt cost for this machine on the verification pool,
+     * so startup is not delayed by the benchmark.
+     */
+    public void startCalibration() {
+        verificationPool.execute(PasswordHasher::calibrate);
+    }
+
+    /**
+     * Verifies a user's password asynchronously.
+     * The returned future fails with {@link LoginThrottledException} if the attempt was throttled
+     * or the pool is saturated, and with {@link UserNotFoundException} if the credentials are wrong.
+     *
+     * @param username The username
+     * @param password The plain text password
+     * @return A future completed with the user's ID and role
+     */
+    public CompletableFuture<Pair<Long, UserRole>> authenticate(String username, String password) {
+        try {
+            throttle.checkAllowed(username);
+        } catch (LoginThrottledException e) {
+            logger.warn("Login attempt for user '{}' throttled: {}", username, e.getMessage());
+            return CompletableFuture.failedFuture(e);
+        }
+
+        CompletableFuture<Pair<Long, UserRole>> result = new CompletableFuture<>();
+        try {
+            verificationPool.execute(() -> {
+                try {
+                    Pair<Long, UserRole> userDetails = userRepository.authenticate(username, password);
+                    throttle.recordSuccess(username);
+                    result.complete(userDetails);
+                    userRepository.rehashIfNeeded(username, password);
+                } catch (UserNotFoundException e) {
+                    throttle.recordFailure(username);
+                    result.completeExceptionally(e);
+                } catch (RuntimeException e) {
+                    if (!result.completeExceptionally(e)) {
+                        logger.error("Failed to rehash the password of user '{}'.", username, e);
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            logger.warn("Login attempt for user '{}' rejected, verification queue is full.", username);
+            result.completeExceptionally(new LoginThrottledException("The server is busy. Please try again shortly."));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,427 @@
+package hr.tvz.java.freelance.freelancemanagementtool.service;
+
+import hr.tvz.java.freelance.freelancemanagementtool.database.DatabaseConnection;
+import hr.tvz.java.freelance.freelancemanagementtool.enums.JobPriority;
+import hr.tvz.java.freelance.freelancemanagementtool.exception.BackupException;
+import hr.tvz.java.freelance.freelancemanagementtool.util.AppProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Creates online backups while the application keeps running.
+ * The database is copied with H2's transactionally consistent {@code BACKUP TO} command,
+ * and every run keeps its own snapshot of the files in the data directory. Snapshots are incremental:
+ * a file is only copied when its size or modification time changed since the previous run, and is
+ * otherwise hard-linked to the previous run's copy, so an unchanged file takes no extra space and
+ * pruning or replacing one run never affects another. A file that changes while being copied is not kept.
+ * File copying is rate limited and runs as a maintenance job so interactive work is not starved.
+ */
+public class BackupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BackupService.class);
+    private static final String DATABASE_ARCHIVE = "freelanceDB.zip";
+    private static final String DATA_SNAPSHOT = "data";
+    private static final String MANIFEST_FILE = "manifest.properties";
+    private static final String H2_DATA_FILE_SUFFIX = ".mv.db";
+    private static final int COPY_CHUNK_SIZE = 64 * 1024;
+    private static final DateTimeFormatter RUN_NAME_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    private static final Pattern RUN_NAME_PATTERN = Pattern.compile("\\d{8}-\\d{6}");
+    private static final String JOB_NAME = "backup";
+
+    private final boolean enabled = AppProperties.getBoolean("backup.enabled", true);
+    private final Path backupRoot = Path.of(AppProperties.getString("backup.directory", "backups"));
+    private final Path dataDirectory = Path.of(AppProperties.getString("backup.dataDirectory", "data"));
+    private final long intervalMinutes = Math.max(1, AppProperties.getLong("backup.intervalMinutes", 60));
+    private final long maxBytesPerSecond = AppProperties.getLong("backup.maxBytesPerSecond", 4L * 1024 * 1024);
+    private final int keep = Math.max(1, AppProperties.getInt("backup.keep", 10));
+
+    private final String cron = AppProperties.getString("backup.cron", "");
+    private final Duration maxJitter = Duration.ofSeconds(Math.max(0, AppProperties.getLong("backup.jitterSeconds", 120)));
+
+    /**
+     * Creates a complete backup: a database archive and an incremental snapshot of the data files
+     * in a new run directory, a restore verification of that run and pruning of old runs.
+     *
+     * @return Path of the created database archive
+     * @throws BackupException if any step fails
+     */
+    public synchronized Path backup() throws BackupException {
+        long start = System.nanoTime();
+        Path runDirectory = backupRoot.resolve(LocalDateTime.now().format(RUN_NAME_FORMATTER));
+        Path archive = runDirectory.resolve(DATABASE_ARCHIVE);
+        try {
+            Files.createDirectories(runDirectory);
+            backupDatabase(archive);
+            int copiedFiles = snapshotDataFiles(runDirectory);
+            verify(archive);
+            pruneOldRuns();
+            logger.info("Backup {} finished in {} ms, {} data file(s) copied.",
+                    runDirectory, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), copiedFiles);
+            return archive;
+        } catch (IOException e) {
+            throw new BackupException("Backup to " + runDirectory + " failed.", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BackupException("Backup to " + runDirectory + " was interrupted.", e);
+        }
+    }
+
+    /**
+     * Checks that a backup can be restored. Every archive entry is read back (validating its CRC),
+     * the database is opened read-only from a temporary copy and every table is counted,
+     * and the data files in the snapshot of the same run are checked against the checksums in its manifest.
+     *
+     * @param archive Database archive created by {@link #backup()}
+     * @throws BackupException if the backup is incomplete or corrupted
+     */
+    public void verify(Path archive) throws BackupException {
+        Path restoreDirectory = null;
+        try {
+            restoreDirectory = Files.createTempDirectory("freelance-restore-check");
+            String databaseName = extractArchive(archive, restoreDirectory);
+            if (databaseName == null) {
+                throw new BackupException("Backup " + archive + " does not contain a database file.");
+            }
+            verifyDatabase(restoreDirectory.resolve(databaseName));
+            verifyDataSnapshot(archive.toAbsolutePath().getParent().resolve(DATA_SNAPSHOT));
+            logger.info("Backup {} verified successfully.", archive);
+        } catch (IOException | SQLException e) {
+            throw new BackupException("Backup " + archive + " failed verification.", e);
+        } finally {
+            if (restoreDirectory != null) {
+                deleteRecursively(restoreDirectory);
+            }
+        }
+    }
+
+    /**
+     * Schedules periodic backups as a maintenance job, if enabled in the settings.
+     * Backups run on the {@code backup.cron} schedule when it is set, otherwise every {@code backup.intervalMinutes}.
+     * An invalid {@code backup.cron} is logged and the interval is used instead.
+     */
+    public synchronized void start() {
+        if (!enabled) {
+            return;
+        }
+        JobTrigger trigger = JobTrigger.every(Duration.ofMinutes(intervalMinutes));
+        String schedule = "every " + intervalMinutes + " minute(s)";
+        if (!cron.isBlank()) {
+            try {
+                trigger = JobTrigger.cron(cron);
+                schedule = "at '" + cron + "'";
+            } catch (IllegalArgumentException e) {
+                logger.error("Invalid backup.cron '{}', backing up {} instead.", cron, schedule, e);
+            }
+        }
+        JobScheduler.getInstance().schedule(JOB_NAME, trigger, JobPriority.MAINTENANCE, maxJitter, this::runScheduledBackup);
+        logger.info("Scheduled online backups {} into {}", schedule, backupRoot.toAbsolutePath());
+    }
+
+    /**
+     * Stops periodic backups. A backup that is already running is allowed to finish.
+     */
+    public synchronized void shutdown() {
+        JobScheduler.getInstance().cancel(JOB_NAME);
+    }
+
+    private void runScheduledBackup() {
+        try {
+            backup();
+        } catch (BackupException e) {
+            logger.error("Scheduled backup failed.", e);
+        }
+    }
+
+    private void backupDatabase(Path archive) throws BackupException {
+        String target = archive.toAbsolutePath().toString().replace("'", "''");
+        try (Connection conn = DatabaseConnection.openConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("BACKUP TO '" + target + "'");
+        } catch (SQLException | IOException e) {
+            throw new BackupException("Database backup to " + archive + " failed.", e);
+        }
+    }
+
+    /**
+     * Creates the data file snapshot of a run. Files that did not change since the previous run are
+     * hard-linked to its snapshot, or copied from it where the file system has no hard links; changed files
+     * are copied from the data directory. A file that changes while being copied keeps its previous
+     * version, or is left out if it has none, and is copied again on the next run.
+     *
+     * @return Number of files copied from the data directory
+     */
+    private int snapshotDataFiles(Path runDirectory) throws IOException, InterruptedException {
+        if (!Files.isDirectory(dataDirectory)) {
+            return 0;
+        }
+        Path snapshot = runDirectory.resolve(DATA_SNAPSHOT);
+        Files.createDirectories(snapshot);
+        Path previousSnapshot = findPreviousSnapshot(runDirectory);
+        Properties previousManifest = previousSnapshot != null ? loadManifest(previousSnapshot) : new Properties();
+        Properties manifest = new Properties();
+
+        List<Path> files;
+        try (Stream<Path> stream = Files.list(dataDirectory)) {
+            files = stream.filter(Files::isRegularFile).toList();
+        }
+
+        int copied = 0;
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            String stamp = stampOf(file);
+            String previousStamp = previousManifest.getProperty(name + ".stamp");
+            boolean hasPrevious = previousStamp != null && Files.exists(previousSnapshot.resolve(name));
+            if (hasPrevious && stamp.equals(previousStamp)) {
+                linkOrCopy(previousSnapshot.resolve(name), snapshot.resolve(name));
+                copyManifestEntries(previousManifest, manifest, name);
+                continue;
+            }
+
+            Path partial = snapshot.resolve(name + ".part");
+            long checksum = copyThrottled(file, partial);
+            if (!stamp.equals(stampOf(file))) {
+                Files.deleteIfExists(partial);
+                if (hasPrevious) {
+                    logger.info("Data file {} changed during backup, keeping its previous version until the next run.", file);
+                    linkOrCopy(previousSnapshot.resolve(name), snapshot.resolve(name));
+                    copyManifestEntries(previousManifest, manifest, name);
+                } else {
+                    logger.info("Data file {} changed during backup, it will be copied on the next run.", file);
+                }
+                continue;
+            }
+            Files.move(partial, snapshot.resolve(name), StandardCopyOption.ATOMIC_MOVE);
+            manifest.setProperty(name + ".stamp", stamp);
+            manifest.setProperty(name + ".crc", Long.toString(checksum));
+            copied++;
+        }
+
+        storeManifest(snapshot, manifest);
+        return copied;
+    }
+
+    /**
+     * Finds the data snapshot of the newest run before the given one.
+     *
+     * @return The snapshot directory, or null if no earlier run has one
+     */
+    private Path findPreviousSnapshot(Path runDirectory) throws IOException {
+        for (Path run : listRuns()) {
+            Path snapshot = run.resolve(DATA_SNAPSHOT);
+            if (!run.getFileName().equals(runDirectory.getFileName()) && Files.exists(snapshot.resolve(MANIFEST_FILE))) {
+                return snapshot;
+            }
+        }
+        return null;
+    }
+
+    private static void linkOrCopy(Path existing, Path link) throws IOException {
+        try {
+            Files.createLink(link, existing);
+        } catch (UnsupportedOperationException | FileSystemException e) {
+            logger.debug("Could not hard-link {}, copying it instead.", existing, e);
+            Files.copy(existing, link, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void copyManifestEntries(Properties from, Properties to, String name) {
+        to.setProperty(name + ".stamp", from.getProperty(name + ".stamp"));
+        to.setProperty(name + ".crc", from.getProperty(name + ".crc"));
+    }
+
+    /**
+     * Copies a file in chunks, sleeping between chunks to stay under the configured rate.
+     *
+     * @return CRC32 checksum of the copied content
+     */
+    private long copyThrottled(Path source, Path target) throws IOException, InterruptedException {
+        CRC32 crc = new CRC32();
+        ByteBuffer buffer = ByteBuffer.allocate(COPY_CHUNK_SIZE);
+        long copied = 0;
+        long start = System.nanoTime();
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                buffer.flip();
+                crc.update(buffer.array(), 0, read);
+                while (buffer.hasRemaining()) {
+                    out.write(buffer);
+                }
+                buffer.clear();
+                copied += read;
+                throttle(copied, start);
+            }
+            out.force(true);
+        }
+        return crc.getValue();
+    }
+
+    private void throttle(long copiedBytes, long startNanos) throws InterruptedException {
+        if (maxBytesPerSecond <= 0) {
+            return;
+        }
+        long expectedNanos = copiedBytes * 1_000_000_000L / maxBytesPerSecond;
+        long aheadNanos = expectedNanos - (System.nanoTime() - startNanos);
+        if (aheadNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(aheadNanos);
+        }
+    }
+
+    /**
+     * Extracts the archive into a directory, reading every entry completely so its checksum is validated.
+     *
+     * @return Name of the H2 database contained in the archive, or null if there is none
+     */
+    private String extractArchive(Path archive, Path targetDirectory) throws IOException {
+        String databaseName = null;
+        try (ZipInputStream zip = new ZipInputStream(Files.newInputStream(archive))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                Path target = targetDirectory.resolve(entry.getName()).normalize();
+                if (!target.startsWith(targetDirectory)) {
+                    throw new IOException("Archive entry " + entry.getName() + " points outside the restore directory.");
+                }
+                if (entry.isDirectory()) {
+                    Files.createDirectories(target);
+                    continue;
+                }
+                Files.createDirectories(target.getParent());
+                try (OutputStream out = Files.newOutputStream(target)) {
+                    zip.transferTo(out);
+                }
+                if (entry.getName().endsWith(H2_DATA_FILE_SUFFIX)) {
+                    databaseName = entry.getName().substring(0, entry.getName().length() - H2_DATA_FILE_SUFFIX.length());
+                }
+            }
+        }
+        return databaseName;
+    }
+
+    private void verifyDatabase(Path databasePath) throws SQLException, IOException, BackupException {
+        String url = "jdbc:h2:" + databasePath.toAbsolutePath() + ";ACCESS_MODE_DATA=r";
+        try (Connection conn = DatabaseConnection.openConnection(url);
+             Statement stmt = conn.createStatement()) {
+            List<String> tables = new ArrayList<>();
+            try (ResultSet rs = stmt.executeQuery("SELECT TABLE_NAME FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_SCHEMA = 'PUBLIC'")) {
+                while (rs.next()) {
+                    tables.add(rs.getString(1));
+                }
+            }
+            if (tables.isEmpty()) {
+                throw new BackupException("Restored database contains no tables.");
+            }
+            for (String table : tables) {
+                try (ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM \"" + table.replace("\"", "\"\"") + "\"")) {
+                    rs.next();
+                    logger.debug("Restored table {} contains {} rows.", table, rs.getLong(1));
+                }
+            }
+        }
+    }
+
+    private void verifyDataSnapshot(Path snapshot) throws IOException, BackupException {
+        Properties manifest = loadManifest(snapshot);
+        for (String key : manifest.stringPropertyNames()) {
+            if (!key.endsWith(".crc")) {
+                continue;
+            }
+            String name = key.substring(0, key.length() - ".crc".length());
+            Path file = snapshot.resolve(name);
+            if (!Files.exists(file) || checksumOf(file) != Long.parseLong(manifest.getProperty(key))) {
+                throw new BackupException("Data file " + file + " of the snapshot is missing or corrupted.");
+            }
+        }
+    }
+
+    private void pruneOldRuns() throws IOException {
+        List<Path> runs = listRuns();
+        for (int i = keep; i < runs.size(); i++) {
+            logger.info("Removing old backup {}", runs.get(i));
+            deleteRecursively(runs.get(i));
+        }
+    }
+
+    /**
+     * Lists the run directories in the backup directory, newest first.
+     */
+    private List<Path> listRuns() throws IOException {
+        try (Stream<Path> stream = Files.list(backupRoot)) {
+            return stream.filter(Files::isDirectory)
+                    .filter(path -> RUN_NAME_PATTERN.matcher(path.getFileName().toString()).matches())
+                    .sorted(Comparator.comparing(Path::getFileName).reversed())
+                    .toList();
+        }
+    }
+
+    private static String stampOf(Path file) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        return attributes.size() + ":" + attributes.lastModifiedTime().toMillis();
+    }
+
+    private static long checksumOf(Path file) throws IOException {
+        CRC32 crc = new CRC32();
+        byte[] buffer = new byte[COPY_CHUNK_SIZE];
+        try (InputStream in = Files.newInputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                crc.update(buffer, 0, read);
+            }
+        }
+        return crc.getValue();
+    }
+
+    private static Properties loadManifest(Path snapshot) throws IOException {
+        Properties manifest = new Properties();
+        Path file = snapshot.resolve(MANIFEST_FILE);
+        if (Files.exists(file)) {
+            try (InputStream in = Files.newInputStream(file)) {
+                manifest.load(in);
+            }
+        }
+        return manifest;
+    }
+
+    private static void storeManifest(Path snapshot, Properties manifest) throws IOException {
+        Path temporary = snapshot.resolve(MANIFEST_FILE + ".part");
+        try (OutputStream out = Files.newOutputStream(temporary)) {
+            manifest.store(out, "Incremental data file backup manifest");
+        }
+        Files.move(temporary, snapshot.resolve(MANIFEST_FILE), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void deleteRecursively(Path root) {
+        try (Stream<Path> stream = Files.walk(root)) {
+            for (Path path : stream.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        } catch (IOException e) {
+            logger.warn("Could not delete {}", root, e);
+        }
+    }
+}
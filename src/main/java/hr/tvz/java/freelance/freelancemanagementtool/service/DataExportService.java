@@ -0,0 +1,165 @@
+package hr.tvz.java.freelance.freelancemanagementtool.service;
+
+import hr.tvz.java.freelance.freelancemanagementtool.database.DatabaseConnection;
+import hr.tvz.java.freelance.freelancemanagementtool.enums.ExportFormat;
+import hr.tvz.java.freelance.freelancemanagementtool.exception.DataSerializationException;
+import hr.tvz.java.freelance.freelancemanagementtool.exception.DatabaseReadException;
+import hr.tvz.java.freelance.freelancemanagementtool.model.AuditLog;
+import hr.tvz.java.freelance.freelancemanagementtool.repository.AuditLogRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.*;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Exports projects, clients and the audit log to CSV or JSON files.
+ * Database rows are streamed from a forward-only cursor straight into the output channel,
+ * so exports never hold a whole table in memory. This class has no JavaFX dependencies
+ * and is used from the UI as well as from the {@code HeadlessLauncher}.
+ */
+public class DataExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataExportService.class);
+    private static final int FETCH_SIZE = 500;
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+    private static final DateTimeFormatter TIMESTAMP_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    private static final String PROJECTS_SQL = "SELECT id, name, description, client_id, assigned_user_id, start_date, deadline, budget, status FROM PROJECTS ORDER BY id";
+    private static final String CLIENTS_SQL = "SELECT id, name, email, contact_person FROM CLIENTS ORDER BY id";
+
+    private final AuditLogRepository auditLogRepository = new AuditLogRepository();
+
+    /**
+     * Exports all projects.
+     *
+     * @param target File to write to
+     * @param format Output format
+     * @param gzip Whether the output should be gzip compressed
+     * @return Number of exported rows
+     * @throws DatabaseReadException if the projects cannot be read from the database
+     */
+    public long exportProjects(Path target, ExportFormat format, boolean gzip) throws DatabaseReadException {
+        return exportQuery(PROJECTS_SQL, target, format, gzip);
+    }
+
+    /**
+     * Exports all clients.
+     *
+     * @param target File to write to
+     * @param format Output format
+     * @param gzip Whether the output should be gzip compressed
+     * @return Number of exported rows
+     * @throws DatabaseReadException if the clients cannot be read from the database
+     */
+    public long exportClients(Path target, ExportFormat format, boolean gzip) throws DatabaseReadException {
+        return exportQuery(CLIENTS_SQL, target, format, gzip);
+    }
+
+    /**
+     * Exports all audit log entries.
+     *
+     * @param target File to write to
+     * @param format Output format
+     * @param gzip Whether the output should be gzip compressed
+     * @return Number of exported rows
+     */
+    public long exportAuditLog(Path target, ExportFormat format, boolean gzip) {
+        try (ExportChannelWriter writer = new ExportChannelWriter(openChannel(target, gzip), format,
+                "changed_at", "user_id", "user_role", "entity", "old_value", "new_value")) {
+            writer.writeHeader();
+            for (AuditLog log : auditLogRepository.readAll()) {
+                writer.beginRow();
+                writer.value(log.changedAt() != null ? TIMESTAMP_FORMATTER.format(log.changedAt()) : null);
+                writer.number(log.userId() != null ? log.userId().toString() : null);
+                writer.value(log.userRole() != null ? log.userRole().name() : null);
+                writer.value(log.entityName());
+                writer.value(log.oldValue());
+                writer.value(log.newValue());
+                writer.endRow();
+            }
+            logger.info("Exported {} audit log entries to {}", writer.getRowCount(), target);
+            return writer.getRowCount();
+        } catch (IOException e) {
+            throw new DataSerializationException("Failed to export audit log to " + target, e);
+        }
+    }
+
+    /**
+     * Streams the result of a query into the target file.
+     * A dedicated connection is used so the long-running cursor is not closed by other threads,
+     * and lazy query execution makes H2 produce rows on demand instead of materializing the result.
+     */
+    private long exportQuery(String sql, Path target, ExportFormat format, boolean gzip) throws DatabaseReadException {
+        try (Connection conn = DatabaseConnection.openConnection()) {
+            try (Statement settings = conn.createStatement()) {
+                settings.execute("SET LAZY_QUERY_EXECUTION TRUE");
+            }
+            try (PreparedStatement stmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                stmt.setFetchSize(FETCH_SIZE);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    return writeResultSet(rs, target, format, gzip);
+                }
+            }
+        } catch (SQLException | IOException e) {
+            throw new DatabaseReadException("Failed to export data to " + target, e);
+        }
+    }
+
+    private long writeResultSet(ResultSet rs, Path target, ExportFormat format, boolean gzip) throws SQLException, IOException {
+        ResultSetMetaData metaData = rs.getMetaData();
+        int columnCount = metaData.getColumnCount();
+        String[] columns = new String[columnCount];
+        boolean[] numeric = new boolean[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            columns[i] = metaData.getColumnLabel(i + 1).toLowerCase(Locale.ROOT);
+            numeric[i] = isNumeric(metaData.getColumnType(i + 1));
+        }
+
+        try (ExportChannelWriter writer = new ExportChannelWriter(openChannel(target, gzip), format, columns)) {
+            writer.writeHeader();
+            while (rs.next()) {
+                writer.beginRow();
+                for (int i = 0; i < columnCount; i++) {
+                    String value = rs.getString(i + 1);
+                    if (numeric[i]) {
+                        writer.number(value);
+                    } else {
+                        writer.value(value);
+                    }
+                }
+                writer.endRow();
+            }
+            logger.info("Exported {} rows to {}", writer.getRowCount(), target);
+            return writer.getRowCount();
+        }
+    }
+
+    private static boolean isNumeric(int sqlType) {
+        return switch (sqlType) {
+            case Types.TINYINT, Types.SMALLINT, Types.INTEGER, Types.BIGINT,
+                    Types.DECIMAL, Types.NUMERIC, Types.REAL, Types.FLOAT, Types.DOUBLE -> true;
+            default -> false;
+        };
+    }
+
+    private static WritableByteChannel openChannel(Path target, boolean gzip) throws IOException {
+        Path parent = target.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        if (gzip) {
+            return Channels.newChannel(new GZIPOutputStream(Files.newOutputStream(target), GZIP_BUFFER_SIZE));
+        }
+        return FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+    }
+}
@@ -0,0 +1,142 @@
+package hr.tvz.java.freelance.freelancemanagementtool.service;
+
+import hr.tvz.java.freelance.freelancemanagementtool.exception.DatabaseReadException;
+import hr.tvz.java.freelance.freelancemanagementtool.model.Client;
+import hr.tvz.java.freelance.freelancemanagementtool.model.Entity;
+import hr.tvz.java.freelance.freelancemanagementtool.repository.ClientDatabaseRepository;
+import hr.tvz.java.freelance.freelancemanagementtool.repository.ProjectDatabaseRepository;
+import hr.tvz.java.freelance.freelancemanagementtool.session.SessionContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Puts a repeatable load on the configured database through the repositories, to measure how many
+ * operations per second an instance gets, e.g. when several instances share a database server.
+ * Each worker thread looks up random clients and projects by ID and, for the given share of the
+ * operations, reads a client and saves it again with its current values. Saves are audited and published like
+ * any other write, so the load should be run against a copy of the data.
+ */
+public class DatabaseLoadService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseLoadService.class);
+    private static final long WORKER_STOP_GRACE_MS = 10_000;
+
+    private final ClientDatabaseRepository clientRepository = new ClientDatabaseRepository();
+    private final ProjectDatabaseRepository projectRepository = new ProjectDatabaseRepository();
+
+    /**
+     * Outcome of a load run.
+     *
+     * @param threads Number of worker threads
+     * @param durationMs Measured duration
+     * @param reads Completed lookups
+     * @param writes Completed saves
+     * @param failures Operations that failed
+     */
+    public record LoadResult(int threads, long durationMs, long reads, long writes, long failures) {
+
+        /**
+         * Gets the completed operations per second
+         *
+         * @return Reads and writes per second over the whole run
+         */
+        public double opsPerSecond() {
+            return durationMs == 0 ? 0 : (reads + writes) * 1000.0 / durationMs;
+        }
+    }
+
+    /**
+     * Operation counts of one worker.
+     */
+    private record WorkerCounts(long reads, long writes, long failures) {}
+
+    /**
+     * Runs the load and waits until it is finished. Workers run as the session of the calling thread.
+     *
+     * @param duration How long the load runs
+     * @param threads Number of worker threads
+     * @param writePercent Share of the operations that are saves, from 0 to 100
+     * @return The operation counts
+     * @throws DatabaseReadException if the IDs to work on cannot be read
+     * @throws InterruptedException if the calling thread is interrupted while waiting
+     */
+    public LoadResult run(Duration duration, int threads, int writePercent) throws DatabaseReadException, InterruptedException {
+        List<Long> clientIds = clientRepository.findAll().stream().map(Entity::getId).toList();
+        List<Long> projectIds = projectRepository.findAll().stream().map(Entity::getId).toList();
+        if (clientIds.isEmpty()) {
+            throw new IllegalStateException("The database has no clients to put load on.");
+        }
+        logger.info("Running load for {} s on {} thread(s) over {} clients and {} projects, {}% writes.",
+                duration.toSeconds(), threads, clientIds.size(), projectIds.size(), writePercent);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            long start = System.nanoTime();
+            long deadline = start + duration.toNanos();
+            List<Future<WorkerCounts>> workers = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                Callable<WorkerCounts> worker = () -> work(deadline, clientIds, projectIds, writePercent);
+                workers.add(executor.submit(SessionContext.wrap(worker)));
+            }
+            long reads = 0;
+            long writes = 0;
+            long failures = 0;
+            for (Future<WorkerCounts> worker : workers) {
+                WorkerCounts counts = worker.get();
+                reads += counts.reads();
+                writes += counts.writes();
+                failures += counts.failures();
+            }
+            long durationMs = (System.nanoTime() - start) / 1_000_000;
+            return new LoadResult(threads, durationMs, reads, writes, failures);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("A load worker failed.", e.getCause());
+        } finally {
+            // Never interrupt the workers: an interrupt inside H2's file I/O closes the database.
+            // They stop by themselves at the deadline.
+            executor.shutdown();
+            if (!executor.awaitTermination(duration.toMillis() + WORKER_STOP_GRACE_MS, TimeUnit.MILLISECONDS)) {
+                logger.warn("Load workers did not stop within {} ms after the deadline.", WORKER_STOP_GRACE_MS);
+            }
+        }
+    }
+
+    private WorkerCounts work(long deadline, List<Long> clientIds, List<Long> projectIds, int writePercent) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long reads = 0;
+        long writes = 0;
+        long failures = 0;
+        while (System.nanoTime() < deadline) {
+            try {
+                boolean write = random.nextInt(100) < writePercent;
+                Optional<? extends Entity> found = !write && !projectIds.isEmpty() && random.nextBoolean()
+                        ? projectRepository.findById(projectIds.get(random.nextInt(projectIds.size())))
+                        : clientRepository.findById(clientIds.get(random.nextInt(clientIds.size())));
+                if (found.isEmpty()) {
+                    failures++;
+                } else if (!write) {
+                    reads++;
+                } else if (clientRepository.update((Client) found.get()).isPresent()) {
+                    writes++;
+                } else {
+                    failures++;
+                }
+            } catch (DatabaseReadException e) {
+                failures++;
+            }
+        }
+        return new WorkerCounts(reads, writes, failures);
+    }
+}
@@ -0,0 +1,69 @@
+package hr.tvz.java.freelance.freelancemanagementtool.service;
+
+import hr.tvz.java.freelance.freelancemanagementtool.enums.ProjectStatus;
+import hr.tvz.java.freelance.freelancemanagementtool.exception.DatabaseReadException;
+import hr.tvz.java.freelance.freelancemanagementtool.model.Project;
+import hr.tvz.java.freelance.freelancemanagementtool.repository.ProjectDatabaseRepository;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Finds projects in progress whose deadline is coming up. This class has no JavaFX dependencies,
+ * the deadline scheduler and the headless launcher decide how reminders are presented.
+ */
+public class DeadlineService {
+
+    /**
+     * Default number of days before the deadline from which a project is reported.
+     */
+    public static final int DEFAULT_THRESHOLD_DAYS = 7;
+
+    private final ProjectDatabaseRepository projectRepository = new ProjectDatabaseRepository();
+
+    /**
+     * A project with an upcoming deadline.
+     *
+     * @param project The project
+     * @param daysLeft Number of days until the deadline, 0 if it is due today
+     */
+    public record DeadlineReminder(Project project, long daysLeft) {
+
+        /**
+         * Gets the reminder text shown to the user
+         *
+         * @return Reminder message
+         */
+        public String message() {
+            return String.format("Project '%s' is due in %d day(s)!", project.getName(), daysLeft);
+        }
+    }
+
+    /**
+     * Finds the projects in progress that are due within the threshold, soonest first.
+     * Projects whose deadline has already passed are not included. Only the matching projects are read,
+     * through the index on status and deadline.
+     *
+     * @param today The current date
+     * @param thresholdDays Number of days before the deadline from which a project is reported
+     * @return The upcoming deadlines
+     * @throws DatabaseReadException if the projects cannot be read from the database
+     */
+    public List<DeadlineReminder> findUpcomingDeadlines(LocalDate today, int thresholdDays) throws DatabaseReadException {
+        return projectRepository.findByStatusDueBetween(ProjectStatus.IN_PROGRESS, today, today.plusDays(thresholdDays)).stream()
+                .map(p -> reminderFor(p, today))
+                .toList();
+    }
+
+    /**
+     * Creates the reminder for a project as of a date.
+     *
+     * @param project The project
+     * @param today The current date
+     * @return The reminder
+     */
+    public static DeadlineReminder reminderFor(Project project, LocalDate today) {
+        return new DeadlineReminder(project, ChronoUnit.DAYS.between(today, project.getDeadline()));
+    }
+}
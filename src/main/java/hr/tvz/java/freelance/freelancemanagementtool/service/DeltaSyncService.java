@@ -0,0 +1,167 @@
+package hr.tvz.java.freelance.freelancemanagementtool.service;
+
+import hr.tvz.java.freelance.freelancemanagementtool.database.DatabaseConnection;
+import hr.tvz.java.freelance.freelancemanagementtool.enums.JobPriority;
+import hr.tvz.java.freelance.freelancemanagementtool.event.EntityChange;
+import hr.tvz.java.freelance.freelancemanagementtool.event.EntityEventBus;
+import hr.tvz.java.freelance.freelancemanagementtool.exception.DatabaseReadException;
+import hr.tvz.java.freelance.freelancemanagementtool.exception.DatabaseWriteException;
+import hr.tvz.java.freelance.freelancemanagementtool.model.Client;
+import hr.tvz.java.freelance.freelancemanagementtool.model.Entity;
+import hr.tvz.java.freelance.freelancemanagementtool.model.Project;
+import hr.tvz.java.freelance.freelancemanagementtool.repository.BaseRepository;
+import hr.tvz.java.freelance.freelancemanagementtool.repository.ChangeSet;
+import hr.tvz.java.freelance.freelancemanagementtool.repository.ClientDatabaseRepository;
+import hr.tvz.java.freelance.freelancemanagementtool.repository.ProjectDatabaseRepository;
+import hr.tvz.java.freelance.freelancemanagementtool.repository.TombstoneRepository;
+import hr.tvz.java.freelance.freelancemanagementtool.util.AppProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongFunction;
+
+/**
+ * Keeps this instance up to date with the changes other application instances make to a shared database.
+ * Every few seconds only the clients and projects changed or deleted since the previous run are read,
+ * using the change time of each row and the tombstones left by deletes, and they are published on the
+ * {@link EntityEventBus} like local writes, so open views and caches update themselves.
+ * <p>
+ * The watermark is kept in database time, so the clocks of the instances do not need to agree.
+ * Each run reads a short overlap before the watermark, to catch changes whose transaction committed
+ * after a newer change was already read; the repositories skip versions seen before, including the ones
+ * this instance wrote itself, and only refresh their caches for new ones.
+ * Remote inserts and updates are both published as updates.
+ */
+public class DeltaSyncService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DeltaSyncService.class);
+    private static final String JOB_NAME = "delta-sync";
+    private static final String PRUNE_JOB_NAME = "tombstone-prune";
+    private static final String DEFAULT_PRUNE_CRON = "45 3 * * *";
+
+    private final boolean enabled = AppProperties.getBoolean("sync.enabled", true);
+    private final Duration interval = Duration.ofSeconds(Math.max(1, AppProperties.getLong("sync.intervalSeconds", 5)));
+    private final Duration overlap = Duration.ofSeconds(Math.max(0, AppProperties.getLong("sync.overlapSeconds", 2)));
+    private final long tombstoneRetentionDays = Math.max(1, AppProperties.getLong("sync.tombstoneRetentionDays", 7));
+    private final String pruneCron = AppProperties.getString("sync.tombstonePruneCron", DEFAULT_PRUNE_CRON);
+
+    private final TombstoneRepository tombstoneRepository = new TombstoneRepository();
+    private final List<EntitySync<?>> entitySyncs = List.of(
+            new EntitySync<>(new ClientDatabaseRepository(), id -> new Client(id, null, null, null)),
+            new EntitySync<>(new ProjectDatabaseRepository(), id -> new Project.Builder(id).build()));
+
+    /**
+     * Schedules the synchronization and the daily tombstone pruning, if enabled in the settings.
+     * An invalid {@code sync.tombstonePruneCron} is logged and the default pruning time is used instead.
+     */
+    public synchronized void start() {
+        if (!enabled) {
+            return;
+        }
+        JobScheduler scheduler = JobScheduler.getInstance();
+        scheduler.schedule(JOB_NAME, JobTrigger.every(interval), JobPriority.NORMAL, Duration.ZERO, this::synchronize);
+        JobTrigger pruneTrigger;
+        try {
+            pruneTrigger = JobTrigger.cron(pruneCron);
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid sync.tombstonePruneCron '{}', pruning tombstones at '{}' instead.", pruneCron, DEFAULT_PRUNE_CRON, e);
+            pruneTrigger = JobTrigger.cron(DEFAULT_PRUNE_CRON);
+        }
+        scheduler.schedule(PRUNE_JOB_NAME, pruneTrigger, JobPriority.MAINTENANCE, Duration.ofMinutes(5), this::pruneTombstones);
+        logger.info("Scheduled delta synchronization every {} second(s).", interval.toSeconds());
+    }
+
+    /**
+     * Stops the synchronization. A run that is already in progress is allowed to finish.
+     */
+    public synchronized void shutdown() {
+        JobScheduler scheduler = JobScheduler.getInstance();
+        scheduler.cancel(JOB_NAME);
+        scheduler.cancel(PRUNE_JOB_NAME);
+    }
+
+    /**
+     * Reads and publishes the changes made since the previous run. The first run only takes the current
+     * database time as the watermark, since views read their full data when they are opened,
+     * and the overlap never reaches back before it.
+     * When an entity type cannot be read, its watermark stays in place and the next run catches up.
+     */
+    public void synchronize() {
+        for (EntitySync<?> entitySync : entitySyncs) {
+            try {
+                entitySync.pull();
+            } catch (DatabaseReadException e) {
+                logger.warn("Delta synchronization failed, retrying on the next run.", e);
+            }
+        }
+    }
+
+    private void pruneTombstones() {
+        try {
+            int removed = tombstoneRepository.prune(LocalDateTime.now().minusDays(tombstoneRetentionDays));
+            logger.info("Removed {} tombstone(s) older than {} day(s).", removed, tombstoneRetentionDays);
+        } catch (DatabaseWriteException e) {
+            logger.error("Failed to prune tombstones.", e);
+        }
+    }
+
+    private static LocalDateTime currentDatabaseTime() throws DatabaseReadException {
+        try (Connection conn = DatabaseConnection.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT LOCALTIMESTAMP")) {
+            rs.next();
+            return rs.getTimestamp(1).toLocalDateTime();
+        } catch (SQLException | IOException e) {
+            throw new DatabaseReadException("Failed to read the database time.", e);
+        }
+    }
+
+    /**
+     * The synchronization state of one entity type. Runs of the job never overlap,
+     * so the state is only touched by one thread at a time.
+     *
+     * @param <T> The entity type
+     */
+    private final class EntitySync<T extends Entity> {
+        private final BaseRepository<T> repository;
+        private final LongFunction<T> deletedEntity;
+        private LocalDateTime startedAt;
+        private LocalDateTime watermark;
+
+        private EntitySync(BaseRepository<T> repository, LongFunction<T> deletedEntity) {
+            this.repository = repository;
+            this.deletedEntity = deletedEntity;
+        }
+
+        private void pull() throws DatabaseReadException {
+            if (watermark == null) {
+                startedAt = currentDatabaseTime();
+                watermark = startedAt;
+                return;
+            }
+            LocalDateTime from = watermark.minus(overlap);
+            from = from.isBefore(startedAt) ? startedAt : from;
+            ChangeSet<T> changeSet = repository.findChangesSince(from);
+            watermark = changeSet.newestVersion().isAfter(watermark) ? changeSet.newestVersion() : watermark;
+            repository.forgetVersionsBefore(watermark.minus(overlap));
+
+            List<EntityChange<T>> changes = new ArrayList<>();
+            changeSet.changed().forEach(entity -> changes.add(new EntityChange<>(EntityChange.Type.UPDATED, entity)));
+            changeSet.deletedIds().forEach(id -> changes.add(new EntityChange<>(EntityChange.Type.DELETED, deletedEntity.apply(id))));
+            EntityEventBus bus = EntityEventBus.getInstance();
+            changes.forEach(bus::publish);
+            if (!changes.isEmpty()) {
+                logger.debug("Delta synchronization applied {} remote change(s), watermark {}.", changes.size(), watermark);
+            }
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package hr.tvz.java.freelance.freelancemanagementtool.service;
+
+import hr.tvz.java.freelance.freelancemanagementtool.enums.ExportFormat;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes export rows as CSV or JSON directly into a byte channel.
+ * Values are copied into a single reusable character buffer and encoded into a single
+ * reusable direct byte buffer, so no intermediate strings are built per row.
+ */
+public class ExportChannelWriter implements Closeable {
+
+    private static final int CHAR_BUFFER_SIZE = 8 * 1024;
+    private static final int BYTE_BUFFER_SIZE = 64 * 1024;
+
+    private final WritableByteChannel channel;
+    private final ExportFormat format;
+    private final String[] columns;
+    private final CharBuffer chars = CharBuffer.allocate(CHAR_BUFFER_SIZE);
+    private final ByteBuffer bytes = ByteBuffer.allocateDirect(BYTE_BUFFER_SIZE);
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+
+    private int columnIndex;
+    private long rowCount;
+
+    /**
+     * Export writer constructor
+     *
+     * @param channel Channel the encoded output is written to
+     * @param format Output format
+     * @param columns Column names, in the order values will be written
+     */
+    public ExportChannelWriter(WritableByteChannel channel, ExportFormat format, String... columns) {
+        this.channel = channel;
+        this.format = format;
+        this.columns = columns;
+    }
+
+    /**
+     * Writes the CSV header line or the opening bracket of the JSON array.
+     *
+     * @throws IOException if the channel cannot be written to
+     */
+    public void writeHeader() throws IOException {
+        if (format == ExportFormat.CSV) {
+            for (int i = 0; i < columns.length; i++) {
+                if (i > 0) {
+                    append(',');
+                }
+                appendCsvEscaped(columns[i]);
+            }
+            append('\n');
+        } else {
+            append('[');
+        }
+    }
+
+    /**
+     * Starts a new row.
+     *
+     * @throws IOException if the channel cannot be written to
+     */
+    public void beginRow() throws IOException {
+        columnIndex = 0;
+        if (format == ExportFormat.JSON) {
+            append(rowCount > 0 ? ",\n{" : "\n{");
+        }
+    }
+
+    /**
+     * Writes a textual value into the next column of the current row.
+     *
+     * @param value The value, may be null
+     * @throws IOException if the channel cannot be written to
+     */
+    public void value(CharSequence value) throws IOException {
+        beginValue();
+        if (format == ExportFormat.CSV) {
+            if (value != null) {
+                appendCsvEscaped(value);
+            }
+        } else if (value == null) {
+            append("null");
+        } else {
+            append('"');
+            appendJsonEscaped(value);
+            append('"');
+        }
+    }
+
+    /**
+     * Writes a numeric value into the next column of the current row.
+     * Numbers are written without quotes in JSON output.
+     *
+     * @param value The value in its plain string form, may be null
+     * @throws IOException if the channel cannot be written to
+     */
+    public void number(CharSequence value) throws IOException {
+        beginValue();
+        if (value != null) {
+            append(value);
+        } else if (format == ExportFormat.JSON) {
+            append("null");
+        }
+    }
+
+    /**
+     * Finishes the current row.
+     *
+     * @throws IOException if the channel cannot be written to
+     */
+    public void endRow() throws IOException {
+        append(format == ExportFormat.CSV ? "\n" : "}");
+        rowCount++;
+    }
+
+    /**
+     * Gets the number of rows written so far
+     *
+     * @return Row count
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Writes the trailer, flushes all buffered output and closes the channel.
+     *
+     * @throws IOException if the channel cannot be written to
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (format == ExportFormat.JSON) {
+                append(rowCount > 0 ? "\n]\n" : "]\n");
+            }
+            flushChars(true);
+            drainBytes();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void beginValue() throws IOException {
+        if (columnIndex > 0) {
+            append(',');
+        }
+        if (format == ExportFormat.JSON) {
+            append('"');
+            appendJsonEscaped(columns[columnIndex]);
+            append("\":");
+        }
+        columnIndex++;
+    }
+
+    private void appendCsvEscaped(CharSequence value) throws IOException {
+        boolean needsQuotes = false;
+        for (int i = 0; i < value.length() && !needsQuotes; i++) {
+            char c = value.charAt(i);
+            needsQuotes = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!needsQuotes) {
+            append(value);
+            return;
+        }
+        append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                append('"');
+            }
+            append(c);
+        }
+        append('"');
+    }
+
+    private void appendJsonEscaped(CharSequence value) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> append("\\\"");
+                case '\\' -> append("\\\\");
+                case '\n' -> append("\\n");
+                case '\r' -> append("\\r");
+                case '\t' -> append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        append(String.format("\\u%04x", (int) c));
+                    } else {
+                        append(c);
+                    }
+                }
+            }
+        }
+    }
+
+    private void append(CharSequence value) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            append(value.charAt(i));
+        }
+    }
+
+    private void append(char c) throws IOException {
+        if (!chars.hasRemaining()) {
+            flushChars(false);
+        }
+        chars.put(c);
+    }
+
+    /**
+     * Encodes the pending characters into the byte buffer, writing the byte buffer
+     * to the channel whenever it fills up.
+     */
+    private void flushChars(boolean endOfInput) throws IOException {
+        chars.flip();
+        while (true) {
+            CoderResult result = encoder.encode(chars, bytes, endOfInput);
+            if (result.isOverflow()) {
+                drainBytes();
+            } else if (result.isUnderflow()) {
+                break;
+            } else {
+                result.throwException();
+            }
+        }
+        if (endOfInput) {
+            while (encoder.flush(bytes).isOverflow()) {
+                drainBytes();
+            }
+        }
+        // An unpaired high surrogate may remain until the next character arrives
+        chars.compact();
+    }
+
+    private void drainBytes() throws IOException {
+        bytes.flip();
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+        bytes.clear();
+    }
+}
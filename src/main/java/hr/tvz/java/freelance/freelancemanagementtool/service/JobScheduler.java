@@ -0,0 +1,353 @@
+package hr.tvz.java.freelance.freelancemanagementtool.service;
+
+import hr.tvz.java.freelance.freelancemanagementtool.enums.JobPriority;
+import hr.tvz.java.freelance.freelancemanagementtool.util.AppProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs the application's background jobs on one shared, bounded worker pool.
+ * A single timer thread plans the runs of named jobs from their {@link JobTrigger}, with an optional
+ * random jitter so jobs do not all start at once. Due runs wait in a priority queue, so interactive
+ * work always starts before maintenance, and maintenance runs on low priority threads.
+ * A job is never run twice at the same time: a run that comes due while the previous one is still
+ * queued or running is skipped. Every run is timed and counted in the job's {@link JobStats}.
+ */
+public final class JobScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobScheduler.class);
+    private static final JobScheduler INSTANCE = new JobScheduler();
+
+    private final ScheduledExecutorService timer;
+    private final ThreadPoolExecutor workers;
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private volatile boolean shutDown;
+
+    /**
+     * Run statistics of a job.
+     *
+     * @param name Job name
+     * @param priority Job priority
+     * @param runs Number of finished runs
+     * @param failures Number of runs that threw an exception
+     * @param skipped Number of runs skipped because the previous run had not finished
+     * @param lastDurationMs Duration of the last run
+     * @param maxDurationMs Duration of the longest run
+     * @param averageDurationMs Average duration of all runs
+     * @param averageQueueMs Average time runs waited for a free worker
+     * @param lastStartedAt Start time of the last run, or null if it never ran
+     * @param nextRunAt Planned time of the next run, or null for one-off jobs
+     * @param lastError Message of the last failure, or null
+     */
+    public record JobStats(String name, JobPriority priority, long runs, long failures, long skipped,
+                           long lastDurationMs, long maxDurationMs, long averageDurationMs, long averageQueueMs,
+                           LocalDateTime lastStartedAt, LocalDateTime nextRunAt, String lastError) {}
+
+    private JobScheduler() {
+        timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "job-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        int threads = Math.max(1, AppProperties.getInt("jobs.workerThreads", 2));
+        AtomicInteger threadNumber = new AtomicInteger();
+        workers = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new PriorityBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "job-worker-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        workers.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Gets the shared job scheduler
+     *
+     * @return Job scheduler instance
+     */
+    public static JobScheduler getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Schedules a recurring job, replacing a scheduled job with the same name.
+     *
+     * @param name Unique job name, used in logs and statistics
+     * @param trigger Plans the runs of the job
+     * @param priority Priority of the runs
+     * @param maxJitter Upper bound of the random delay added to every run, zero for none
+     * @param action The work to run
+     */
+    public void schedule(String name, JobTrigger trigger, JobPriority priority, Duration maxJitter, Runnable action) {
+        if (shutDown) {
+            logger.warn("Job '{}' not scheduled, the scheduler is shut down.", name);
+            return;
+        }
+        Job job = new Job(name, priority, trigger, maxJitter, action);
+        Job previous = jobs.put(name, job);
+        if (previous != null) {
+            previous.cancel();
+        }
+        planNextRun(job, LocalDateTime.now());
+        if (job.cancelled) {
+            return;
+        }
+        logger.info("Scheduled job '{}' with priority {}, first run at {}.", name, priority, job.nextRunAt);
+    }
+
+    /**
+     * Runs a one-off job as soon as a worker with no more urgent work is free.
+     * Runs with the same name are counted together in the statistics, but may overlap.
+     *
+     * @param name Job name, used in logs and statistics
+     * @param priority Priority of the run
+     * @param action The work to run
+     * @return A future completed when the run finishes, exceptionally if it failed or was rejected
+     */
+    public CompletableFuture<Void> submit(String name, JobPriority priority, Runnable action) {
+        Job job = jobs.computeIfAbsent(name, key -> new Job(key, priority, null, Duration.ZERO, null));
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        enqueue(job, priority, () -> {
+            try {
+                action.run();
+                result.complete(null);
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+                throw e;
+            }
+        }, result);
+        return result;
+    }
+
+    /**
+     * Cancels a scheduled job. A run that already started is allowed to finish.
+     *
+     * @param name Job name
+     * @return Whether a job with the name was scheduled
+     */
+    public boolean cancel(String name) {
+        Job job = jobs.remove(name);
+        if (job == null) {
+            return false;
+        }
+        job.cancel();
+        logger.info("Cancelled job '{}'.", name);
+        return true;
+    }
+
+    /**
+     * Gets the statistics of all jobs, sorted by name
+     *
+     * @return Statistics snapshot
+     */
+    public List<JobStats> getStats() {
+        List<JobStats> stats = new ArrayList<>();
+        for (Job job : jobs.values()) {
+            stats.add(job.snapshot());
+        }
+        stats.sort(Comparator.comparing(JobStats::name));
+        return stats;
+    }
+
+    /**
+     * Stops planning new runs and waits for queued and running jobs to finish.
+     * Jobs still running after the timeout are interrupted. Calling this more than once has no effect.
+     *
+     * @param timeout How long to wait for running jobs
+     */
+    public void shutdown(Duration timeout) {
+        if (shutDown) {
+            return;
+        }
+        shutDown = true;
+        timer.shutdownNow();
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                logger.warn("Background jobs did not finish within {} ms and will be interrupted.", timeout.toMillis());
+                workers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        for (JobStats stats : getStats()) {
+            logger.info("Job '{}': {} run(s), {} failure(s), {} skipped, average {} ms, longest {} ms.",
+                    stats.name(), stats.runs(), stats.failures(), stats.skipped(), stats.averageDurationMs(), stats.maxDurationMs());
+        }
+    }
+
+    /**
+     * Plans the run after the given planned run time, so a fixed-rate job keeps its rate however late
+     * its runs start. The jitter only delays the timer; it is never added to the planned time itself.
+     * Runs missed while the process was suspended are not caught up, the job continues from now.
+     * A trigger that cannot plan another run cancels the job.
+     */
+    private void planNextRun(Job job, LocalDateTime after) {
+        if (shutDown || job.cancelled) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime next;
+        try {
+            next = job.trigger.next(after);
+            if (next.isBefore(now)) {
+                logger.warn("Job '{}' missed its run planned at {}, planning the next one from now.", job.name, next);
+                next = job.trigger.next(now);
+            }
+        } catch (IllegalStateException e) {
+            logger.error("Job '{}' cannot plan another run and is cancelled.", job.name, e);
+            jobs.remove(job.name, job);
+            job.cancel();
+            return;
+        }
+        long jitterMs = job.maxJitter.isZero() ? 0 : ThreadLocalRandom.current().nextLong(job.maxJitter.toMillis() + 1);
+        long delayMs = Math.max(0, Duration.between(now, next).toMillis()) + jitterMs;
+        LocalDateTime plannedAt = next;
+        job.nextRunAt = plannedAt;
+        try {
+            job.timerFuture = timer.schedule(() -> fire(job, plannedAt), delayMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            logger.debug("Job '{}' not planned, the scheduler is shut down.", job.name);
+        }
+    }
+
+    private void fire(Job job, LocalDateTime plannedAt) {
+        if (job.cancelled) {
+            return;
+        }
+        if (job.active.compareAndSet(false, true)) {
+            enqueue(job, job.priority, job.action, null);
+        } else {
+            job.skipped.incrementAndGet();
+            logger.warn("Skipped a run of job '{}', the previous run has not finished.", job.name);
+        }
+        planNextRun(job, plannedAt);
+    }
+
+    private void enqueue(Job job, JobPriority priority, Runnable action, CompletableFuture<Void> result) {
+        long queuedAt = System.nanoTime();
+        try {
+            workers.execute(new QueuedRun(priority, sequence.incrementAndGet(), () -> run(job, priority, action, queuedAt)));
+        } catch (RejectedExecutionException e) {
+            job.active.set(false);
+            if (result != null) {
+                result.completeExceptionally(e);
+            }
+            logger.warn("Run of job '{}' rejected, the scheduler is shut down.", job.name);
+        }
+    }
+
+    private void run(Job job, JobPriority priority, Runnable action, long queuedAt) {
+        Thread thread = Thread.currentThread();
+        thread.setPriority(priority == JobPriority.MAINTENANCE ? Thread.MIN_PRIORITY : Thread.NORM_PRIORITY);
+        LocalDateTime startedAt = LocalDateTime.now();
+        long start = System.nanoTime();
+        String error = null;
+        try {
+            action.run();
+        } catch (RuntimeException e) {
+            error = e.getMessage() != null ? e.getMessage() : e.getClass().getName();
+            logger.error("Job '{}' failed.", job.name, e);
+        } finally {
+            long end = System.nanoTime();
+            job.record(startedAt, queuedAt, start, end, error);
+            job.active.set(false);
+            thread.setPriority(Thread.NORM_PRIORITY);
+            logger.debug("Job '{}' finished in {} ms.", job.name, TimeUnit.NANOSECONDS.toMillis(end - start));
+        }
+    }
+
+    /**
+     * A run waiting for a worker, ordered by priority and then by the time it was queued.
+     */
+    private record QueuedRun(JobPriority priority, long sequence, Runnable task) implements Runnable, Comparable<QueuedRun> {
+
+        @Override
+        public void run() {
+            task.run();
+        }
+
+        @Override
+        public int compareTo(QueuedRun other) {
+            int byPriority = priority.compareTo(other.priority);
+            return byPriority != 0 ? byPriority : Long.compare(sequence, other.sequence);
+        }
+    }
+
+    /**
+     * A named job with its trigger and run statistics.
+     */
+    private static final class Job {
+        private final String name;
+        private final JobPriority priority;
+        private final JobTrigger trigger;
+        private final Duration maxJitter;
+        private final Runnable action;
+        private final AtomicBoolean active = new AtomicBoolean();
+        private final AtomicLong skipped = new AtomicLong();
+        private volatile boolean cancelled;
+        private volatile ScheduledFuture<?> timerFuture;
+        private volatile LocalDateTime nextRunAt;
+
+        private long runs;
+        private long failures;
+        private long lastDurationNanos;
+        private long maxDurationNanos;
+        private long totalDurationNanos;
+        private long totalQueueNanos;
+        private LocalDateTime lastStartedAt;
+        private String lastError;
+
+        private Job(String name, JobPriority priority, JobTrigger trigger, Duration maxJitter, Runnable action) {
+            this.name = name;
+            this.priority = priority;
+            this.trigger = trigger;
+            this.maxJitter = maxJitter;
+            this.action = action;
+        }
+
+        private void cancel() {
+            cancelled = true;
+            ScheduledFuture<?> future = timerFuture;
+            if (future != null) {
+                future.cancel(false);
+            }
+        }
+
+        private synchronized void record(LocalDateTime startedAt, long queuedAt, long start, long end, String error) {
+            long duration = end - start;
+            runs++;
+            lastStartedAt = startedAt;
+            lastDurationNanos = duration;
+            maxDurationNanos = Math.max(maxDurationNanos, duration);
+            totalDurationNanos += duration;
+            totalQueueNanos += start - queuedAt;
+            if (error != null) {
+                failures++;
+                lastError = error;
+            }
+        }
+
+        private synchronized JobStats snapshot() {
+            return new JobStats(name, priority, runs, failures, skipped.get(),
+                    TimeUnit.NANOSECONDS.toMillis(lastDurationNanos),
+                    TimeUnit.NANOSECONDS.toMillis(maxDurationNanos),
+                    runs == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalDurationNanos / runs),
+                    runs == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalQueueNanos / runs),
+                    lastStartedAt, trigger != null ? nextRunAt : null, lastError);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package hr.tvz.java.freelance.freelancemanagementtool.service;
+
+import hr.tvz.java.freelance.freelancemanagementtool.util.CronExpression;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Decides when a job scheduled with {@link JobScheduler} runs next.
+ */
+@FunctionalInterface
+public interface JobTrigger {
+
+    /**
+     * Computes the next run time.
+     *
+     * @param after The previous planned run time, or the current time for the first run
+     * @return The next planned run time, after the given time
+     */
+    LocalDateTime next(LocalDateTime after);
+
+    /**
+     * Creates a trigger that runs a job at a fixed rate, the first time one interval after it is scheduled.
+     *
+     * @param interval Time between the planned runs
+     * @return The trigger
+     */
+    static JobTrigger every(Duration interval) {
+        if (interval.isNegative() || interval.isZero()) {
+            throw new IllegalArgumentException("Job interval must be positive: " + interval);
+        }
+        return after -> after.plus(interval);
+    }
+
+    /**
+     * Creates a trigger from a cron expression, see {@link CronExpression}.
+     *
+     * @param expression Five field cron expression, such as {@code 30 3 * * *} for every night at 3:30
+     * @return The trigger
+     * @throws IllegalArgumentException if the expression is invalid
+     */
+    static JobTrigger cron(String expression) {
+        return CronExpression.parse(expression)::next;
+    }
+}
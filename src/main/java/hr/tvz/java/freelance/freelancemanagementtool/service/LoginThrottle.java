@@ -0,0 +1,102 @@
+package hr.tvz.java.freelance.freelancemanagementtool.service;
+
+import hr.tvz.java.freelance.freelancemanagementtool.exception.LoginThrottledException;
+import hr.tvz.java.freelance.freelancemanagementtool.util.AppProperties;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits login attempts so bursts of failed logins cannot keep every core busy with BCrypt.
+ * Each username is locked out with an exponentially growing delay after repeated failures,
+ * and all attempts are rejected for the rest of the minute once too many failures happened globally.
+ * The failures of a username are forgotten once it has had no failed attempt for longer than the
+ * maximum lockout after its last lockout ended, so mistyped and guessed usernames do not accumulate.
+ */
+public class LoginThrottle {
+
+    private static final long WINDOW_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final int maxFailuresBeforeLockout = Math.max(1, AppProperties.getInt("login.maxFailuresBeforeLockout", 3));
+    private final long maxLockoutNanos = TimeUnit.SECONDS.toNanos(AppProperties.getLong("login.maxLockoutSeconds", 300));
+    private final int globalFailuresPerMinute = Math.max(1, AppProperties.getInt("login.globalFailuresPerMinute", 30));
+
+    private final Map<String, FailureState> failuresByUsername = new ConcurrentHashMap<>();
+    private long windowStart = System.nanoTime();
+    private int failuresInWindow;
+
+    /**
+     * Failed attempts of a single username.
+     *
+     * @param failures Number of consecutive failures
+     * @param lockedUntil System.nanoTime() value until which the username is locked
+     */
+    private record FailureState(int failures, long lockedUntil) {}
+
+    /**
+     * Checks whether an attempt for the username may proceed.
+     *
+     * @param username The username being logged in
+     * @throws LoginThrottledException if the username or the whole application is currently throttled
+     */
+    public void checkAllowed(String username) throws LoginThrottledException {
+        long now = System.nanoTime();
+        synchronized (this) {
+            resetWindowIfExpired(now);
+            if (failuresInWindow >= globalFailuresPerMinute) {
+                throw new LoginThrottledException("Too many failed logins. Please try again in a minute.");
+            }
+        }
+        FailureState state = failuresByUsername.get(key(username));
+        if (state != null && state.lockedUntil() - now > 0) {
+            long seconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(state.lockedUntil() - now));
+            throw new LoginThrottledException("Too many failed attempts. Please try again in " + seconds + " second(s).");
+        }
+    }
+
+    /**
+     * Records a failed attempt and extends the lockout of the username.
+     *
+     * @param username The username that failed to log in
+     */
+    public void recordFailure(String username) {
+        long now = System.nanoTime();
+        synchronized (this) {
+            resetWindowIfExpired(now);
+            failuresInWindow++;
+        }
+        failuresByUsername.compute(key(username), (name, state) -> {
+            int failures = state == null ? 1 : state.failures() + 1;
+            long lockout = 0;
+            if (failures >= maxFailuresBeforeLockout) {
+                int exponent = Math.min(30, failures - maxFailuresBeforeLockout);
+                lockout = Math.min(maxLockoutNanos, TimeUnit.SECONDS.toNanos(1L << exponent));
+            }
+            return new FailureState(failures, now + lockout);
+        });
+    }
+
+    /**
+     * Clears the failure history of a username after a successful login.
+     *
+     * @param username The username that logged in
+     */
+    public void recordSuccess(String username) {
+        failuresByUsername.remove(key(username));
+    }
+
+    private void resetWindowIfExpired(long now) {
+        if (now - windowStart >= WINDOW_NANOS) {
+            windowStart = now;
+            failuresInWindow = 0;
+            long forgetAfter = Math.max(maxLockoutNanos, WINDOW_NANOS);
+            failuresByUsername.values().removeIf(state -> now - state.lockedUntil() > forgetAfter);
+        }
+    }
+
+    private static String key(String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,198 @@
+package hr.tvz.java.freelance.freelancemanagementtool.service;
+
+import hr.tvz.java.freelance.freelancemanagementtool.enums.UserRole;
+import hr.tvz.java.freelance.freelancemanagementtool.exception.ConfigurationException;
+import hr.tvz.java.freelance.freelancemanagementtool.exception.DatabaseReadException;
+import hr.tvz.java.freelance.freelancemanagementtool.exception.DatabaseWriteException;
+import hr.tvz.java.freelance.freelancemanagementtool.model.User;
+import hr.tvz.java.freelance.freelancemanagementtool.repository.UserDatabaseRepository;
+import hr.tvz.java.freelance.freelancemanagementtool.repository.UserRepository;
+import hr.tvz.java.freelance.freelancemanagementtool.util.Pair;
+import hr.tvz.java.freelance.freelancemanagementtool.util.PasswordHasher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Creates many user accounts at once. Passwords are hashed in parallel on a pool sized to the
+ * number of cores, all users are inserted in one database batch, and all credentials are
+ * written with a single append to the credential file. If the credential file cannot be written,
+ * the inserted users are deleted again and reported as failed.
+ */
+public class UserProvisioningService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserProvisioningService.class);
+
+    private final UserDatabaseRepository userDatabaseRepository = new UserDatabaseRepository();
+    private final UserRepository userRepository = new UserRepository();
+
+    /**
+     * Outcome of provisioning a single user.
+     *
+     * @param username The requested username
+     * @param success Whether the user was created
+     * @param userId ID of the created user, or 0 if it was not created
+     * @param message Reason of the failure, or a short confirmation
+     */
+    public record ProvisioningResult(String username, boolean success, long userId, String message) {}
+
+    /**
+     * Reads users from a CSV file with {@code username,password,role} lines and provisions them.
+     * Blank lines and lines starting with '#' are skipped, invalid lines are reported as failures
+     * and counted in the logged summary together with the provisioned users.
+     *
+     * @param csvFile The CSV file
+     * @return One result per user line
+     * @throws IOException if the file cannot be read
+     */
+    public List<ProvisioningResult> provisionFromCsv(Path csvFile) throws IOException {
+        List<User> users = new ArrayList<>();
+        List<ProvisioningResult> invalid = new ArrayList<>();
+        int lineNumber = 0;
+        for (String line : Files.readAllLines(csvFile)) {
+            lineNumber++;
+            if (line.isBlank() || line.startsWith("#")) {
+                continue;
+            }
+            String[] fields = line.split(",", -1);
+            if (fields.length != 3) {
+                invalid.add(new ProvisioningResult(fields[0].trim(), false, 0, "Line " + lineNumber + " must contain username,password,role."));
+                continue;
+            }
+            try {
+                UserRole role = UserRole.valueOf(fields[2].trim().toUpperCase(Locale.ROOT));
+                users.add(new User(fields[0].trim(), fields[1], role));
+            } catch (IllegalArgumentException e) {
+                invalid.add(new ProvisioningResult(fields[0].trim(), false, 0, "Unknown role '" + fields[2].trim() + "' on line " + lineNumber + "."));
+            }
+        }
+        List<ProvisioningResult> results = new ArrayList<>(invalid);
+        results.addAll(provisionUsers(users));
+        logSummary(results);
+        return results;
+    }
+
+    /**
+     * Creates the given users. Users with missing fields or usernames that already exist
+     * (or repeat within the batch) are rejected individually; the rest are saved together.
+     *
+     * @param newUsers Users holding plain text passwords, as created by {@link User#User(String, String, UserRole)}
+     * @return One result per requested user, in the same order
+     */
+    public List<ProvisioningResult> provision(List<User> newUsers) {
+        List<ProvisioningResult> results = provisionUsers(newUsers);
+        logSummary(results);
+        return results;
+    }
+
+    private List<ProvisioningResult> provisionUsers(List<User> newUsers) {
+        Map<User, ProvisioningResult> results = new LinkedHashMap<>();
+        newUsers.forEach(user -> results.put(user, null));
+
+        Set<String> takenUsernames = new HashSet<>();
+        try {
+            userDatabaseRepository.findAll().forEach(user -> takenUsernames.add(user.getUsername()));
+        } catch (DatabaseReadException e) {
+            logger.error("Bulk provisioning aborted, existing users could not be read.", e);
+            return failAll(newUsers, "Existing users could not be read.");
+        }
+
+        List<User> accepted = new ArrayList<>();
+        for (User user : newUsers) {
+            if (user.getUsername() == null || user.getUsername().isBlank()
+                    || user.getHashedPassword() == null || user.getHashedPassword().isBlank() || user.getRole() == null) {
+                results.put(user, new ProvisioningResult(user.getUsername(), false, 0, "Username, password and role are required."));
+            } else if (!takenUsernames.add(user.getUsername())) {
+                results.put(user, new ProvisioningResult(user.getUsername(), false, 0, "Username already exists."));
+            } else {
+                accepted.add(user);
+            }
+        }
+
+        if (!accepted.isEmpty()) {
+            try {
+                List<Pair<User, String>> hashed = hashInParallel(accepted);
+                userDatabaseRepository.saveAllWithHashes(hashed);
+                Optional<String> credentialFailure = saveCredentialsOrUndo(hashed);
+                if (credentialFailure.isEmpty()) {
+                    accepted.forEach(user -> results.put(user, new ProvisioningResult(user.getUsername(), true, user.getId(), "Created.")));
+                } else {
+                    accepted.forEach(user -> results.put(user, new ProvisioningResult(user.getUsername(), false, 0, credentialFailure.get())));
+                }
+            } catch (DatabaseWriteException e) {
+                logger.error("Bulk provisioning of {} users failed.", accepted.size(), e);
+                accepted.forEach(user -> results.put(user, new ProvisioningResult(user.getUsername(), false, 0, "Database error, batch rolled back.")));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                accepted.forEach(user -> results.put(user, new ProvisioningResult(user.getUsername(), false, 0, "Provisioning was interrupted.")));
+            }
+        }
+
+        return new ArrayList<>(results.values());
+    }
+
+    /**
+     * Stores the credentials of a saved batch. If the credential file cannot be written, the batch
+     * is deleted again, so no user is left in the USERS table without being able to log in.
+     *
+     * @return Empty if the credentials were stored, otherwise the reason reported for every user of the batch
+     */
+    private Optional<String> saveCredentialsOrUndo(List<Pair<User, String>> hashed) {
+        try {
+            userRepository.saveAllCredentials(hashed);
+            return Optional.empty();
+        } catch (ConfigurationException e) {
+            logger.error("Credentials of {} new users could not be stored, deleting the users again.", hashed.size(), e);
+        }
+        try {
+            userDatabaseRepository.deleteAll(hashed.stream().map(Pair::getKey).toList());
+            return Optional.of("Credentials could not be stored, user was not created.");
+        } catch (DatabaseWriteException e) {
+            logger.error("Users without stored credentials could not be deleted: {}",
+                    hashed.stream().map(entry -> entry.getKey().getUsername()).toList(), e);
+            return Optional.of("Credentials could not be stored and the user could not be deleted again, it cannot log in.");
+        }
+    }
+
+    private static void logSummary(List<ProvisioningResult> results) {
+        long created = results.stream().filter(ProvisioningResult::success).count();
+        logger.info("Bulk provisioning finished: {} created, {} failed.", created, results.size() - created);
+    }
+
+    /**
+     * Hashes all passwords on a CPU-bound pool with one thread per core.
+     */
+    private List<Pair<User, String>> hashInParallel(List<User> users) throws InterruptedException {
+        int threads = Math.min(users.size(), Runtime.getRuntime().availableProcessors());
+        ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "password-hashing");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Callable<Pair<User, String>>> tasks = users.stream()
+                    .<Callable<Pair<User, String>>>map(user -> () -> new Pair<>(user, PasswordHasher.hash(user.getHashedPassword())))
+                    .toList();
+            List<Pair<User, String>> hashed = new ArrayList<>();
+            for (Future<Pair<User, String>> future : pool.invokeAll(tasks)) {
+                hashed.add(future.get());
+            }
+            return hashed;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password hashing failed.", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static List<ProvisioningResult> failAll(List<User> users, String message) {
+        return users.stream()
+                .map(user -> new ProvisioningResult(user.getUsername(), false, 0, message))
+                .toList();
+    }
+}
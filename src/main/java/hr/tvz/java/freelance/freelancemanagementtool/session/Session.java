@@ -0,0 +1,69 @@
+package hr.tvz.java.freelance.freelancemanagementtool.session;
+
+import hr.tvz.java.freelance.freelancemanagementtool.enums.UserRole;
+
+import java.time.Instant;
+
+/**
+ * An authenticated user session. Its fields never change after construction,
+ * so a session can be read from any thread without locking.
+ */
+public final class Session {
+
+    private final String id;
+    private final Long userId;
+    private final UserRole role;
+    private final Instant createdAt;
+
+    /**
+     * Session constructor
+     *
+     * @param id Unique session ID
+     * @param userId ID of the logged-in user
+     * @param role Role of the logged-in user
+     */
+    public Session(String id, Long userId, UserRole role) {
+        this.id = id;
+        this.userId = userId;
+        this.role = role;
+        this.createdAt = Instant.now();
+    }
+
+    /**
+     * Gets the session ID
+     *
+     * @return Session ID string
+     */
+    public String getId() { return id; }
+
+    /**
+     * Gets the ID of the logged-in user
+     *
+     * @return User ID
+     */
+    public Long getUserId() { return userId; }
+
+    /**
+     * Gets the role of the logged-in user
+     *
+     * @return User role value
+     */
+    public UserRole getRole() { return role; }
+
+    /**
+     * Gets the time the session was created
+     *
+     * @return Creation time
+     */
+    public Instant getCreatedAt() { return createdAt; }
+
+    /**
+     * Overrides the original toString function so it returns a readable string without the session ID
+     *
+     * @return Readable session string
+     */
+    @Override
+    public String toString() {
+        return "Session{userId=" + userId + ", role=" + role + ", createdAt=" + createdAt + '}';
+    }
+}
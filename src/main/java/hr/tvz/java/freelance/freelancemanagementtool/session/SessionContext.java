@@ -0,0 +1,95 @@
+package hr.tvz.java.freelance.freelancemanagementtool.session;
+
+import java.util.Optional;
+import java.util.concurrent.Callable;
+
+/**
+ * Binds a session to the thread handling a request, so code deep in the call chain
+ * (such as repository auditing) can attribute work to the right user.
+ * The wrap methods capture the caller's session and restore it on the worker thread
+ * that eventually runs the task.
+ */
+public final class SessionContext {
+
+    private static final ThreadLocal<Session> CURRENT = new ThreadLocal<>();
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     */
+    private SessionContext() {}
+
+    /**
+     * Gets the session bound to the current thread
+     *
+     * @return The bound session, or empty if none is bound
+     */
+    public static Optional<Session> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    /**
+     * Runs an action with the session bound to the current thread.
+     *
+     * @param session The session to bind
+     * @param action The action to run
+     */
+    public static void runAs(Session session, Runnable action) {
+        Session previous = CURRENT.get();
+        CURRENT.set(session);
+        try {
+            action.run();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /**
+     * Calls an action with the session bound to the current thread.
+     *
+     * @param session The session to bind
+     * @param action The action to call
+     * @param <V> Result type
+     * @return The action's result
+     * @throws Exception if the action throws
+     */
+    public static <V> V callAs(Session session, Callable<V> action) throws Exception {
+        Session previous = CURRENT.get();
+        CURRENT.set(session);
+        try {
+            return action.call();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /**
+     * Wraps a task so it runs with the caller's current session, whichever thread executes it.
+     *
+     * @param task The task to wrap
+     * @return The wrapped task
+     */
+    public static Runnable wrap(Runnable task) {
+        Session session = SessionManager.getCurrentSession();
+        return session == null ? task : () -> runAs(session, task);
+    }
+
+    /**
+     * Wraps a task so it runs with the caller's current session, whichever thread executes it.
+     *
+     * @param task The task to wrap
+     * @param <V> Result type
+     * @return The wrapped task
+     */
+    public static <V> Callable<V> wrap(Callable<V> task) {
+        Session session = SessionManager.getCurrentSession();
+        return session == null ? task : () -> callAs(session, task);
+    }
+
+    private static void restore(Session previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
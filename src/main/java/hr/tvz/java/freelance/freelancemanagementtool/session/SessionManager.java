@@ -4,12 +4,13 @@ import hr.tvz.java.freelance.freelancemanagementtool.enums.UserRole;
 
 /**
  * Manages the user session throughout the application's lifecycle.
- * This class holds the state of the currently logged-in user.
+ * The desktop application has a single interactive session; server and batch code can bind
+ * other sessions to the current thread with {@link SessionContext}, which take precedence.
+ * All reads are lock-free and safe from any thread.
  */
 public final class SessionManager {
 
-    private static Long currentUserId;
-    private static UserRole currentUserRole;
+    private static volatile Session interactiveSession;
 
     /**
      * Private constructor to prevent instantiation of this utility class.
@@ -23,16 +24,23 @@ public final class SessionManager {
      * @param role The role of the logged-in user.
      */
     public static void login(Long userId, UserRole role) {
-        currentUserId = userId;
-        currentUserRole = role;
+        interactiveSession = new Session("interactive", userId, role);
     }
 
     /**
      * Logs the current user out by clearing session details.
      */
     public static void logout() {
-        currentUserId = null;
-        currentUserRole = null;
+        interactiveSession = null;
+    }
+
+    /**
+     * Retrieves the session of the current thread, falling back to the interactive session.
+     *
+     * @return The current session, or null if no user is logged in.
+     */
+    public static Session getCurrentSession() {
+        return SessionContext.current().orElse(interactiveSession);
     }
 
     /**
@@ -41,7 +49,8 @@ public final class SessionManager {
      * @return The user ID, or null if no user is logged in.
      */
     public static Long getCurrentUserId() {
-        return currentUserId;
+        Session session = getCurrentSession();
+        return session != null ? session.getUserId() : null;
     }
 
     /**
@@ -50,7 +59,8 @@ public final class SessionManager {
      * @return The user's role, or null if no user is logged in.
      */
     public static UserRole getCurrentUserRole() {
-        return currentUserRole;
+        Session session = getCurrentSession();
+        return session != null ? session.getRole() : null;
     }
 
     /**
@@ -59,6 +69,6 @@ public final class SessionManager {
      * @return true if the user is an ADMIN, false otherwise.
      */
     public static boolean isAdmin() {
-        return UserRole.ADMIN.equals(currentUserRole);
+        return UserRole.ADMIN.equals(getCurrentUserRole());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,247 @@
+package hr.tvz.java.freelance.freelancemanagementtool.session;
+
+import hr.tvz.java.freelance.freelancemanagementtool.enums.UserRole;
+import hr.tvz.java.freelance.freelancemanagementtool.exception.ConfigurationException;
+import hr.tvz.java.freelance.freelancemanagementtool.util.AppProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Issues and validates short-lived, HMAC-SHA256 signed session tokens, so a user who locked the
+ * application can unlock it without paying the BCrypt cost again. A token is stored locally after
+ * a password login and accepted until it expires or is revoked; revoked token IDs are kept in a
+ * file until their expiry so a copied token cannot be replayed after logout.
+ */
+public final class SessionTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SessionTokenService.class);
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final int KEY_BYTES = 32;
+    private static final Path KEY_FILE = Path.of("data/session.key");
+    private static final Path TOKEN_FILE = Path.of("data/session.token");
+    private static final Path REVOCATION_FILE = Path.of("data/revoked_tokens.txt");
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    private static final SessionTokenService INSTANCE = new SessionTokenService();
+
+    private final long ttlMinutes = Math.max(1, AppProperties.getLong("session.tokenTtlMinutes", 15));
+    private final Map<String, Instant> revokedTokens = new ConcurrentHashMap<>();
+    private final ThreadLocal<Mac> macs;
+
+    /**
+     * The verified content of a token.
+     *
+     * @param tokenId Unique token ID, used for revocation
+     * @param userId ID of the user the token was issued to
+     * @param role Role of the user
+     * @param expiresAt Expiry time of the token
+     * @param username Username of the user
+     */
+    public record TokenClaims(String tokenId, long userId, UserRole role, Instant expiresAt, String username) {}
+
+    private SessionTokenService() {
+        SecretKeySpec key = new SecretKeySpec(loadOrCreateKey(), HMAC_ALGORITHM);
+        macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new ConfigurationException("HMAC-SHA256 is not available.", e);
+            }
+        });
+        loadRevocations();
+    }
+
+    /**
+     * Gets the shared token service
+     *
+     * @return Token service instance
+     */
+    public static SessionTokenService getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Issues a new token for a user who just verified their password and stores it locally.
+     *
+     * @param userId ID of the user
+     * @param username Username of the user
+     * @param role Role of the user
+     * @return The signed token
+     */
+    public String issueAndStore(long userId, String username, UserRole role) {
+        Instant expiresAt = Instant.now().plus(ttlMinutes, ChronoUnit.MINUTES).truncatedTo(ChronoUnit.SECONDS);
+        String payload = String.join("|", UUID.randomUUID().toString(), Long.toString(userId), role.name(),
+                Long.toString(expiresAt.getEpochSecond()), username);
+        byte[] payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
+        String token = ENCODER.encodeToString(payloadBytes) + "." + ENCODER.encodeToString(sign(payloadBytes));
+        try {
+            Files.createDirectories(TOKEN_FILE.toAbsolutePath().getParent());
+            Files.writeString(TOKEN_FILE, token);
+        } catch (IOException e) {
+            logger.warn("Could not store the session token, unlocking will require the password.", e);
+        }
+        return token;
+    }
+
+    /**
+     * Validates the locally stored token, if there is one.
+     *
+     * @return The token's claims, or empty if there is no valid stored token
+     */
+    public Optional<TokenClaims> validateStoredToken() {
+        if (!Files.exists(TOKEN_FILE)) {
+            return Optional.empty();
+        }
+        try {
+            return validate(Files.readString(TOKEN_FILE).trim());
+        } catch (IOException e) {
+            logger.warn("Could not read the stored session token.", e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Validates a token's signature, expiry and revocation status.
+     *
+     * @param token The token
+     * @return The token's claims, or empty if the token is invalid, expired or revoked
+     */
+    public Optional<TokenClaims> validate(String token) {
+        int separator = token.indexOf('.');
+        if (separator < 0) {
+            return Optional.empty();
+        }
+        try {
+            byte[] payload = DECODER.decode(token.substring(0, separator));
+            byte[] signature = DECODER.decode(token.substring(separator + 1));
+            if (!MessageDigest.isEqual(sign(payload), signature)) {
+                logger.warn("Rejected a session token with an invalid signature.");
+                return Optional.empty();
+            }
+            String[] fields = new String(payload, StandardCharsets.UTF_8).split("\\|", 5);
+            TokenClaims claims = new TokenClaims(fields[0], Long.parseLong(fields[1]), UserRole.valueOf(fields[2]),
+                    Instant.ofEpochSecond(Long.parseLong(fields[3])), fields[4]);
+            if (!Instant.now().isBefore(claims.expiresAt()) || revokedTokens.containsKey(claims.tokenId())) {
+                return Optional.empty();
+            }
+            return Optional.of(claims);
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            logger.warn("Rejected a malformed session token.");
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Revokes the locally stored token and deletes it, e.g. on logout.
+     */
+    public void revokeStoredToken() {
+        validateStoredToken().ifPresent(this::revoke);
+        try {
+            Files.deleteIfExists(TOKEN_FILE);
+        } catch (IOException e) {
+            logger.warn("Could not delete the stored session token.", e);
+        }
+    }
+
+    /**
+     * Revokes and deletes the locally stored token if it was issued to the given user,
+     * e.g. when the user is deleted or their role changes.
+     *
+     * @param userId ID of the user
+     */
+    public void revokeTokensOf(long userId) {
+        if (validateStoredToken().filter(claims -> claims.userId() == userId).isPresent()) {
+            revokeStoredToken();
+        }
+    }
+
+    /**
+     * Adds a token to the revocation list until it expires.
+     *
+     * @param claims The claims of the token to revoke
+     */
+    public void revoke(TokenClaims claims) {
+        revokedTokens.put(claims.tokenId(), claims.expiresAt());
+        try {
+            Files.writeString(REVOCATION_FILE, claims.tokenId() + " " + claims.expiresAt().getEpochSecond() + System.lineSeparator(),
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            logger.error("Could not persist the revocation of token {}.", claims.tokenId(), e);
+        }
+        logger.info("Revoked session token of user '{}'.", claims.username());
+    }
+
+    private byte[] sign(byte[] payload) {
+        return macs.get().doFinal(payload);
+    }
+
+    /**
+     * Loads the revocation list, dropping entries of tokens that have expired anyway.
+     */
+    private void loadRevocations() {
+        if (!Files.exists(REVOCATION_FILE)) {
+            return;
+        }
+        try {
+            Instant now = Instant.now();
+            List<String> lines = Files.readAllLines(REVOCATION_FILE);
+            for (String line : lines) {
+                String[] fields = line.trim().split(" ");
+                if (fields.length == 2) {
+                    Instant expiresAt = Instant.ofEpochSecond(Long.parseLong(fields[1]));
+                    if (now.isBefore(expiresAt)) {
+                        revokedTokens.put(fields[0], expiresAt);
+                    }
+                }
+            }
+            if (revokedTokens.size() < lines.size()) {
+                StringBuilder live = new StringBuilder();
+                revokedTokens.forEach((id, expiresAt) -> live.append(id).append(' ').append(expiresAt.getEpochSecond()).append(System.lineSeparator()));
+                Files.writeString(REVOCATION_FILE, live);
+            }
+        } catch (IOException | NumberFormatException e) {
+            logger.warn("Could not read the token revocation list.", e);
+        }
+    }
+
+    private static byte[] loadOrCreateKey() {
+        try {
+            if (Files.exists(KEY_FILE)) {
+                return Files.readAllBytes(KEY_FILE);
+            }
+            byte[] key = new byte[KEY_BYTES];
+            new SecureRandom().nextBytes(key);
+            Files.createDirectories(KEY_FILE.toAbsolutePath().getParent());
+            Files.write(KEY_FILE, key, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+            try {
+                Files.setPosixFilePermissions(KEY_FILE, PosixFilePermissions.fromString("rw-------"));
+            } catch (UnsupportedOperationException e) {
+                logger.debug("File system does not support POSIX permissions, key file permissions unchanged.");
+            }
+            logger.info("Generated a new session token signing key in {}", KEY_FILE);
+            return key;
+        } catch (IOException e) {
+            throw new ConfigurationException("Session token signing key could not be loaded.", e);
+        }
+    }
+}
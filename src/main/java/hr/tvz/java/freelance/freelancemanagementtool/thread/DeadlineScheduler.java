@@ -0,0 +1,233 @@
+package hr.tvz.java.freelance.freelancemanagementtool.thread;
+
+import hr.tvz.java.freelance.freelancemanagementtool.enums.ProjectStatus;
+import hr.tvz.java.freelance.freelancemanagementtool.event.EntityChange;
+import hr.tvz.java.freelance.freelancemanagementtool.event.EntityEventBus;
+import hr.tvz.java.freelance.freelancemanagementtool.exception.DatabaseReadException;
+import hr.tvz.java.freelance.freelancemanagementtool.exception.DatabaseWriteException;
+import hr.tvz.java.freelance.freelancemanagementtool.model.Project;
+import hr.tvz.java.freelance.freelancemanagementtool.repository.ProjectDatabaseRepository;
+import hr.tvz.java.freelance.freelancemanagementtool.repository.ProjectNotificationRepository;
+import hr.tvz.java.freelance.freelancemanagementtool.service.DeadlineService;
+import hr.tvz.java.freelance.freelancemanagementtool.util.StartupTimeline;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Reminds about projects in progress whose deadline is coming up, without polling the database.
+ * The projects are read once through the index on status and deadline, and kept in a priority queue
+ * ordered by the time their reminder is due. Project changes from the {@link EntityEventBus} keep the queue up to date,
+ * and the scheduler thread only wakes up when the earliest reminder is due.
+ * <p>
+ * Which deadlines were already reminded about is stored in the database, so a restart does not
+ * remind again. All reminders due at the same time are handed to the handler as one digest.
+ * <p>
+ * All state is owned by the single scheduler thread, which also receives the change batches.
+ * This class has no JavaFX dependencies; the handler decides how a reminder is shown.
+ */
+public class DeadlineScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(DeadlineScheduler.class);
+    private static final long SEED_RETRY_MINUTES = 1;
+    /**
+     * The scheduler thread's timer does not advance while the machine sleeps,
+     * so long waits are split to notice a due reminder soon after a resume.
+     */
+    private static final long MAX_SLEEP_MINUTES = 60;
+
+    private final int thresholdDays;
+    private final Consumer<List<DeadlineService.DeadlineReminder>> handler;
+    private final ProjectDatabaseRepository projectRepository = new ProjectDatabaseRepository();
+    private final ProjectNotificationRepository notificationRepository = new ProjectNotificationRepository();
+    private final ScheduledExecutorService executor;
+
+    private final PriorityQueue<PendingReminder> queue = new PriorityQueue<>(Comparator.comparing(PendingReminder::dueAt));
+    private final Map<Long, PendingReminder> pendingByProjectId = new HashMap<>();
+    private final Map<Long, LocalDate> remindedDeadlines = new HashMap<>();
+    private ScheduledFuture<?> wakeUp;
+    private EntityEventBus.Subscription subscription;
+    private boolean seeded;
+
+    /**
+     * A reminder waiting in the queue.
+     *
+     * @param project The project
+     * @param dueAt Time from which the reminder is shown
+     */
+    private record PendingReminder(Project project, LocalDateTime dueAt) {}
+
+    /**
+     * Deadline scheduler constructor
+     *
+     * @param thresholdDays Number of days before the deadline from which a project is reminded about
+     * @param handler Called on the scheduler thread with all reminders that became due together, soonest deadline first
+     */
+    public DeadlineScheduler(int thresholdDays, Consumer<List<DeadlineService.DeadlineReminder>> handler) {
+        this.thresholdDays = thresholdDays;
+        this.handler = handler;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "deadline-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Loads the projects after the initial delay, so that the first query does not compete with
+     * application startup, and from then on listens for project changes.
+     * Does nothing if the scheduler was already shut down, e.g. when the application closed during startup.
+     *
+     * @param initialDelayMs Delay before the projects are loaded
+     */
+    public synchronized void start(long initialDelayMs) {
+        if (executor.isShutdown()) {
+            return;
+        }
+        executor.schedule(this::seed, initialDelayMs, TimeUnit.MILLISECONDS);
+        logger.info("Deadline scheduler started, loading projects in {} ms.", initialDelayMs);
+    }
+
+    /**
+     * Stops the scheduler. Pending reminders are discarded.
+     */
+    public synchronized void shutdown() {
+        if (subscription != null) {
+            subscription.close();
+        }
+        executor.shutdownNow();
+    }
+
+    /**
+     * Subscribes to project changes, then loads the reminded deadlines and the projects. Subscribing first
+     * means no change is missed. Change batches run on the scheduler thread too and are ignored until a load
+     * succeeded, which reads their changes from the database anyway, so none is applied before the reminded
+     * deadlines are known and a restart never reminds about a deadline again.
+     */
+    private void seed() {
+        if (!subscribe()) {
+            return;
+        }
+        try {
+            LocalDate today = LocalDate.now();
+            queue.clear();
+            pendingByProjectId.clear();
+            remindedDeadlines.putAll(notificationRepository.findNotifiedDeadlines());
+            for (Project project : projectRepository.findByStatusDueFrom(ProjectStatus.IN_PROGRESS, today)) {
+                schedule(project);
+            }
+            seeded = true;
+            StartupTimeline.mark("deadline-scheduler-seeded");
+            logger.info("Deadline scheduler loaded {} project(s) in progress.", pendingByProjectId.size());
+            wakeUpForNextReminder();
+        } catch (DatabaseReadException e) {
+            logger.error("Error reading projects from database for the deadline scheduler, retrying.", e);
+            executor.schedule(this::seed, SEED_RETRY_MINUTES, TimeUnit.MINUTES);
+        }
+    }
+
+    private synchronized boolean subscribe() {
+        if (executor.isShutdown()) {
+            return false;
+        }
+        if (subscription == null) {
+            subscription = EntityEventBus.getInstance().subscribe(Project.class, executor, this::apply);
+        }
+        return true;
+    }
+
+    private void apply(List<EntityChange<Project>> changes) {
+        if (!seeded) {
+            return;
+        }
+        for (EntityChange<Project> change : changes) {
+            Project project = change.entity();
+            if (change.type() == EntityChange.Type.DELETED) {
+                unschedule(project.getId());
+                remindedDeadlines.remove(project.getId());
+            } else {
+                schedule(project);
+            }
+        }
+        wakeUpForNextReminder();
+    }
+
+    /**
+     * Queues the reminder of a project, replacing its previous one. Projects that are not in progress
+     * or were already reminded about for the same deadline are not queued.
+     */
+    private void schedule(Project project) {
+        unschedule(project.getId());
+        if (project.getStatus() != ProjectStatus.IN_PROGRESS || project.getDeadline() == null
+                || project.getDeadline().equals(remindedDeadlines.get(project.getId()))) {
+            return;
+        }
+        PendingReminder reminder = new PendingReminder(project, project.getDeadline().minusDays(thresholdDays).atStartOfDay());
+        pendingByProjectId.put(project.getId(), reminder);
+        queue.add(reminder);
+    }
+
+    private void unschedule(long projectId) {
+        PendingReminder previous = pendingByProjectId.remove(projectId);
+        if (previous != null) {
+            queue.remove(previous);
+        }
+    }
+
+    /**
+     * Hands all due reminders to the handler as one digest and records them in the database.
+     * Reminders whose deadline passed in the meantime are dropped.
+     */
+    private void remindDue() {
+        LocalDateTime now = LocalDateTime.now();
+        List<DeadlineService.DeadlineReminder> digest = new ArrayList<>();
+        Map<Long, LocalDate> notified = new HashMap<>();
+        while (!queue.isEmpty() && !queue.peek().dueAt().isAfter(now)) {
+            Project project = queue.poll().project();
+            pendingByProjectId.remove(project.getId());
+            DeadlineService.DeadlineReminder reminder = DeadlineService.reminderFor(project, now.toLocalDate());
+            if (reminder.daysLeft() >= 0) {
+                digest.add(reminder);
+                notified.put(project.getId(), project.getDeadline());
+            }
+        }
+        if (!digest.isEmpty()) {
+            remindedDeadlines.putAll(notified);
+            try {
+                notificationRepository.markNotified(notified, now);
+            } catch (DatabaseWriteException e) {
+                logger.error("Failed to record deadline notifications, they may be repeated after a restart.", e);
+            }
+            digest.sort(Comparator.comparingLong(DeadlineService.DeadlineReminder::daysLeft));
+            logger.info("Deadline digest triggered for {} project(s).", digest.size());
+            try {
+                handler.accept(digest);
+            } catch (RuntimeException e) {
+                logger.error("Deadline reminder handler failed.", e);
+            }
+        }
+        wakeUpForNextReminder();
+    }
+
+    private void wakeUpForNextReminder() {
+        if (wakeUp != null) {
+            wakeUp.cancel(false);
+            wakeUp = null;
+        }
+        PendingReminder next = queue.peek();
+        if (next == null) {
+            return;
+        }
+        long delayMs = Math.max(0, Duration.between(LocalDateTime.now(), next.dueAt()).toMillis());
+        wakeUp = executor.schedule(this::remindDue, Math.min(delayMs, TimeUnit.MINUTES.toMillis(MAX_SLEEP_MINUTES)), TimeUnit.MILLISECONDS);
+    }
+}
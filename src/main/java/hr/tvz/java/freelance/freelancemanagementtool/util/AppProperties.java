@@ -0,0 +1,105 @@
+package hr.tvz.java.freelance.freelancemanagementtool.util;
+
+import hr.tvz.java.freelance.freelancemanagementtool.exception.ConfigurationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+/**
+ * Application settings loaded once from {@code app.properties} on the classpath.
+ * A file with the same name in the working directory overrides the bundled values,
+ * so deployments can be tuned without rebuilding.
+ */
+public final class AppProperties {
+
+    private static final Logger logger = LoggerFactory.getLogger(AppProperties.class);
+    private static final String PROPERTIES_FILE = "app.properties";
+    private static final Properties properties = load();
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     */
+    private AppProperties() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    private static Properties load() {
+        Properties props = new Properties();
+        try (InputStream in = AppProperties.class.getResourceAsStream("/" + PROPERTIES_FILE)) {
+            if (in != null) {
+                props.load(in);
+            }
+            Path override = Path.of(PROPERTIES_FILE);
+            if (Files.isReadable(override)) {
+                try (Reader reader = Files.newBufferedReader(override)) {
+                    props.load(reader);
+                }
+                logger.info("Loaded application settings override from {}", override.toAbsolutePath());
+            }
+        } catch (IOException e) {
+            throw new ConfigurationException("Application settings could not be read.", e);
+        }
+        return props;
+    }
+
+    /**
+     * Gets a string setting
+     *
+     * @param key Setting name
+     * @param defaultValue Value used when the setting is missing
+     * @return Setting value
+     */
+    public static String getString(String key, String defaultValue) {
+        String value = properties.getProperty(key);
+        return value != null ? value.trim() : defaultValue;
+    }
+
+    /**
+     * Gets an integer setting
+     *
+     * @param key Setting name
+     * @param defaultValue Value used when the setting is missing or invalid
+     * @return Setting value
+     */
+    public static int getInt(String key, int defaultValue) {
+        return (int) getLong(key, defaultValue);
+    }
+
+    /**
+     * Gets a long setting
+     *
+     * @param key Setting name
+     * @param defaultValue Value used when the setting is missing or invalid
+     * @return Setting value
+     */
+    public static long getLong(String key, long defaultValue) {
+        String value = properties.getProperty(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid numeric value '{}' for setting {}, using {}.", value, key, defaultValue);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Gets a boolean setting
+     *
+     * @param key Setting name
+     * @param defaultValue Value used when the setting is missing
+     * @return Setting value
+     */
+    public static boolean getBoolean(String key, boolean defaultValue) {
+        String value = properties.getProperty(key);
+        return value == null ? defaultValue : Boolean.parseBoolean(value.trim());
+    }
+}
@@ -0,0 +1,66 @@
+package hr.tvz.java.freelance.freelancemanagementtool.util;
+
+import javafx.concurrent.Task;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Shared worker threads for JavaFX tasks that load data for the screens,
+ * so database reads never run on the FX application thread.
+ */
+public final class BackgroundExecutor {
+
+    private static final AtomicInteger threadNumber = new AtomicInteger();
+    private static final ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "ui-loader-" + threadNumber.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     */
+    private BackgroundExecutor() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Runs a task on a worker thread.
+     *
+     * @param task The task to run
+     * @param <T> Result type of the task
+     * @return The same task, so callers can keep it for cancellation
+     */
+    public static <T> Task<T> execute(Task<T> task) {
+        executor.execute(task);
+        return task;
+    }
+
+    /**
+     * Cancels a task without interrupting its worker thread. The task's result is discarded and its
+     * success handler never runs, but a database call already in progress is allowed to finish:
+     * interrupting a thread inside H2's file I/O closes the file channel and with it the database.
+     *
+     * @param task The task to cancel, may be null
+     */
+    public static void cancel(Task<?> task) {
+        if (task != null) {
+            task.cancel(false);
+        }
+    }
+
+    /**
+     * Computes a value on a worker thread.
+     *
+     * @param supplier Computes the value
+     * @param <T> Type of the value
+     * @return A future completed with the value
+     */
+    public static <T> CompletableFuture<T> supply(Supplier<T> supplier) {
+        return CompletableFuture.supplyAsync(supplier, executor);
+    }
+}
@@ -0,0 +1,141 @@
+package hr.tvz.java.freelance.freelancemanagementtool.util;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.BitSet;
+
+/**
+ * A cron expression with the five standard fields: minute, hour, day of month, month and day of week.
+ * Each field accepts {@code *}, single values, ranges ({@code 1-5}), steps ({@code *}{@code /15}, {@code 0-30/10})
+ * and comma separated lists of those. Day of week is 0-7, where both 0 and 7 mean Sunday.
+ * As in cron, when both day fields are restricted a day matches if either of them matches.
+ */
+public final class CronExpression {
+
+    private static final int MAX_SEARCH_YEARS = 5;
+
+    private final String expression;
+    private final BitSet minutes;
+    private final BitSet hours;
+    private final BitSet daysOfMonth;
+    private final BitSet months;
+    private final BitSet daysOfWeek;
+    private final boolean anyDayOfMonth;
+    private final boolean anyDayOfWeek;
+
+    private CronExpression(String expression, String[] fields) {
+        this.expression = expression;
+        this.minutes = parseField(fields[0], 0, 59);
+        this.hours = parseField(fields[1], 0, 23);
+        this.daysOfMonth = parseField(fields[2], 1, 31);
+        this.months = parseField(fields[3], 1, 12);
+        this.daysOfWeek = parseField(fields[4], 0, 7);
+        if (daysOfWeek.get(7)) {
+            daysOfWeek.set(0);
+        }
+        this.anyDayOfMonth = "*".equals(fields[2]);
+        this.anyDayOfWeek = "*".equals(fields[4]);
+    }
+
+    /**
+     * Parses a cron expression.
+     *
+     * @param expression Five whitespace separated fields
+     * @return The parsed expression
+     * @throws IllegalArgumentException if the expression is invalid
+     */
+    public static CronExpression parse(String expression) {
+        String[] fields = expression.trim().split("\\s+");
+        if (fields.length != 5) {
+            throw new IllegalArgumentException("Cron expression must have 5 fields: " + expression);
+        }
+        return new CronExpression(expression.trim(), fields);
+    }
+
+    /**
+     * Finds the first matching minute after a time.
+     *
+     * @param after The time to search from, exclusive
+     * @return The next matching time, with zero seconds
+     * @throws IllegalStateException if nothing matches within the next few years, such as for February 30th
+     */
+    public LocalDateTime next(LocalDateTime after) {
+        LocalDateTime time = after.truncatedTo(ChronoUnit.MINUTES).plusMinutes(1);
+        LocalDateTime limit = after.plusYears(MAX_SEARCH_YEARS);
+        while (time.isBefore(limit)) {
+            if (!months.get(time.getMonthValue())) {
+                time = time.withDayOfMonth(1).truncatedTo(ChronoUnit.DAYS).plusMonths(1);
+            } else if (!dayMatches(time)) {
+                time = time.truncatedTo(ChronoUnit.DAYS).plusDays(1);
+            } else if (!hours.get(time.getHour())) {
+                time = time.truncatedTo(ChronoUnit.HOURS).plusHours(1);
+            } else if (!minutes.get(time.getMinute())) {
+                time = time.plusMinutes(1);
+            } else {
+                return time;
+            }
+        }
+        throw new IllegalStateException("Cron expression '" + expression + "' never matches.");
+    }
+
+    private boolean dayMatches(LocalDateTime time) {
+        boolean dayOfMonth = daysOfMonth.get(time.getDayOfMonth());
+        boolean dayOfWeek = daysOfWeek.get(time.getDayOfWeek().getValue() % 7);
+        if (anyDayOfMonth || anyDayOfWeek) {
+            return dayOfMonth && dayOfWeek;
+        }
+        return dayOfMonth || dayOfWeek;
+    }
+
+    private static BitSet parseField(String field, int min, int max) {
+        BitSet values = new BitSet(max + 1);
+        for (String part : field.split(",")) {
+            int step = 1;
+            String range = part;
+            int slash = part.indexOf('/');
+            if (slash >= 0) {
+                step = parseNumber(part.substring(slash + 1), 1, Integer.MAX_VALUE, part);
+                range = part.substring(0, slash);
+            }
+            int from;
+            int to;
+            if ("*".equals(range)) {
+                from = min;
+                to = max;
+            } else if (range.contains("-")) {
+                String[] bounds = range.split("-", 2);
+                from = parseNumber(bounds[0], min, max, part);
+                to = parseNumber(bounds[1], from, max, part);
+            } else {
+                from = parseNumber(range, min, max, part);
+                to = slash >= 0 ? max : from;
+            }
+            for (int value = from; value <= to; value += step) {
+                values.set(value);
+            }
+        }
+        return values;
+    }
+
+    private static int parseNumber(String value, int min, int max, String part) {
+        try {
+            int number = Integer.parseInt(value);
+            if (number >= min && number <= max) {
+                return number;
+            }
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        throw new IllegalArgumentException("Invalid cron field '" + part + "'.");
+    }
+
+    /**
+     * Gets the expression text
+     *
+     * @return The expression as parsed
+     */
+    @Override
+    public String toString() {
+        return expression;
+    }
+}
@@ -3,7 +3,6 @@ package hr.tvz.java.freelance.freelancemanagementtool.util;
 import hr.tvz.java.freelance.freelancemanagementtool.FreelanceManagementApplication;
 import hr.tvz.java.freelance.freelancemanagementtool.controller.EditController;
 import hr.tvz.java.freelance.freelancemanagementtool.model.Entity;
-import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
@@ -11,14 +10,20 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
 
 /**
  * Generic class for displaying modals for editing/adding
  * Uses generics to make the code simpler
+ * The dialog views come from the {@link ViewCache} and their stages are reused, so a dialog is parsed
+ * and styled only once; its controller is reset before every use.
  */
 public class DialogHelper {
 
     private static final Logger logger = LoggerFactory.getLogger(DialogHelper.class);
+    private static final Map<String, Stage> dialogStages = new HashMap<>();
 
     /**
      * Private constructor to prevent instantiation of this utility class.
@@ -34,32 +39,50 @@ public class DialogHelper {
      * @param title Window title
      * @param entity Entity being edited
      * @param <T> Type of entity
-     * @return True if user saved the changes, false if not
+     * @return The saved entity, or empty if the user did not save
      */
-    public static <T extends Entity> boolean showEditDialog(String fxmlFile, String title, T entity) {
+    @SuppressWarnings("unchecked")
+    public static <T extends Entity> Optional<T> showEditDialog(String fxmlFile, String title, T entity) {
         try {
-            FXMLLoader loader = new FXMLLoader(FreelanceManagementApplication.class.getResource(fxmlFile));
-            Scene scene = new Scene(loader.load());
-            scene.getStylesheets().add(DialogHelper.class.getResource(Config.CSS_STYLESHEET).toExternalForm());
-
-            EditController<T> controller = loader.getController();
+            ViewCache.CachedView view = ViewCache.get(fxmlFile);
+            EditController<T> controller = (EditController<T>) view.controller();
+            controller.resetForm();
             if (entity != null) {
                 controller.setEntityToEdit(entity);
             }
 
-            Stage dialogStage = new Stage();
+            Stage dialogStage = getDialogStage(fxmlFile, view);
             dialogStage.setTitle(title);
-            dialogStage.initModality(Modality.WINDOW_MODAL);
-            dialogStage.initOwner(FreelanceManagementApplication.getMainStage());
-            dialogStage.setScene(scene);
-
             dialogStage.showAndWait();
 
-            return controller.isSaveClicked();
+            return controller.isSaveClicked() ? controller.getSavedEntity() : Optional.empty();
 
         } catch (IOException e) {
             logger.error("Failed to open the edit dialog: {}", fxmlFile, e);
-            return false;
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Gets the stage of a dialog, creating it when the dialog is opened for the first time
+     * or its view was reloaded after the cache was invalidated.
+     *
+     * @param fxmlFile FXML file name
+     * @param view The dialog view
+     * @return Stage showing the view
+     */
+    private static Stage getDialogStage(String fxmlFile, ViewCache.CachedView view) {
+        Stage dialogStage = dialogStages.get(fxmlFile);
+        if (dialogStage == null || dialogStage.getScene().getRoot() != view.root()) {
+            Scene scene = new Scene(view.root());
+            scene.getStylesheets().add(DialogHelper.class.getResource(Config.CSS_STYLESHEET).toExternalForm());
+
+            dialogStage = new Stage();
+            dialogStage.initModality(Modality.WINDOW_MODAL);
+            dialogStage.initOwner(FreelanceManagementApplication.getMainStage());
+            dialogStage.setScene(scene);
+            dialogStages.put(fxmlFile, dialogStage);
         }
+        return dialogStage;
     }
 }
\ No newline at end of file
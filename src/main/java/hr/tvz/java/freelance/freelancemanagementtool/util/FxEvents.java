@@ -0,0 +1,35 @@
+package hr.tvz.java.freelance.freelancemanagementtool.util;
+
+import hr.tvz.java.freelance.freelancemanagementtool.event.EntityChange;
+import hr.tvz.java.freelance.freelancemanagementtool.event.EntityEventBus;
+import hr.tvz.java.freelance.freelancemanagementtool.model.Entity;
+import javafx.application.Platform;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Subscribes JavaFX views to entity changes, delivering the batches on the JavaFX thread
+ * so listeners can update controls directly.
+ */
+public final class FxEvents {
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     */
+    private FxEvents() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Subscribes to the changes of an entity type on the JavaFX thread.
+     *
+     * @param type The entity class
+     * @param listener Receives the merged changes of each batch on the JavaFX thread
+     * @param <E> The entity type
+     * @return The subscription, to be closed when the view is disposed
+     */
+    public static <E extends Entity> EntityEventBus.Subscription subscribe(Class<E> type, Consumer<List<EntityChange<E>>> listener) {
+        return EntityEventBus.getInstance().subscribe(type, Platform::runLater, listener);
+    }
+}
@@ -0,0 +1,84 @@
+package hr.tvz.java.freelance.freelancemanagementtool.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Builds a flat JSON object written on a single line, for machine-readable command output.
+ * Numbers and booleans are written as JSON literals, every other value as a string.
+ */
+public final class JsonLine {
+
+    private final Map<String, Object> fields = new LinkedHashMap<>();
+
+    private JsonLine() {}
+
+    /**
+     * Starts a new line with its first field.
+     *
+     * @param key Field name
+     * @param value Field value
+     * @return The new line
+     */
+    public static JsonLine of(String key, Object value) {
+        return new JsonLine().put(key, value);
+    }
+
+    /**
+     * Adds a field, replacing an existing field with the same name.
+     *
+     * @param key Field name
+     * @param value Field value, may be null
+     * @return This line
+     */
+    public JsonLine put(String key, Object value) {
+        fields.put(key, value);
+        return this;
+    }
+
+    /**
+     * Gets the JSON text of the line
+     *
+     * @return JSON object without a trailing line break
+     */
+    @Override
+    public String toString() {
+        StringBuilder json = new StringBuilder("{");
+        for (Map.Entry<String, Object> field : fields.entrySet()) {
+            if (json.length() > 1) {
+                json.append(',');
+            }
+            appendString(json, field.getKey());
+            json.append(':');
+            Object value = field.getValue();
+            if (value == null || value instanceof Number || value instanceof Boolean) {
+                json.append(value);
+            } else {
+                appendString(json, value.toString());
+            }
+        }
+        return json.append('}').toString();
+    }
+
+    private static void appendString(StringBuilder json, String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+        json.append('"');
+    }
+}
@@ -0,0 +1,205 @@
+package hr.tvz.java.freelance.freelancemanagementtool.util;
+
+import javafx.animation.PauseTransition;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.collections.transformation.FilteredList;
+import javafx.collections.transformation.SortedList;
+import javafx.concurrent.Task;
+import javafx.scene.control.TableView;
+import javafx.util.Duration;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Filters the rows of a table as the user types. The table shows a single {@link FilteredList}
+ * and {@link SortedList} over the loaded data, and filtering only swaps the predicate instead of
+ * rebuilding the list. Requests are debounced, and for large lists the predicate is evaluated
+ * on a worker thread so that only the final set of matches is published to the table.
+ * The position of every row is kept by its ID, so patching single rows does not scan the list.
+ *
+ * @param <T> Type of the table rows
+ */
+public class LiveFilter<T> {
+
+    private static final Duration DEBOUNCE_DELAY = Duration.millis(250);
+    private static final int BACKGROUND_THRESHOLD = 2000;
+
+    private final ObservableList<T> source = FXCollections.observableArrayList();
+    private final ObservableList<T> readOnlySource = FXCollections.unmodifiableObservableList(source);
+    private final Map<Long, Integer> positions = new HashMap<>();
+    private final FilteredList<T> filtered = new FilteredList<>(source);
+    private final ToLongFunction<T> idFunction;
+    private final Supplier<Predicate<T>> predicateFactory;
+    private final PauseTransition debounce = new PauseTransition(DEBOUNCE_DELAY);
+    private Task<Set<T>> filterTask;
+
+    /**
+     * Creates the filter and makes the table show its sorted, filtered rows.
+     *
+     * @param table The table to populate
+     * @param idFunction Gets the ID of the entity shown in a row, used to patch single rows
+     * @param predicateFactory Creates the predicate of the current filter inputs, or null when nothing is filtered.
+     *                         It is called on the FX thread, but the predicate may be evaluated on a worker thread.
+     */
+    public LiveFilter(TableView<T> table, ToLongFunction<T> idFunction, Supplier<Predicate<T>> predicateFactory) {
+        this.idFunction = idFunction;
+        this.predicateFactory = predicateFactory;
+        SortedList<T> sorted = new SortedList<>(filtered);
+        sorted.comparatorProperty().bind(table.comparatorProperty());
+        table.setItems(sorted);
+        debounce.setOnFinished(event -> applyNow());
+    }
+
+    /**
+     * Gets the unfiltered rows. They are changed only through this filter, which keeps track of their positions.
+     *
+     * @return Read-only view of the unfiltered rows
+     */
+    public ObservableList<T> getSource() {
+        return readOnlySource;
+    }
+
+    /**
+     * Replaces all rows and applies the current filter to them.
+     *
+     * @param rows The new rows
+     */
+    public void setAll(List<T> rows) {
+        source.setAll(rows);
+        reindexFrom(0);
+        applyNow();
+    }
+
+    /**
+     * Adds a row, or replaces the row with the same ID in place, and re-applies the filter.
+     * Patching a single row keeps the table's selection and scroll position, unlike replacing all rows.
+     *
+     * @param row The new or changed row
+     */
+    public void upsert(T row) {
+        upsertAll(List.of(row));
+    }
+
+    /**
+     * Finds the row with the given ID among all rows, whether or not it passes the filter.
+     *
+     * @param id The row ID
+     * @return The row, or empty if there is none
+     */
+    public Optional<T> findById(long id) {
+        int index = indexOf(id);
+        return index >= 0 ? Optional.of(source.get(index)) : Optional.empty();
+    }
+
+    /**
+     * Replaces or adds several rows, matched by their ID, and re-applies the filter once.
+     *
+     * @param rows The new or changed rows
+     */
+    public void upsertAll(Collection<T> rows) {
+        for (T row : rows) {
+            int index = indexOf(idFunction.applyAsLong(row));
+            if (index >= 0) {
+                source.set(index, row);
+            } else {
+                positions.put(idFunction.applyAsLong(row), source.size());
+                source.add(row);
+            }
+        }
+        applyNow();
+    }
+
+    /**
+     * Removes the row with the given ID, if it is present.
+     *
+     * @param id ID of the row to remove
+     */
+    public void removeById(long id) {
+        int index = indexOf(id);
+        if (index >= 0) {
+            source.remove(index);
+            positions.remove(id);
+            reindexFrom(index);
+        }
+    }
+
+    private int indexOf(long id) {
+        Integer index = positions.get(id);
+        return index != null ? index : -1;
+    }
+
+    /**
+     * Records the positions of the rows from the given index on, after rows were replaced or removed.
+     */
+    private void reindexFrom(int start) {
+        if (start == 0) {
+            positions.clear();
+        }
+        for (int i = start; i < source.size(); i++) {
+            positions.put(idFunction.applyAsLong(source.get(i)), i);
+        }
+    }
+
+    /**
+     * Applies the filter once the inputs have not changed for a short while.
+     */
+    public void apply() {
+        debounce.playFromStart();
+    }
+
+    /**
+     * Applies the filter immediately, e.g. when the user explicitly asks for it.
+     */
+    public void applyNow() {
+        cancel();
+        Predicate<T> predicate = predicateFactory.get();
+        if (predicate == null || source.size() < BACKGROUND_THRESHOLD) {
+            filtered.setPredicate(predicate);
+            return;
+        }
+
+        List<T> snapshot = List.copyOf(source);
+        Task<Set<T>> task = new Task<>() {
+            @Override
+            protected Set<T> call() {
+                Set<T> matches = Collections.newSetFromMap(new IdentityHashMap<>());
+                for (T row : snapshot) {
+                    if (isCancelled()) {
+                        break;
+                    }
+                    if (predicate.test(row)) {
+                        matches.add(row);
+                    }
+                }
+                return matches;
+            }
+        };
+        task.setOnSucceeded(event -> {
+            Set<T> matches = task.getValue();
+            filtered.setPredicate(matches::contains);
+        });
+        filterTask = BackgroundExecutor.execute(task);
+    }
+
+    /**
+     * Cancels a pending or running filter evaluation.
+     */
+    public void cancel() {
+        debounce.stop();
+        if (filterTask != null) {
+            filterTask.cancel();
+            filterTask = null;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package hr.tvz.java.freelance.freelancemanagementtool.util;
+
+import hr.tvz.java.freelance.freelancemanagementtool.FreelanceManagementApplication;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListView;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.VBox;
+import javafx.stage.Stage;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * A single, non-modal window listing the notifications of the session, newest first.
+ * Posting a notification adds it to the list and brings the window up without blocking the
+ * JavaFX thread, so many notifications never turn into a queue of modal dialogs.
+ * All methods must be called on the JavaFX thread.
+ */
+public final class NotificationCenter {
+
+    private static final int MAX_NOTIFICATIONS = 100;
+    private static final int MAX_DETAIL_LINES = 20;
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("dd.MM.yyyy. HH:mm");
+
+    private static final ObservableList<String> notifications = FXCollections.observableArrayList();
+    private static Stage stage;
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     */
+    private NotificationCenter() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Adds a notification and shows the notification center.
+     * Long detail lists are shortened to keep the entry readable.
+     *
+     * @param title Summary of the notification
+     * @param details One line per item of the notification
+     */
+    public static void post(String title, List<String> details) {
+        StringBuilder text = new StringBuilder(TIME_FORMATTER.format(LocalDateTime.now())).append("  ").append(title);
+        details.stream().limit(MAX_DETAIL_LINES).forEach(line -> text.append("\n  • ").append(line));
+        if (details.size() > MAX_DETAIL_LINES) {
+            text.append("\n  … and ").append(details.size() - MAX_DETAIL_LINES).append(" more");
+        }
+        notifications.add(0, text.toString());
+        if (notifications.size() > MAX_NOTIFICATIONS) {
+            notifications.remove(MAX_NOTIFICATIONS, notifications.size());
+        }
+        show();
+    }
+
+    /**
+     * Shows the notification center, creating its window on first use.
+     */
+    public static void show() {
+        if (stage == null) {
+            stage = createStage();
+        }
+        stage.show();
+        stage.toFront();
+    }
+
+    private static Stage createStage() {
+        ListView<String> listView = new ListView<>(notifications);
+        listView.setPlaceholder(new Label("No notifications."));
+        VBox.setVgrow(listView, Priority.ALWAYS);
+
+        Button clearButton = new Button("Clear");
+        clearButton.setOnAction(event -> notifications.clear());
+        Button closeButton = new Button("Close");
+        HBox buttons = new HBox(10, clearButton, closeButton);
+        buttons.setAlignment(Pos.CENTER_RIGHT);
+
+        VBox root = new VBox(10, listView, buttons);
+        root.setPadding(new Insets(10));
+        Scene scene = new Scene(root, 420, 360);
+        scene.getStylesheets().add(NotificationCenter.class.getResource(Config.CSS_STYLESHEET).toExternalForm());
+
+        Stage notificationStage = new Stage();
+        notificationStage.initOwner(FreelanceManagementApplication.getMainStage());
+        notificationStage.setTitle("Notifications");
+        notificationStage.setScene(scene);
+        closeButton.setOnAction(event -> notificationStage.hide());
+        return notificationStage;
+    }
+}
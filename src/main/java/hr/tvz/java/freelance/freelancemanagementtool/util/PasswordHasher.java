@@ -0,0 +1,114 @@
+package hr.tvz.java.freelance.freelancemanagementtool.util;
+
+import at.favre.lib.crypto.bcrypt.BCrypt;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hashes passwords with BCrypt using a cost factor calibrated to the current machine,
+ * so verifying a password takes roughly the configured target time on both old and new hardware.
+ */
+public final class PasswordHasher {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHasher.class);
+    private static final int MIN_COST = Math.max(4, AppProperties.getInt("security.bcrypt.minCost", 10));
+    private static final int MAX_COST = Math.min(31, AppProperties.getInt("security.bcrypt.maxCost", 15));
+    private static final long TARGET_MILLIS = AppProperties.getLong("security.bcrypt.targetMillis", 250);
+    private static final int CALIBRATION_ROUNDS = 3;
+
+    private static volatile int cost = AppProperties.getInt("security.bcrypt.defaultCost", 12);
+    private static volatile boolean calibrated;
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     */
+    private PasswordHasher() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Benchmarks BCrypt at the minimum cost and picks the highest cost whose estimated
+     * verification time stays within the target. Every extra cost step doubles the work.
+     * Does nothing if calibration is disabled in the settings.
+     *
+     * @return The cost used from now on
+     */
+    public static int calibrate() {
+        if (!AppProperties.getBoolean("security.bcrypt.calibrate", true)) {
+            calibrated = true;
+            return cost;
+        }
+        char[] sample = "calibration-password".toCharArray();
+        String sampleHash = BCrypt.withDefaults().hashToString(MIN_COST, sample);
+
+        long bestNanos = Long.MAX_VALUE;
+        for (int i = 0; i < CALIBRATION_ROUNDS; i++) {
+            long start = System.nanoTime();
+            BCrypt.verifyer().verify(sample, sampleHash);
+            bestNanos = Math.min(bestNanos, System.nanoTime() - start);
+        }
+
+        long targetNanos = TimeUnit.MILLISECONDS.toNanos(TARGET_MILLIS);
+        int calibratedCost = MIN_COST;
+        long estimate = bestNanos;
+        while (calibratedCost < MAX_COST && estimate * 2 <= targetNanos) {
+            estimate *= 2;
+            calibratedCost++;
+        }
+        cost = calibratedCost;
+        calibrated = true;
+        logger.info("BCrypt calibrated to cost {} (~{} ms per verification, target {} ms).",
+                calibratedCost, TimeUnit.NANOSECONDS.toMillis(estimate), TARGET_MILLIS);
+        return calibratedCost;
+    }
+
+    /**
+     * Checks whether the cost has been calibrated, or calibration is disabled and the configured cost is final.
+     * Until then the current cost is only a default, and existing hashes must not be replaced because of it.
+     *
+     * @return true once the cost is final
+     */
+    public static boolean isCalibrated() {
+        return calibrated;
+    }
+
+    /**
+     * Gets the cost factor currently used for new hashes
+     *
+     * @return BCrypt cost
+     */
+    public static int getCost() {
+        return cost;
+    }
+
+    /**
+     * Hashes a password with the current cost factor.
+     *
+     * @param password The plain text password
+     * @return The BCrypt hash string
+     */
+    public static String hash(String password) {
+        return BCrypt.withDefaults().hashToString(cost, password.toCharArray());
+    }
+
+    /**
+     * Checks whether a hash was created with a different cost than the current one.
+     *
+     * @param hash A BCrypt hash string such as {@code $2a$12$...}
+     * @return true if the password should be hashed again
+     */
+    public static boolean needsRehash(String hash) {
+        return costOf(hash) != cost;
+    }
+
+    private static int costOf(String hash) {
+        String[] parts = hash.split("\\$");
+        try {
+            return parts.length > 2 ? Integer.parseInt(parts[2]) : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
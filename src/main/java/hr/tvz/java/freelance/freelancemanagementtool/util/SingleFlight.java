@@ -0,0 +1,167 @@
+package hr.tvz.java.freelance.freelancemanagementtool.util;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lets concurrent identical reads share one load. The first caller of a key runs the loader,
+ * and callers arriving while it runs wait for and receive the same result or failure.
+ * A successful result can optionally be reused for a short time after it was loaded.
+ * <p>
+ * {@link #invalidate()} must be called after every write the loaded data depends on: later calls
+ * then start a new load instead of joining a load that may have read the data before the write.
+ *
+ * @param <K> Key identifying identical reads
+ * @param <V> Result type, shared between the callers and therefore not to be modified
+ */
+public class SingleFlight<K, V> {
+
+    private final long ttlNanos;
+    private final Map<K, Flight<V>> flights = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong loads = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong cacheHits = new AtomicLong();
+
+    /**
+     * A load that can fail with a checked exception.
+     *
+     * @param <V> Result type
+     * @param <X> Exception type
+     */
+    @FunctionalInterface
+    public interface Loader<V, X extends Exception> {
+        /**
+         * Loads the result
+         *
+         * @return The result
+         * @throws X if the load fails
+         */
+        V load() throws X;
+    }
+
+    /**
+     * Counters of a single-flight group.
+     *
+     * @param calls Number of calls
+     * @param loads Number of calls that ran the loader
+     * @param coalesced Number of calls that joined a load already in progress
+     * @param cacheHits Number of calls answered with a result that was still fresh
+     */
+    public record Stats(long calls, long loads, long coalesced, long cacheHits) {}
+
+    /**
+     * Single-flight group constructor
+     *
+     * @param ttl How long a successful result is reused, zero to only share loads in progress
+     */
+    public SingleFlight(Duration ttl) {
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    /**
+     * Returns the result of the key, loading it unless a load is in progress or a fresh result exists.
+     *
+     * @param key Key identifying the read
+     * @param loader Loads the result
+     * @param failureType Checked exception type of the loader, rethrown to every waiting caller
+     * @param <X> Checked exception type of the loader
+     * @return The shared result
+     * @throws X if the load failed
+     */
+    public <X extends Exception> V execute(K key, Loader<V, X> loader, Class<X> failureType) throws X {
+        calls.incrementAndGet();
+        while (true) {
+            Flight<V> existing = flights.get(key);
+            if (existing != null) {
+                if (!existing.future.isDone()) {
+                    coalesced.incrementAndGet();
+                    return await(existing, failureType);
+                }
+                if (System.nanoTime() - existing.completedAt < ttlNanos) {
+                    cacheHits.incrementAndGet();
+                    return existing.future.join();
+                }
+                flights.remove(key, existing);
+            }
+            Flight<V> flight = new Flight<>(generation.get());
+            if (flights.putIfAbsent(key, flight) == null) {
+                loads.incrementAndGet();
+                return load(key, flight, loader);
+            }
+        }
+    }
+
+    /**
+     * Forgets all results and detaches the loads in progress, so the next call of every key loads again.
+     * Callers already waiting for a detached load still receive its result.
+     */
+    public void invalidate() {
+        generation.incrementAndGet();
+        flights.clear();
+    }
+
+    /**
+     * Gets the counters of this group
+     *
+     * @return Counters snapshot
+     */
+    public Stats getStats() {
+        return new Stats(calls.get(), loads.get(), coalesced.get(), cacheHits.get());
+    }
+
+    private <X extends Exception> V load(K key, Flight<V> flight, Loader<V, X> loader) throws X {
+        try {
+            V value = loader.load();
+            flight.completedAt = System.nanoTime();
+            flight.future.complete(value);
+            if (ttlNanos <= 0 || flight.generation != generation.get()) {
+                flights.remove(key, flight);
+            }
+            return value;
+        } catch (Throwable t) {
+            flights.remove(key, flight);
+            flight.future.completeExceptionally(t);
+            throw t;
+        }
+    }
+
+    private static <V, X extends Exception> V await(Flight<V> flight, Class<X> failureType) throws X {
+        try {
+            return flight.future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a shared load.", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (failureType.isInstance(cause)) {
+                throw failureType.cast(cause);
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Shared load failed.", cause);
+        }
+    }
+
+    /**
+     * A load in progress or its completed result.
+     */
+    private static final class Flight<V> {
+        private final CompletableFuture<V> future = new CompletableFuture<>();
+        private final long generation;
+        private volatile long completedAt;
+
+        private Flight(long generation) {
+            this.generation = generation;
+        }
+    }
+}
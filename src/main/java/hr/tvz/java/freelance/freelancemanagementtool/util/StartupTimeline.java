@@ -0,0 +1,72 @@
+package hr.tvz.java.freelance.freelancemanagementtool.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records how long each phase of the application startup takes.
+ * Times are measured from the start of the JVM process, so class loading before {@code main} is included.
+ * The whole timeline is logged once the deferred startup work has finished; later phases are logged individually.
+ */
+public final class StartupTimeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupTimeline.class);
+    private static final Instant processStart = ProcessHandle.current().info().startInstant().orElse(Instant.now());
+    private static final List<Phase> phases = new ArrayList<>();
+    private static boolean finished;
+
+    /**
+     * A reached startup phase.
+     *
+     * @param name Name of the phase
+     * @param sinceStartMillis Milliseconds since the process started
+     * @param thread Thread that reached the phase
+     */
+    private record Phase(String name, long sinceStartMillis, String thread) {}
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     */
+    private StartupTimeline() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Records that a startup phase has been reached.
+     *
+     * @param name Name of the phase
+     */
+    public static synchronized void mark(String name) {
+        Phase phase = new Phase(name, Duration.between(processStart, Instant.now()).toMillis(), Thread.currentThread().getName());
+        if (finished) {
+            logger.info("Startup phase '{}' reached {} ms after process start.", phase.name(), phase.sinceStartMillis());
+            return;
+        }
+        phases.add(phase);
+        logger.debug("Startup phase '{}' reached {} ms after process start.", phase.name(), phase.sinceStartMillis());
+    }
+
+    /**
+     * Logs the recorded timeline. Called once all startup work, including the deferred work, is done.
+     */
+    public static synchronized void finish() {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        StringBuilder timeline = new StringBuilder("Startup timeline:");
+        long previous = 0;
+        for (Phase phase : phases) {
+            timeline.append(System.lineSeparator())
+                    .append(String.format("  %-24s %6d ms  (+%d ms, %s)", phase.name(), phase.sinceStartMillis(),
+                            phase.sinceStartMillis() - previous, phase.thread()));
+            previous = phase.sinceStartMillis();
+        }
+        logger.info("{}", timeline);
+    }
+}
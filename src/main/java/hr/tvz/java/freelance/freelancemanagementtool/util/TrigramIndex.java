@@ -0,0 +1,283 @@
+package hr.tvz.java.freelance.freelancemanagementtool.util;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * An in-memory substring index over entity names. Names are normalized once when they are
+ * indexed (case folded and stripped of accents, so "Đurić" matches "duric"), and every trigram
+ * of a normalized name maps to a sorted posting list of entity IDs. A query intersects the posting
+ * lists of its trigrams, starting from the shortest, and only the few remaining candidates are
+ * checked with a real substring comparison. Queries shorter than three characters fall back to a
+ * scan over the pre-normalized names.
+ * <p>
+ * Every single change is numbered. A full rebuild is given the number at which its names were read,
+ * and keeps the changes made after that point, so a slow load never undoes a write that finished first.
+ */
+public class TrigramIndex {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private final Map<Long, String> normalizedNames = new HashMap<>();
+    private final Map<Long, PostingList> postings = new HashMap<>();
+    private final Map<Long, Long> changedAt = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private long version;
+    private long rebuiltAt = -1;
+
+    /**
+     * Normalizes a name or query for matching: accents are removed and the text is lower-cased.
+     *
+     * @param text The text to normalize
+     * @return The normalized text
+     */
+    public static String normalize(String text) {
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("")
+                .toLowerCase(Locale.ROOT)
+                .replace('đ', 'd')
+                .replace('ł', 'l')
+                .replace('ø', 'o')
+                .replace("ß", "ss");
+    }
+
+    /**
+     * Replaces the whole index content.
+     *
+     * @param names Names by entity ID
+     */
+    public void rebuild(Map<Long, String> names) {
+        rebuild(names, getVersion());
+    }
+
+    /**
+     * Gets the number of the latest single change. Read it before loading the names for
+     * {@link #rebuild(Map, long)}.
+     *
+     * @return Change number
+     */
+    public long getVersion() {
+        lock.readLock().lock();
+        try {
+            return version;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the index content with names that were read after the given change. Entities put or
+     * removed since then keep their current state, since the names may predate those changes.
+     * A rebuild from names read before those of an earlier rebuild is ignored.
+     *
+     * @param names Names by entity ID
+     * @param readAtVersion Value of {@link #getVersion()} before the names were read
+     */
+    public void rebuild(Map<Long, String> names, long readAtVersion) {
+        lock.writeLock().lock();
+        try {
+            if (readAtVersion < rebuiltAt) {
+                return;
+            }
+            Map<Long, String> laterChanges = new HashMap<>();
+            changedAt.forEach((id, changeVersion) -> {
+                if (changeVersion > readAtVersion) {
+                    laterChanges.put(id, normalizedNames.get(id));
+                }
+            });
+            normalizedNames.clear();
+            postings.clear();
+            names.forEach(this::add);
+            laterChanges.forEach((id, normalized) -> {
+                removeInternal(id);
+                if (normalized != null) {
+                    add(id, normalized);
+                }
+            });
+            postings.values().forEach(PostingList::trim);
+            changedAt.keySet().retainAll(laterChanges.keySet());
+            rebuiltAt = readAtVersion;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds an entity to the index or replaces its indexed name.
+     *
+     * @param id ID of the entity
+     * @param name Name of the entity
+     */
+    public void put(long id, String name) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+            add(id, name);
+            changedAt.put(id, ++version);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes an entity from the index.
+     *
+     * @param id ID of the entity
+     */
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+            changedAt.put(id, ++version);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the IDs of all entities whose normalized name contains the normalized query.
+     *
+     * @param query The text to search for
+     * @return IDs of the matching entities, or empty if the query is blank
+     */
+    public Optional<Set<Long>> search(String query) {
+        String normalizedQuery = normalize(query.strip());
+        if (normalizedQuery.isEmpty()) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            Set<Long> matches = new HashSet<>();
+            if (normalizedQuery.length() < 3) {
+                normalizedNames.forEach((id, name) -> {
+                    if (name.contains(normalizedQuery)) {
+                        matches.add(id);
+                    }
+                });
+                return Optional.of(matches);
+            }
+
+            List<PostingList> lists = new ArrayList<>();
+            for (long trigram : trigrams(normalizedQuery)) {
+                PostingList list = postings.get(trigram);
+                if (list == null) {
+                    return Optional.of(matches);
+                }
+                lists.add(list);
+            }
+            lists.sort(Comparator.comparingInt(PostingList::size));
+
+            long[] candidates = Arrays.copyOf(lists.get(0).ids, lists.get(0).size);
+            int count = candidates.length;
+            for (int i = 1; i < lists.size() && count > 0; i++) {
+                count = lists.get(i).retainIn(candidates, count);
+            }
+            for (int i = 0; i < count; i++) {
+                if (normalizedNames.get(candidates[i]).contains(normalizedQuery)) {
+                    matches.add(candidates[i]);
+                }
+            }
+            return Optional.of(matches);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void add(long id, String name) {
+        String normalized = normalize(name);
+        normalizedNames.put(id, normalized);
+        for (long trigram : trigrams(normalized)) {
+            postings.computeIfAbsent(trigram, key -> new PostingList()).add(id);
+        }
+    }
+
+    private void removeInternal(long id) {
+        String normalized = normalizedNames.remove(id);
+        if (normalized == null) {
+            return;
+        }
+        for (long trigram : trigrams(normalized)) {
+            PostingList list = postings.get(trigram);
+            if (list != null && list.remove(id) && list.size == 0) {
+                postings.remove(trigram);
+            }
+        }
+    }
+
+    /**
+     * Gets the distinct trigrams of a normalized text, each packed into a long.
+     */
+    private static Set<Long> trigrams(String text) {
+        Set<Long> trigrams = new HashSet<>();
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            trigrams.add(((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2));
+        }
+        return trigrams;
+    }
+
+    /**
+     * A growable, sorted array of entity IDs. IDs are usually added in increasing order,
+     * which makes adding an append.
+     */
+    private static final class PostingList {
+
+        private long[] ids = new long[4];
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        void add(long id) {
+            int index = size == 0 || ids[size - 1] < id ? -(size + 1) : Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                return;
+            }
+            int insertAt = -(index + 1);
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            size++;
+        }
+
+        boolean remove(long id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            size--;
+            return true;
+        }
+
+        void trim() {
+            if (ids.length > size) {
+                ids = Arrays.copyOf(ids, Math.max(size, 1));
+            }
+        }
+
+        /**
+         * Keeps only the candidates that are also in this list, merging two sorted arrays.
+         *
+         * @return Number of remaining candidates, which are compacted to the start of the array
+         */
+        int retainIn(long[] candidates, int count) {
+            int kept = 0;
+            int j = 0;
+            for (int i = 0; i < count && j < size; i++) {
+                while (j < size && ids[j] < candidates[i]) {
+                    j++;
+                }
+                if (j < size && ids[j] == candidates[i]) {
+                    candidates[kept++] = candidates[i];
+                }
+            }
+            return kept;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package hr.tvz.java.freelance.freelancemanagementtool.util;
+
+import hr.tvz.java.freelance.freelancemanagementtool.FreelanceManagementApplication;
+import hr.tvz.java.freelance.freelancemanagementtool.controller.EditController;
+import hr.tvz.java.freelance.freelancemanagementtool.controller.ManagedView;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps parsed FXML views together with their controllers, so switching screens and opening dialogs
+ * does not parse the same FXML again. Only views whose controllers can reset themselves for reuse are
+ * cached: {@link ManagedView} screens, which refresh in {@link ManagedView#onShow()}, and
+ * {@link EditController} dialogs, which are reset before every use. The common views can be preloaded
+ * on a worker thread, which is allowed as long as they are not attached to a showing scene yet.
+ */
+public final class ViewCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ViewCache.class);
+    private static final String[] COMMON_VIEWS = {
+            "project-search-view.fxml", "client-search-view.fxml", "project-edit-view.fxml", "client-edit-view.fxml"
+    };
+    private static final Map<String, CompletableFuture<CachedView>> views = new ConcurrentHashMap<>();
+
+    /**
+     * A parsed view.
+     *
+     * @param root Root node of the view
+     * @param controller Controller of the view
+     */
+    public record CachedView(Parent root, Object controller) {}
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     */
+    private ViewCache() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Gets a view from the cache, loading it if needed. If the view is still being preloaded,
+     * this waits for the preload instead of parsing the FXML a second time. Must be called on the FX thread.
+     *
+     * @param fxmlFile FXML file name
+     * @return The parsed view
+     * @throws IOException if the FXML cannot be loaded
+     */
+    public static CachedView get(String fxmlFile) throws IOException {
+        CompletableFuture<CachedView> cached = views.get(fxmlFile);
+        if (cached != null) {
+            try {
+                return cached.join();
+            } catch (CompletionException e) {
+                views.remove(fxmlFile, cached);
+                logger.warn("Preloading {} failed, loading it again.", fxmlFile, e.getCause());
+            }
+        }
+        CachedView view = load(fxmlFile);
+        if (isReusable(view)) {
+            views.put(fxmlFile, CompletableFuture.completedFuture(view));
+        }
+        return view;
+    }
+
+    /**
+     * Parses the commonly used screens and dialogs in the background, e.g. while the login screen is showing.
+     *
+     * @return A future completed when all views have been preloaded, successfully or not
+     */
+    public static CompletableFuture<Void> preloadCommonViews() {
+        CompletableFuture<?>[] preloads = new CompletableFuture<?>[COMMON_VIEWS.length];
+        for (int i = 0; i < COMMON_VIEWS.length; i++) {
+            preloads[i] = views.computeIfAbsent(COMMON_VIEWS[i], file -> BackgroundExecutor.supply(() -> {
+                try {
+                    return load(file);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            })).handle((view, error) -> null);
+        }
+        logger.info("Preloading {} views in the background.", COMMON_VIEWS.length);
+        return CompletableFuture.allOf(preloads);
+    }
+
+    /**
+     * Drops all cached views, e.g. on logout, since their controllers hold the previous user's data.
+     */
+    public static void invalidateAll() {
+        views.clear();
+    }
+
+    private static CachedView load(String fxmlFile) throws IOException {
+        FXMLLoader loader = new FXMLLoader(FreelanceManagementApplication.class.getResource(fxmlFile));
+        Parent root = loader.load();
+        return new CachedView(root, loader.getController());
+    }
+
+    private static boolean isReusable(CachedView view) {
+        return view.controller() instanceof ManagedView || view.controller() instanceof EditController<?>;
+    }
+}
@@ -0,0 +1,83 @@
+package hr.tvz.java.freelance.freelancemanagementtool.viewmodel;
+
+import hr.tvz.java.freelance.freelancemanagementtool.model.AuditLog;
+import javafx.beans.property.ReadOnlyStringProperty;
+
+import java.time.format.DateTimeFormatter;
+
+/**
+ * A row of the audit log table with a preformatted timestamp.
+ */
+public final class AuditLogRow extends RowModel {
+
+    private final AuditLog log;
+    private final String timestamp;
+    private final String role;
+
+    /**
+     * Creates the row and formats its timestamp.
+     *
+     * @param log The audit log entry
+     * @param formatter Formatter of the timestamp
+     */
+    public AuditLogRow(AuditLog log, DateTimeFormatter formatter) {
+        super(5);
+        this.log = log;
+        this.timestamp = log.changedAt().format(formatter);
+        this.role = log.userRole() != null ? log.userRole().toString() : "";
+    }
+
+    /**
+     * Gets the audit log entry
+     *
+     * @return Entry shown in the row
+     */
+    public AuditLog getLog() {
+        return log;
+    }
+
+    /**
+     * Gets the timestamp property
+     *
+     * @return Formatted timestamp
+     */
+    public ReadOnlyStringProperty timestampProperty() {
+        return property(0, timestamp);
+    }
+
+    /**
+     * Gets the role property
+     *
+     * @return Role of the user who made the change
+     */
+    public ReadOnlyStringProperty roleProperty() {
+        return property(1, role);
+    }
+
+    /**
+     * Gets the entity property
+     *
+     * @return Name of the changed entity
+     */
+    public ReadOnlyStringProperty entityProperty() {
+        return property(2, log.entityName());
+    }
+
+    /**
+     * Gets the old value property
+     *
+     * @return Old value
+     */
+    public ReadOnlyStringProperty oldValueProperty() {
+        return property(3, log.oldValue());
+    }
+
+    /**
+     * Gets the new value property
+     *
+     * @return New value
+     */
+    public ReadOnlyStringProperty newValueProperty() {
+        return property(4, log.newValue());
+    }
+}
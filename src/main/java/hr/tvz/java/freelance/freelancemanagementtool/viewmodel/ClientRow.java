@@ -0,0 +1,73 @@
+package hr.tvz.java.freelance.freelancemanagementtool.viewmodel;
+
+import hr.tvz.java.freelance.freelancemanagementtool.model.Client;
+import javafx.beans.property.ReadOnlyStringProperty;
+
+/**
+ * A row of the client table.
+ */
+public final class ClientRow extends RowModel {
+
+    private final Client client;
+    private final String name;
+    private final String email;
+    private final String contactPerson;
+
+    /**
+     * Creates the row from the current values of the client.
+     *
+     * @param client The client
+     */
+    public ClientRow(Client client) {
+        super(3);
+        this.client = client;
+        this.name = client.getName();
+        this.email = client.getEmail();
+        this.contactPerson = client.getContactPerson();
+    }
+
+    /**
+     * Gets the client
+     *
+     * @return Client shown in the row
+     */
+    public Client getClient() {
+        return client;
+    }
+
+    /**
+     * Gets the ID of the client
+     *
+     * @return Client ID
+     */
+    public long getId() {
+        return client.getId();
+    }
+
+    /**
+     * Gets the name property
+     *
+     * @return Client name
+     */
+    public ReadOnlyStringProperty nameProperty() {
+        return property(0, name);
+    }
+
+    /**
+     * Gets the email property
+     *
+     * @return Client email
+     */
+    public ReadOnlyStringProperty emailProperty() {
+        return property(1, email);
+    }
+
+    /**
+     * Gets the contact person property
+     *
+     * @return Contact person
+     */
+    public ReadOnlyStringProperty contactPersonProperty() {
+        return property(2, contactPerson);
+    }
+}
@@ -0,0 +1,94 @@
+package hr.tvz.java.freelance.freelancemanagementtool.viewmodel;
+
+import hr.tvz.java.freelance.freelancemanagementtool.model.Project;
+import javafx.beans.property.ReadOnlyStringProperty;
+
+/**
+ * A row of the project table with precomputed display strings.
+ */
+public final class ProjectRow extends RowModel {
+
+    private final Project project;
+    private final String clientName;
+    private final String deadline;
+    private final String status;
+    private final String budget;
+
+    /**
+     * Creates the row and formats all of its values.
+     *
+     * @param project The project
+     * @param clientName Display name of the project's client
+     */
+    public ProjectRow(Project project, String clientName) {
+        super(5);
+        this.project = project;
+        this.clientName = clientName;
+        this.deadline = project.getDeadline().toString();
+        this.status = project.getStatus().toString();
+        this.budget = project.getBudget().toString();
+    }
+
+    /**
+     * Gets the project
+     *
+     * @return Project shown in the row
+     */
+    public Project getProject() {
+        return project;
+    }
+
+    /**
+     * Gets the ID of the project
+     *
+     * @return Project ID
+     */
+    public long getId() {
+        return project.getId();
+    }
+
+    /**
+     * Gets the name property
+     *
+     * @return Project name
+     */
+    public ReadOnlyStringProperty nameProperty() {
+        return property(0, project.getName());
+    }
+
+    /**
+     * Gets the client property
+     *
+     * @return Client name
+     */
+    public ReadOnlyStringProperty clientProperty() {
+        return property(1, clientName);
+    }
+
+    /**
+     * Gets the deadline property
+     *
+     * @return Formatted deadline
+     */
+    public ReadOnlyStringProperty deadlineProperty() {
+        return property(2, deadline);
+    }
+
+    /**
+     * Gets the status property
+     *
+     * @return Status text
+     */
+    public ReadOnlyStringProperty statusProperty() {
+        return property(3, status);
+    }
+
+    /**
+     * Gets the budget property
+     *
+     * @return Formatted budget
+     */
+    public ReadOnlyStringProperty budgetProperty() {
+        return property(4, budget);
+    }
+}
@@ -0,0 +1,40 @@
+package hr.tvz.java.freelance.freelancemanagementtool.viewmodel;
+
+import javafx.beans.property.ReadOnlyStringProperty;
+import javafx.beans.property.ReadOnlyStringWrapper;
+
+/**
+ * Base class of table row view-models. A row holds the display strings of one entity version,
+ * computed once when the row is created, and hands out read-only properties for them that are
+ * created on first use and then reused, so rendering and scrolling a table does not allocate.
+ * A changed entity gets a new row.
+ */
+public abstract class RowModel {
+
+    private final ReadOnlyStringWrapper[] properties;
+
+    /**
+     * Creates a row with the given number of text columns.
+     *
+     * @param columnCount Number of text columns
+     */
+    protected RowModel(int columnCount) {
+        this.properties = new ReadOnlyStringWrapper[columnCount];
+    }
+
+    /**
+     * Gets the cached property of a column, creating it on first use.
+     *
+     * @param column Index of the column
+     * @param text Precomputed display text of the column
+     * @return Read-only property holding the text
+     */
+    protected ReadOnlyStringProperty property(int column, String text) {
+        ReadOnlyStringWrapper property = properties[column];
+        if (property == null) {
+            property = new ReadOnlyStringWrapper(this, null, text);
+            properties[column] = property;
+        }
+        return property.getReadOnlyProperty();
+    }
+}
@@ -4,6 +4,8 @@ module hr.tvz.java.freelance.freelancemanagementtool {
     requires javafx.fxml;
     requires org.slf4j;
     requires java.sql;
+    // Used to host the database over TCP for other instances.
+    requires com.h2database;
 
     // This is the FIX:
     // The automatic module name for the BCrypt library is 'bcrypt'.
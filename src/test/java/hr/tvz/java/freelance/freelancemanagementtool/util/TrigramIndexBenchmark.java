@@ -0,0 +1,142 @@
+package hr.tvz.java.freelance.freelancemanagementtool.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Compares name searches through the {@link TrigramIndex} with the stream filter the search screens
+ * used before, which lower-cased every name on every filter change.
+ * <p>
+ * Names are generated from fixed word lists with a fixed seed, so runs are repeatable. Every query is
+ * timed over several rounds and the median is reported; both variants must find the same names for
+ * queries without accents, which the benchmark checks. Index build time is reported separately.
+ * <p>
+ * Run with {@code java -cp target/classes:target/test-classes hr.tvz.java.freelance.freelancemanagementtool.util.TrigramIndexBenchmark [sizes...]},
+ * e.g. with {@code 100000 1000000} (the default).
+ */
+public final class TrigramIndexBenchmark {
+
+    private static final String[] FIRST = {"Ana", "Marko", "Ivan", "Petra", "Luka", "Đuro", "Željka", "Mateo", "Sara", "Nikola"};
+    private static final String[] LAST = {"Horvat", "Kovačević", "Babić", "Marić", "Jurić", "Novak", "Knežević", "Vuković", "Perić", "Šarić"};
+    private static final String[] KIND = {"Web shop", "Mobile app", "Redesign", "Audit", "Migration", "Landing page", "API", "Dashboard"};
+    private static final List<String> QUERIES = List.of("an", "ić", "hop", "marko", "kovacevic", "redesign", "web shop 12", "zz", "xyzq");
+    private static final int ROUNDS = 15;
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     */
+    private TrigramIndexBenchmark() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Runs the benchmark and prints one JSON line per size and query.
+     *
+     * @param args Numbers of names to index, default 100000 and 1000000
+     */
+    public static void main(String[] args) {
+        int[] sizes = args.length > 0 ? Arrays.stream(args).mapToInt(Integer::parseInt).toArray() : new int[] {100_000, 1_000_000};
+        for (int size : sizes) {
+            run(size);
+        }
+    }
+
+    private static void run(int size) {
+        Random random = new Random(42);
+        Map<Long, String> names = new HashMap<>(size * 2);
+        List<String> nameList = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            String name = FIRST[random.nextInt(FIRST.length)] + " " + LAST[random.nextInt(LAST.length)] + " "
+                    + KIND[random.nextInt(KIND.length)] + " " + random.nextInt(1000);
+            names.put(id, name);
+            nameList.add(name);
+        }
+
+        TrigramIndex index = new TrigramIndex();
+        long started = System.nanoTime();
+        index.rebuild(names);
+        long buildMs = (System.nanoTime() - started) / 1_000_000;
+        System.out.printf("{\"size\":%d,\"buildMs\":%d}%n", size, buildMs);
+
+        // Warm up both variants, so JIT compilation is not part of the first measured query.
+        for (int i = 0; i < 3; i++) {
+            for (String query : QUERIES) {
+                streamFilter(nameList, query);
+                index.search(query);
+            }
+        }
+
+        for (String query : QUERIES) {
+            long[] streamNanos = new long[ROUNDS];
+            long[] indexNanos = new long[ROUNDS];
+            long streamMatches = 0;
+            int indexMatches = 0;
+            for (int round = 0; round < ROUNDS; round++) {
+                long start = System.nanoTime();
+                streamMatches = streamFilter(nameList, query);
+                streamNanos[round] = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                Set<Long> ids = index.search(query).orElseThrow();
+                indexNanos[round] = System.nanoTime() - start;
+                indexMatches = ids.size();
+            }
+            boolean ascii = query.chars().allMatch(c -> c < 128);
+            if (ascii && query.equals(TrigramIndex.normalize(query)) && !matchesWithoutAccents(query)) {
+                check(streamMatches == indexMatches, "Different results for '" + query + "': " + streamMatches + " vs " + indexMatches);
+            }
+            double streamMs = median(streamNanos) / 1e6;
+            double indexMs = median(indexNanos) / 1e6;
+            System.out.printf(Locale.ROOT, "{\"size\":%d,\"query\":\"%s\",\"streamMatches\":%d,\"indexMatches\":%d,\"streamMs\":%.3f,\"indexMs\":%.3f,\"speedup\":%.1f}%n",
+                    size, query, streamMatches, indexMatches, streamMs, indexMs, streamMs / Math.max(indexMs, 0.0001));
+        }
+    }
+
+    /**
+     * The filter of the search screens before the index: lower-case every name and check it.
+     */
+    private static long streamFilter(List<String> names, String query) {
+        String lowerQuery = query.toLowerCase(Locale.ROOT);
+        return names.stream().filter(name -> name.toLowerCase(Locale.ROOT).contains(lowerQuery)).count();
+    }
+
+    /**
+     * Whether an ASCII query can also match accented letters in the generated names, in which case the
+     * index finds more names than the accent-sensitive stream filter and the results are not compared.
+     */
+    private static boolean matchesWithoutAccents(String query) {
+        for (String word : List.of(FIRST)) {
+            if (isAccentMatch(word, query)) {
+                return true;
+            }
+        }
+        for (String word : List.of(LAST)) {
+            if (isAccentMatch(word, query)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isAccentMatch(String word, String query) {
+        return !word.toLowerCase(Locale.ROOT).contains(query) && TrigramIndex.normalize(word).contains(query);
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new IllegalStateException(message);
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package hr.tvz.java.freelance.freelancemanagementtool.viewmodel;
+
+import com.sun.management.ThreadMXBean;
+import hr.tvz.java.freelance.freelancemanagementtool.enums.ProjectStatus;
+import hr.tvz.java.freelance.freelancemanagementtool.model.Client;
+import hr.tvz.java.freelance.freelancemanagementtool.model.Project;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.value.ObservableValue;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Measures the heap allocated while scrolling the project table, with the cell value factories used
+ * before the row view-models and with the cached row properties.
+ * <p>
+ * Scrolling is simulated the way the table's virtual flow does it: for every scroll position,
+ * each visible cell asks its column's cell value factory for the value of its row. No window is
+ * opened, so only the allocations of the factories and the formatting are measured, not the skin.
+ * Allocation is read from the thread's allocation counter, which counts every byte allocated by it.
+ * <p>
+ * Run with {@code java -cp target/classes:target/test-classes:<dependencies> hr.tvz.java.freelance.freelancemanagementtool.viewmodel.RowModelAllocationBenchmark [rows] [passes]}.
+ */
+public final class RowModelAllocationBenchmark {
+
+    private static final int VISIBLE_ROWS = 30;
+    private static final int CLIENT_COUNT = 500;
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     */
+    private RowModelAllocationBenchmark() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Runs the benchmark and prints one result line per variant.
+     *
+     * @param args Optional number of rows (default 100000) and scroll passes (default 5)
+     */
+    public static void main(String[] args) {
+        int rowCount = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int passes = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        Map<Long, Client> clients = new HashMap<>();
+        for (long id = 1; id <= CLIENT_COUNT; id++) {
+            clients.put(id, new Client(id, "Client " + id, "client" + id + "@example.com", "Contact " + id));
+        }
+        List<Project> projects = new ArrayList<>(rowCount);
+        LocalDate start = LocalDate.of(2025, 1, 1);
+        ProjectStatus[] statuses = ProjectStatus.values();
+        for (int i = 0; i < rowCount; i++) {
+            projects.add(new Project.Builder(i + 1L)
+                    .withName("Project " + i)
+                    .withClientId(i % CLIENT_COUNT + 1L)
+                    .withStartDate(start)
+                    .withDeadline(start.plusDays(i % 365))
+                    .withBudget(BigDecimal.valueOf(1000 + i % 9000, 2))
+                    .withStatus(statuses[i % statuses.length])
+                    .build());
+        }
+
+        List<Function<Project, ObservableValue<String>>> oldColumns = List.of(
+                project -> new SimpleStringProperty(project.getName()),
+                project -> {
+                    Client client = clients.get(project.getClientId());
+                    return new SimpleStringProperty(client != null ? client.getName() : "Unknown Client");
+                },
+                project -> new SimpleStringProperty(project.getDeadline().toString()),
+                project -> new SimpleStringProperty(project.getStatus().toString()),
+                project -> new SimpleStringProperty(project.getBudget().toString()));
+
+        long rowsStart = allocatedBytes();
+        List<ProjectRow> rows = new ArrayList<>(rowCount);
+        for (Project project : projects) {
+            Client client = clients.get(project.getClientId());
+            rows.add(new ProjectRow(project, client != null ? client.getName() : "Unknown Client"));
+        }
+        long rowsBytes = allocatedBytes() - rowsStart;
+        List<Function<ProjectRow, ObservableValue<String>>> rowColumns = List.of(
+                ProjectRow::nameProperty,
+                ProjectRow::clientProperty,
+                ProjectRow::deadlineProperty,
+                ProjectRow::statusProperty,
+                ProjectRow::budgetProperty);
+
+        // Warm up both variants, so class loading and JIT compilation are not counted.
+        scroll(projects, oldColumns, 1);
+        scroll(rows.subList(0, Math.min(rows.size(), 1000)), rowColumns, 1);
+
+        Result old = measure(projects, oldColumns, passes);
+        Result firstPass = measure(rows, rowColumns, 1);
+        Result cached = measure(rows, rowColumns, passes);
+
+        System.out.printf("{\"variant\":\"cell-factories\",\"rows\":%d,\"passes\":%d,\"cells\":%d,\"bytes\":%d,\"bytesPerCell\":%.1f,\"ms\":%d}%n",
+                rowCount, passes, old.cells, old.bytes, old.bytesPerCell(), old.millis);
+        System.out.printf("{\"variant\":\"row-models-build\",\"rows\":%d,\"bytes\":%d,\"bytesPerRow\":%.1f}%n",
+                rowCount, rowsBytes, (double) rowsBytes / rowCount);
+        System.out.printf("{\"variant\":\"row-models-first-pass\",\"rows\":%d,\"passes\":1,\"cells\":%d,\"bytes\":%d,\"bytesPerCell\":%.1f,\"ms\":%d}%n",
+                rowCount, firstPass.cells, firstPass.bytes, firstPass.bytesPerCell(), firstPass.millis);
+        System.out.printf("{\"variant\":\"row-models\",\"rows\":%d,\"passes\":%d,\"cells\":%d,\"bytes\":%d,\"bytesPerCell\":%.1f,\"ms\":%d}%n",
+                rowCount, passes, cached.cells, cached.bytes, cached.bytesPerCell(), cached.millis);
+    }
+
+    /**
+     * Allocation and time of a measured run.
+     *
+     * @param cells Number of cell values requested
+     * @param bytes Bytes allocated by the run
+     * @param millis Duration of the run
+     */
+    private record Result(long cells, long bytes, long millis) {
+        private double bytesPerCell() {
+            return (double) bytes / cells;
+        }
+    }
+
+    private static <R> Result measure(List<R> rows, List<Function<R, ObservableValue<String>>> columns, int passes) {
+        long bytes = allocatedBytes();
+        long started = System.nanoTime();
+        long cells = scroll(rows, columns, passes);
+        long millis = (System.nanoTime() - started) / 1_000_000;
+        return new Result(cells, allocatedBytes() - bytes, millis);
+    }
+
+    /**
+     * Scrolls from the first to the last row one row at a time, requesting the values of all visible cells.
+     *
+     * @return Number of requested cell values
+     */
+    private static <R> long scroll(List<R> rows, List<Function<R, ObservableValue<String>>> columns, int passes) {
+        long cells = 0;
+        int checksum = 0;
+        for (int pass = 0; pass < passes; pass++) {
+            for (int top = 0; top + VISIBLE_ROWS <= rows.size(); top++) {
+                for (int index = top; index < top + VISIBLE_ROWS; index++) {
+                    R row = rows.get(index);
+                    // Indexed, so the harness itself does not allocate an iterator per row
+                    for (int column = 0; column < columns.size(); column++) {
+                        checksum += columns.get(column).apply(row).getValue().length();
+                        cells++;
+                    }
+                }
+            }
+        }
+        if (checksum == 42) {
+            System.out.print("");
+        }
+        return cells;
+    }
+
+    private static long allocatedBytes() {
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}